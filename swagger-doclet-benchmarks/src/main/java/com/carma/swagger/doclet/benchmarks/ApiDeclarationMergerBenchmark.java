@@ -0,0 +1,93 @@
+package com.carma.swagger.doclet.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.carma.swagger.doclet.model.Api;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.ApiParameter;
+import com.carma.swagger.doclet.model.ApiResponseMessage;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.carma.swagger.doclet.model.Method;
+import com.carma.swagger.doclet.model.Model;
+import com.carma.swagger.doclet.model.Operation;
+import com.carma.swagger.doclet.parser.ApiDeclarationMerger;
+
+/**
+ * The ApiDeclarationMergerBenchmark represents a benchmark of merging api declarations that share resource paths.
+ * The declarations are synthetic: each resource path is declared by several classes whose apis partly overlap.
+ * As merging modifies the declarations they are rebuilt before each invocation.
+ * @version $Id$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiDeclarationMergerBenchmark {
+
+	private static final HttpMethod[] HTTP_METHODS = { HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE };
+
+	@Param({ "10", "100", "1000" })
+	int declarationCount;
+
+	@Param({ "5" })
+	int declarationsPerResource;
+
+	@Param({ "10" })
+	int apisPerDeclaration;
+
+	private List<ApiDeclaration> declarations;
+
+	/**
+	 * This builds the declarations to merge
+	 */
+	@Setup(Level.Invocation)
+	public void setup() {
+		this.declarations = new ArrayList<ApiDeclaration>(this.declarationCount);
+		for (int i = 0; i < this.declarationCount; i++) {
+			String resourcePath = "/resource" + (i / this.declarationsPerResource);
+			List<Api> apis = new ArrayList<Api>(this.apisPerDeclaration);
+			Map<String, Model> models = new HashMap<String, Model>();
+			for (int j = 0; j < this.apisPerDeclaration; j++) {
+				// half the apis of a declaration share their paths with the other declarations of the resource
+				String path = j % 2 == 0 ? resourcePath + "/shared" + j : resourcePath + "/api" + i + "_" + j;
+				HttpMethod httpMethod = HTTP_METHODS[(i + j) % HTTP_METHODS.length];
+				List<Operation> operations = new ArrayList<Operation>();
+				operations.add(new Operation(new Method(httpMethod, "op" + i + "_" + j, path, new ArrayList<ApiParameter>(),
+						new ArrayList<ApiResponseMessage>(), null, null, "Model" + j, null, null, null, null, null, null, false)));
+				apis.add(new Api(path, null, operations));
+				models.put("Model" + j, new Model("Model" + j, null, null, null, null, null));
+			}
+			this.declarations.add(new ApiDeclaration("1.2", "0", "/", resourcePath, apis, models, i % 3 == 0 ? i : Integer.MAX_VALUE, null));
+		}
+	}
+
+	/**
+	 * This benchmarks merging the declarations
+	 * @return The merged declarations
+	 */
+	@Benchmark
+	public Object merge() {
+		return new ApiDeclarationMerger("1.2", "1", "/api").merge(Collections.unmodifiableList(this.declarations));
+	}
+
+}
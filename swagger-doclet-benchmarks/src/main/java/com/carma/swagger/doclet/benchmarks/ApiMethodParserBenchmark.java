@@ -0,0 +1,95 @@
+package com.carma.swagger.doclet.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.benchmarks.Fixtures.CollectingRecorder;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.carma.swagger.doclet.parser.ApiMethodParser;
+import com.carma.swagger.doclet.parser.ClassDocIndex;
+import com.carma.swagger.doclet.parser.ParserHelper;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The ApiMethodParserBenchmark represents a benchmark of parsing all the resource methods of a fixture package.
+ * @version $Id$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiMethodParserBenchmark {
+
+	@Param({ "fixtures.sample", "fixtures.jsonview", "fixtures.paramrequired", "fixtures.responsemessages", "fixtures.beanparam",
+			"fixtures.multipleparams" })
+	String fixture;
+
+	private DocletOptions options;
+	private Collection<ClassDoc> classes;
+	private Collection<ClassDoc> typeClasses;
+	private List<String> parentPaths;
+	private List<MethodDoc> methods;
+
+	/**
+	 * This loads the fixture and finds the resource methods in it
+	 * @throws IOException if the fixture could not be loaded
+	 */
+	@Setup
+	public void setup() throws IOException {
+		RootDoc rootDoc = Fixtures.load(this.fixture);
+		this.options = Fixtures.newOptions(new CollectingRecorder());
+		this.classes = new ClassDocIndex(Arrays.asList(rootDoc.classes()));
+		this.typeClasses = new ClassDocIndex(Collections.<ClassDoc> emptyList());
+		this.parentPaths = new ArrayList<String>();
+		this.methods = new ArrayList<MethodDoc>();
+		for (ClassDoc classDoc : rootDoc.classes()) {
+			String rootPath = ParserHelper.parsePath(classDoc, this.options);
+			if (rootPath == null) {
+				continue;
+			}
+			for (MethodDoc method : classDoc.methods()) {
+				if (HttpMethod.fromMethod(method) != null) {
+					this.parentPaths.add(rootPath);
+					this.methods.add(method);
+				}
+			}
+		}
+	}
+
+	/**
+	 * This benchmarks parsing the resource methods of the fixture
+	 * @param blackhole The blackhole to consume the results
+	 */
+	@Benchmark
+	public void parse(Blackhole blackhole) {
+		this.options.getModelCache().clear();
+		for (int i = 0; i < this.methods.size(); i++) {
+			blackhole.consume(new ApiMethodParser(this.options, this.parentPaths.get(i), this.methods.get(i), this.classes, this.typeClasses, null)
+					.parse());
+		}
+	}
+
+}
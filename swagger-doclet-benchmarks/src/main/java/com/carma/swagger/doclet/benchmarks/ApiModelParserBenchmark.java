@@ -0,0 +1,91 @@
+package com.carma.swagger.doclet.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.benchmarks.Fixtures.CollectingRecorder;
+import com.carma.swagger.doclet.parser.ApiModelParser;
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The ApiModelParserBenchmark represents a benchmark of parsing the models of all the non resource
+ * classes of a fixture package. When uncached the model cache is cleared before each invocation so that
+ * the parsing itself is measured rather than the cache lookups.
+ * @version $Id$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiModelParserBenchmark {
+
+	@Param({ "fixtures.jsonsubtypes", "fixtures.jsonview", "fixtures.modelinheritance", "fixtures.genericresponse", "fixtures.submodel",
+			"fixtures.collections" })
+	String fixture;
+
+	@Param({ "false", "true" })
+	boolean cached;
+
+	private DocletOptions options;
+	private List<ClassDoc> modelClasses;
+
+	/**
+	 * This loads the fixture and finds the model classes in it
+	 * @throws IOException if the fixture could not be loaded
+	 */
+	@Setup
+	public void setup() throws IOException {
+		RootDoc rootDoc = Fixtures.load(this.fixture);
+		this.options = Fixtures.newOptions(new CollectingRecorder());
+		this.modelClasses = new ArrayList<ClassDoc>();
+		for (ClassDoc classDoc : rootDoc.classes()) {
+			if (!isResource(classDoc)) {
+				this.modelClasses.add(classDoc);
+			}
+		}
+	}
+
+	private static boolean isResource(ClassDoc classDoc) {
+		for (AnnotationDesc annotation : classDoc.annotations()) {
+			if (annotation.annotationType().qualifiedTypeName().equals("javax.ws.rs.Path")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * This benchmarks parsing the models of the fixture
+	 * @param blackhole The blackhole to consume the results
+	 */
+	@Benchmark
+	public void parse(Blackhole blackhole) {
+		if (!this.cached) {
+			this.options.getModelCache().clear();
+		}
+		for (ClassDoc modelClass : this.modelClasses) {
+			blackhole.consume(new ApiModelParser(this.options, this.options.getTranslator(), modelClass).parse());
+		}
+	}
+
+}
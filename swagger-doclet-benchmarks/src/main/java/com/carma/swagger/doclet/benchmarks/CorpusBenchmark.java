@@ -0,0 +1,94 @@
+package com.carma.swagger.doclet.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.CorpusGenerator;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.benchmarks.Fixtures.CollectingRecorder;
+import com.carma.swagger.doclet.parser.JaxRsAnnotationParser;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The CorpusBenchmark represents a benchmark of a full doclet run over a generated api so that the scaling of the doclet
+ * with the number of resources and models can be measured. As a run over a large api takes seconds each run is timed
+ * on its own.
+ * @version $Id$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CorpusBenchmark {
+
+	@Param({ "100", "500", "2000" })
+	int resourceCount;
+
+	@Param({ "250", "1250", "5000" })
+	int modelCount;
+
+	@Param({ "3" })
+	int modelDepth;
+
+	@Param({ "1", "4" })
+	int parallelism;
+
+	private TemporaryFolder sourceDir;
+	private RootDoc rootDoc;
+	private CollectingRecorder recorder;
+	private DocletOptions options;
+
+	/**
+	 * This generates the api and loads it
+	 * @throws IOException if the api could not be generated or loaded
+	 */
+	@Setup
+	public void setup() throws IOException {
+		this.sourceDir = new TemporaryFolder();
+		this.sourceDir.create();
+		CorpusGenerator generator = new CorpusGenerator("corpus").setResourceCount(this.resourceCount).setModelCount(this.modelCount)
+				.setModelDepth(this.modelDepth);
+		generator.generate(this.sourceDir.getRoot());
+		this.rootDoc = RootDocLoader.fromPath(this.sourceDir.getRoot().getPath(), generator.getPackageName());
+		this.recorder = new CollectingRecorder();
+		this.options = Fixtures.newOptions(this.recorder).setParallelism(this.parallelism);
+	}
+
+	/**
+	 * This deletes the generated api
+	 */
+	@TearDown
+	public void tearDown() {
+		this.sourceDir.delete();
+	}
+
+	/**
+	 * This benchmarks a full run of the doclet
+	 * @param blackhole The blackhole to consume the results
+	 */
+	@Benchmark
+	public void run(Blackhole blackhole) {
+		blackhole.consume(new JaxRsAnnotationParser(this.options, this.rootDoc).run());
+		blackhole.consume(this.recorder.getDeclarations());
+		this.recorder.clear();
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.carma.swagger.doclet.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.Recorder;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.ResourceListing;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The Fixtures represents the helper for loading the test fixture packages of the doclet so that they can be used
+ * by the benchmarks. The source path the fixtures are loaded from can be set with the swagger.doclet.fixtures
+ * system property, by default it is the test resources dir of the doclet module relative to the benchmarks module.
+ * @version $Id$
+ */
+public final class Fixtures {
+
+	/**
+	 * The system property that can be used to override the source path of the fixtures
+	 */
+	public static final String SOURCE_PATH_PROPERTY = "swagger.doclet.fixtures";
+
+	private static final String DEFAULT_SOURCE_PATH = "../swagger-doclet/src/test/resources";
+
+	private Fixtures() {
+	}
+
+	/**
+	 * This gets the source path the fixtures are loaded from
+	 * @return The source path
+	 */
+	public static String sourcePath() {
+		String path = System.getProperty(SOURCE_PATH_PROPERTY);
+		if (path == null || path.trim().isEmpty()) {
+			path = DEFAULT_SOURCE_PATH;
+		}
+		if (!new File(path).isDirectory()) {
+			throw new IllegalStateException("The fixtures source path: " + path + " does not exist, set it via the " + SOURCE_PATH_PROPERTY
+					+ " system property.");
+		}
+		return path;
+	}
+
+	/**
+	 * This loads the root doc of the given fixture package
+	 * @param fixturePackage The package of the fixture e.g. fixtures.sample
+	 * @return The root doc
+	 * @throws IOException if the fixture could not be loaded
+	 */
+	public static RootDoc load(String fixturePackage) throws IOException {
+		return RootDocLoader.fromPath(sourcePath(), fixturePackage);
+	}
+
+	/**
+	 * This creates the doclet options used by the benchmarks, these do not write any output
+	 * @param recorder The recorder to use
+	 * @return The doclet options
+	 */
+	public static DocletOptions newOptions(Recorder recorder) {
+		return new DocletOptions().setRecorder(recorder).setIncludeSwaggerUi(false);
+	}
+
+	/**
+	 * The CollectingRecorder represents a recorder that keeps the api declarations in memory rather than
+	 * writing them to files
+	 */
+	public static class CollectingRecorder implements Recorder {
+
+		private final List<ApiDeclaration> declarations = new ArrayList<ApiDeclaration>();
+
+		public void record(File file, ResourceListing listing) {
+			// noop
+		}
+
+		public synchronized void record(File file, ApiDeclaration declaration) {
+			this.declarations.add(declaration);
+		}
+
+		/**
+		 * This gets the api declarations that have been recorded
+		 * @return The api declarations
+		 */
+		public synchronized List<ApiDeclaration> getDeclarations() {
+			return new ArrayList<ApiDeclaration>(this.declarations);
+		}
+
+		/**
+		 * This clears the recorded api declarations
+		 */
+		public synchronized void clear() {
+			this.declarations.clear();
+		}
+	}
+
+}
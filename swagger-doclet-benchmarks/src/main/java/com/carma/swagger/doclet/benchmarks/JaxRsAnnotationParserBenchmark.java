@@ -0,0 +1,70 @@
+package com.carma.swagger.doclet.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.benchmarks.Fixtures.CollectingRecorder;
+import com.carma.swagger.doclet.parser.JaxRsAnnotationParser;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The JaxRsAnnotationParserBenchmark represents a benchmark of a full doclet run over a fixture package,
+ * the api declarations are kept in memory rather than written out.
+ * @version $Id$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JaxRsAnnotationParserBenchmark {
+
+	@Param({ "fixtures.sample", "fixtures.jsonsubtypes", "fixtures.jsonview", "fixtures.subresource", "fixtures.genericresponse",
+			"fixtures.crossclassresourcelisting", "fixtures.modelinheritance" })
+	String fixture;
+
+	@Param({ "1", "4" })
+	int parallelism;
+
+	private RootDoc rootDoc;
+	private CollectingRecorder recorder;
+	private DocletOptions options;
+
+	/**
+	 * This loads the fixture
+	 * @throws IOException if the fixture could not be loaded
+	 */
+	@Setup
+	public void setup() throws IOException {
+		this.rootDoc = Fixtures.load(this.fixture);
+		this.recorder = new CollectingRecorder();
+		this.options = Fixtures.newOptions(this.recorder).setParallelism(this.parallelism);
+	}
+
+	/**
+	 * This benchmarks a full run of the doclet
+	 * @param blackhole The blackhole to consume the results
+	 */
+	@Benchmark
+	public void run(Blackhole blackhole) {
+		blackhole.consume(new JaxRsAnnotationParser(this.options, this.rootDoc).run());
+		blackhole.consume(this.recorder.getDeclarations());
+		this.recorder.clear();
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.carma.swagger.doclet.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.carma.swagger.doclet.ObjectMapperRecorder;
+import com.carma.swagger.doclet.benchmarks.Fixtures.CollectingRecorder;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.parser.JaxRsAnnotationParser;
+import com.google.common.io.Files;
+
+/**
+ * The ObjectMapperRecorderBenchmark represents a benchmark of writing the api declarations of a fixture
+ * package to json files.
+ * @version $Id$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectMapperRecorderBenchmark {
+
+	@Param({ "fixtures.sample", "fixtures.jsonsubtypes", "fixtures.crossclassresourcelisting" })
+	String fixture;
+
+	private ObjectMapperRecorder recorder;
+	private List<ApiDeclaration> declarations;
+	private File outputDirectory;
+
+	/**
+	 * This parses the api declarations of the fixture and creates the output directory
+	 * @throws IOException if the fixture could not be loaded
+	 */
+	@Setup
+	public void setup() throws IOException {
+		CollectingRecorder collectingRecorder = new CollectingRecorder();
+		new JaxRsAnnotationParser(Fixtures.newOptions(collectingRecorder), Fixtures.load(this.fixture)).run();
+		this.declarations = collectingRecorder.getDeclarations();
+		this.recorder = new ObjectMapperRecorder(null, null, null, null);
+		this.outputDirectory = Files.createTempDir();
+	}
+
+	/**
+	 * This deletes the output directory
+	 */
+	@TearDown
+	public void tearDown() {
+		File[] files = this.outputDirectory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		this.outputDirectory.delete();
+	}
+
+	/**
+	 * This benchmarks writing the api declarations
+	 * @throws IOException if a declaration could not be written
+	 */
+	@Benchmark
+	public void record() throws IOException {
+		for (int i = 0; i < this.declarations.size(); i++) {
+			this.recorder.record(new File(this.outputDirectory, "api" + i + ".json"), this.declarations.get(i));
+		}
+	}
+
+}
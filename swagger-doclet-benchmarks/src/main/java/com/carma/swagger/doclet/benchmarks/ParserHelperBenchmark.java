@@ -0,0 +1,73 @@
+package com.carma.swagger.doclet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.benchmarks.Fixtures.CollectingRecorder;
+import com.carma.swagger.doclet.parser.ParserHelper;
+
+/**
+ * The ParserHelperBenchmark represents a benchmark of the type and path helpers that are called
+ * for every parameter, field and method the doclet parses.
+ * @version $Id$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserHelperBenchmark {
+
+	private static final String[] JAVA_TYPES = { "int", "java.lang.Integer", "long", "boolean", "java.lang.String", "java.util.Date",
+			"java.math.BigDecimal", "java.util.UUID", "java.util.List<java.lang.String>", "java.util.Map<java.lang.String,java.lang.Long>",
+			"javax.ws.rs.core.Response", "org.joda.time.DateTime", "fixtures.sample.Data", "fixtures.jsonsubtypes.Animal1" };
+
+	private static final String[] PATHS = { "/", "/items", "/items/{id}", "/items/{id: [0-9]+}/sub/{name : [a-z]+}", "{path: .*}",
+			"/a/{b}/c/{d: \\d{4}}/e" };
+
+	private DocletOptions options;
+
+	/**
+	 * This creates the options
+	 */
+	@Setup
+	public void setup() {
+		this.options = Fixtures.newOptions(new CollectingRecorder());
+	}
+
+	/**
+	 * This benchmarks resolving the swagger types of a mix of java types
+	 * @param blackhole The blackhole to consume the results
+	 */
+	@Benchmark
+	public void typeOf(Blackhole blackhole) {
+		for (String javaType : JAVA_TYPES) {
+			blackhole.consume(ParserHelper.typeOf(javaType, this.options));
+		}
+	}
+
+	/**
+	 * This benchmarks sanitizing a mix of paths with and without regular expressions
+	 * @param blackhole The blackhole to consume the results
+	 */
+	@Benchmark
+	public void sanitizePath(Blackhole blackhole) {
+		for (String path : PATHS) {
+			blackhole.consume(ParserHelper.sanitizePath(path));
+		}
+	}
+
+}
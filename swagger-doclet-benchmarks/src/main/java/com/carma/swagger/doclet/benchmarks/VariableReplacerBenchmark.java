@@ -0,0 +1,63 @@
+package com.carma.swagger.doclet.benchmarks;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.carma.swagger.doclet.parser.VariableReplacer;
+
+/**
+ * The VariableReplacerBenchmark represents a benchmark of replacing variables in values, most values
+ * the doclet passes through it do not contain any variables.
+ * @version $Id$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableReplacerBenchmark {
+
+	private static final String[] VALUES = { "This gets the item with the given id", "/items/{id}", "${api.basePath}/items",
+			"Requires the ${auth.scope} scope, see ${docs.url} for details", "${missing.var}", null };
+
+	private Properties properties;
+
+	/**
+	 * This creates the variable properties
+	 */
+	@Setup
+	public void setup() {
+		this.properties = new Properties();
+		for (int i = 0; i < 50; i++) {
+			this.properties.setProperty("var" + i, "value" + i);
+		}
+		this.properties.setProperty("api.basePath", "/api/v1");
+		this.properties.setProperty("auth.scope", "read:items");
+		this.properties.setProperty("docs.url", "http://example.com/docs");
+	}
+
+	/**
+	 * This benchmarks replacing the variables of a mix of values
+	 * @param blackhole The blackhole to consume the results
+	 */
+	@Benchmark
+	public void replaceVariables(Blackhole blackhole) {
+		for (String value : VALUES) {
+			blackhole.consume(VariableReplacer.replaceVariables(this.properties, value));
+		}
+	}
+
+}
@@ -0,0 +1,188 @@
+package com.carma.swagger.doclet;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The CompiledOptions represents a frozen view of the lookup collections of the {@link DocletOptions} such as
+ * tags, annotations, types and prefixes. The collections are immutable hash backed sets that keep the order of
+ * the options, as the first matching tag or annotation wins in some lookups, so the parsing can check them
+ * with a hash lookup and share them between worker threads. A snapshot is taken at the start of each run
+ * of the parser so changes to the options made after it are not seen until the next run.
+ * @version $Id$
+ */
+public final class CompiledOptions {
+
+	private final Set<String> genericWrapperTypes;
+
+	private final Set<String> excludeResourcePrefixes;
+	private final Set<String> excludeModelPrefixes;
+	private final Set<String> excludeClassTags;
+	private final Set<String> excludeFieldTags;
+	private final Set<String> excludeParamAnnotations;
+
+	private final Set<String> compositeParamAnnotations;
+	private final Set<String> compositeParamTypes;
+	private final Set<String> formParameterAnnotations;
+	private final Set<String> formParameterTypes;
+	private final Set<String> fileParameterAnnotations;
+	private final Set<String> fileParameterTypes;
+
+	private final Set<String> requiredParamAnnotations;
+	private final Set<String> optionalParamAnnotations;
+	private final Set<String> paramRequirednessAnnotations;
+
+	/**
+	 * This creates a CompiledOptions snapshot of the given options
+	 * @param options The options to compile
+	 */
+	CompiledOptions(DocletOptions options) {
+		this.genericWrapperTypes = toSet(options.getGenericWrapperTypes());
+
+		this.excludeResourcePrefixes = toSet(options.getExcludeResourcePrefixes());
+		this.excludeModelPrefixes = toSet(options.getExcludeModelPrefixes());
+		this.excludeClassTags = toSet(options.getExcludeClassTags());
+		this.excludeFieldTags = toSet(options.getExcludeFieldTags());
+		this.excludeParamAnnotations = toSet(options.getExcludeParamAnnotations());
+
+		this.compositeParamAnnotations = toSet(options.getCompositeParamAnnotations());
+		this.compositeParamTypes = toSet(options.getCompositeParamTypes());
+		this.formParameterAnnotations = toSet(options.getFormParameterAnnotations());
+		this.formParameterTypes = toSet(options.getFormParameterTypes());
+		this.fileParameterAnnotations = toSet(options.getFileParameterAnnotations());
+		this.fileParameterTypes = toSet(options.getFileParameterTypes());
+
+		this.requiredParamAnnotations = toSet(options.getRequiredParamAnnotations());
+		this.optionalParamAnnotations = toSet(options.getOptionalParamAnnotations());
+		this.paramRequirednessAnnotations = ImmutableSet.<String> builder().addAll(this.requiredParamAnnotations)
+				.addAll(this.optionalParamAnnotations).build();
+	}
+
+	private static Set<String> toSet(Collection<String> values) {
+		return values == null ? ImmutableSet.<String> of() : ImmutableSet.copyOf(values);
+	}
+
+	/**
+	 * This gets the FQN of the generic wrapper types
+	 * @return the genericWrapperTypes
+	 */
+	public Set<String> getGenericWrapperTypes() {
+		return this.genericWrapperTypes;
+	}
+
+	/**
+	 * This gets the prefixes of the FQN of resource classes to exclude
+	 * @return the excludeResourcePrefixes
+	 */
+	public Set<String> getExcludeResourcePrefixes() {
+		return this.excludeResourcePrefixes;
+	}
+
+	/**
+	 * This gets the prefixes of the FQN of model classes to exclude
+	 * @return the excludeModelPrefixes
+	 */
+	public Set<String> getExcludeModelPrefixes() {
+		return this.excludeModelPrefixes;
+	}
+
+	/**
+	 * This gets the excludeClassTags
+	 * @return the excludeClassTags
+	 */
+	public Set<String> getExcludeClassTags() {
+		return this.excludeClassTags;
+	}
+
+	/**
+	 * This gets the excludeFieldTags
+	 * @return the excludeFieldTags
+	 */
+	public Set<String> getExcludeFieldTags() {
+		return this.excludeFieldTags;
+	}
+
+	/**
+	 * This gets the excludeParamAnnotations
+	 * @return the excludeParamAnnotations
+	 */
+	public Set<String> getExcludeParamAnnotations() {
+		return this.excludeParamAnnotations;
+	}
+
+	/**
+	 * This gets the compositeParamAnnotations
+	 * @return the compositeParamAnnotations
+	 */
+	public Set<String> getCompositeParamAnnotations() {
+		return this.compositeParamAnnotations;
+	}
+
+	/**
+	 * This gets the compositeParamTypes
+	 * @return the compositeParamTypes
+	 */
+	public Set<String> getCompositeParamTypes() {
+		return this.compositeParamTypes;
+	}
+
+	/**
+	 * This gets the formParameterAnnotations
+	 * @return the formParameterAnnotations
+	 */
+	public Set<String> getFormParameterAnnotations() {
+		return this.formParameterAnnotations;
+	}
+
+	/**
+	 * This gets the formParameterTypes
+	 * @return the formParameterTypes
+	 */
+	public Set<String> getFormParameterTypes() {
+		return this.formParameterTypes;
+	}
+
+	/**
+	 * This gets the fileParameterAnnotations
+	 * @return the fileParameterAnnotations
+	 */
+	public Set<String> getFileParameterAnnotations() {
+		return this.fileParameterAnnotations;
+	}
+
+	/**
+	 * This gets the fileParameterTypes
+	 * @return the fileParameterTypes
+	 */
+	public Set<String> getFileParameterTypes() {
+		return this.fileParameterTypes;
+	}
+
+	/**
+	 * This gets the requiredParamAnnotations
+	 * @return the requiredParamAnnotations
+	 */
+	public Set<String> getRequiredParamAnnotations() {
+		return this.requiredParamAnnotations;
+	}
+
+	/**
+	 * This gets the optionalParamAnnotations
+	 * @return the optionalParamAnnotations
+	 */
+	public Set<String> getOptionalParamAnnotations() {
+		return this.optionalParamAnnotations;
+	}
+
+	/**
+	 * This gets the union of the required and optional param annotations so the parameters of a method can be
+	 * read for both in a single pass
+	 * @return the required and optional param annotations
+	 */
+	public Set<String> getParamRequirednessAnnotations() {
+		return this.paramRequirednessAnnotations;
+	}
+
+}
@@ -10,17 +10,26 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import com.carma.swagger.doclet.model.ApiAuthorizations;
 import com.carma.swagger.doclet.model.ApiDeclaration;
 import com.carma.swagger.doclet.model.ApiInfo;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.carma.swagger.doclet.parser.AnnotationCache;
+import com.carma.swagger.doclet.parser.ApiModelCache;
+import com.carma.swagger.doclet.parser.ExclusionPolicy;
 import com.carma.swagger.doclet.parser.NamingConvention;
+import com.carma.swagger.doclet.parser.ParseMetrics;
 import com.carma.swagger.doclet.parser.ParserHelper;
 import com.carma.swagger.doclet.parser.ResponseMessageSortMode;
+import com.carma.swagger.doclet.parser.TypeFormatTable;
 import com.carma.swagger.doclet.parser.VariableReplacer;
 import com.carma.swagger.doclet.translator.AnnotationAwareTranslator;
+import com.carma.swagger.doclet.translator.CachingTranslator;
 import com.carma.swagger.doclet.translator.FirstNotNullTranslator;
 import com.carma.swagger.doclet.translator.NameBasedTranslator;
 import com.carma.swagger.doclet.translator.Translator;
@@ -143,12 +152,21 @@ public class DocletOptions {
 				parsedOptions.modelFieldsNamingConvention = NamingConvention.forValue(option[1], NamingConvention.DEFAULT_NAME);
 			} else if (option[0].equals("-disableCopySwaggerUi") || option[0].equals("-skipUiFiles")) {
 				parsedOptions.includeSwaggerUi = false;
+			} else if (option[0].equals("-linkSwaggerUi")) {
+				parsedOptions.linkSwaggerUi = true;
 			} else if (option[0].equals("-disableSortApisByPath")) {
 				parsedOptions.sortApisByPath = false;
 			} else if (option[0].equals("-sortResourcesByPath")) {
 				parsedOptions.sortResourcesByPath = true;
 			} else if (option[0].equals("-sortResourcesByPriority")) {
 				parsedOptions.sortResourcesByPriority = true;
+			} else if (option[0].equals("-parallelism")) {
+				parsedOptions.parallelism = Integer.parseInt(option[1]);
+				checkArgument(parsedOptions.parallelism > 0, "-parallelism is expected to be a positive number of threads!");
+			} else if (option[0].equals("-incrementalCacheDir")) {
+				parsedOptions.incrementalCacheDir = new File(option[1]);
+			} else if (option[0].equals("-metricsFile")) {
+				parsedOptions.metricsFile = new File(option[1]);
 			} else if (option[0].equals("-disableDeprecatedOperationExclusion")) {
 				parsedOptions.excludeDeprecatedOperations = false;
 			} else if (option[0].equals("-disableDeprecatedFieldExclusion")) {
@@ -180,6 +198,12 @@ public class DocletOptions {
 				parsedOptions.discriminatorAnnotations.addAll(asList(copyOfRange(option, 1, option.length)));
 			} else if (option[0].equals("-subTypesAnnotations")) {
 				parsedOptions.subTypesAnnotations.addAll(asList(copyOfRange(option, 1, option.length)));
+			} else if (option[0].equals("-httpMethodAnnotations")) {
+				for (String annotation : option[1].split(",")) {
+					String[] nameAndMethod = annotation.trim().split(":");
+					checkArgument(nameAndMethod.length == 2, "-httpMethodAnnotations is expected to be a csv of annotation:METHOD pairs!");
+					parsedOptions.httpMethodAnnotations.put(nameAndMethod[0].trim(), HttpMethod.valueOf(nameAndMethod[1].trim().toUpperCase()));
+				}
 
 			} else if (option[0].equals("-compositeParamAnnotations")) {
 				parsedOptions.compositeParamAnnotations.addAll(asList(copyOfRange(option, 1, option.length)));
@@ -277,18 +301,22 @@ public class DocletOptions {
 				serializationInclusion = option[1];
 			}
 		}
-		parsedOptions.recorder = new ObjectMapperRecorder(serializationFeaturesCsv, deserializationFeaturesCsv, defaultTyping, serializationInclusion);
+		parsedOptions.recorder = new ObjectMapperRecorder(serializationFeaturesCsv, deserializationFeaturesCsv, defaultTyping, serializationInclusion,
+				parsedOptions.parallelism);
 		return parsedOptions;
 	}
 
+	@NotFingerprinted
 	private File outputDirectory;
 	private String docBasePath = null;
 	private String apiBasePath = "http://localhost:8080";
+	@NotFingerprinted
 	private String swaggerUiPath = null;
 	private String apiVersion = "0";
 
 	private String resourceRootPath = "/root";
 
+	@NotFingerprinted
 	private boolean includeSwaggerUi = true;
 
 	private Properties variableReplacements;
@@ -306,6 +334,7 @@ public class DocletOptions {
 
 	private List<String> discriminatorAnnotations;
 	private List<String> subTypesAnnotations;
+	private Map<String, HttpMethod> httpMethodAnnotations; // annotations other than the jaxrs ones that mark methods with a http method
 
 	private List<String> excludeParamAnnotations;
 	private List<String> excludeClassTags;
@@ -377,6 +406,16 @@ public class DocletOptions {
 	private boolean sortResourcesByPriority = false;
 	private boolean sortApisByPath = true;
 
+	@NotFingerprinted
+	private boolean linkSwaggerUi = false; // whether the files of a swagger ui dir are hard linked into the output dir rather than copied
+
+	@NotFingerprinted
+	private int parallelism = 1; // number of threads used to parse the resource classes and write the files, 1 means serial
+	@NotFingerprinted
+	private File incrementalCacheDir; // dir of the cache of parsed resource classes, null means all classes are parsed each run
+	@NotFingerprinted
+	private File metricsFile; // json file the timings and counters of the run are written to, null means they are not recorded
+
 	private ResponseMessageSortMode responseMessageSortMode;
 
 	private ApiAuthorizations apiAuthorizations;
@@ -385,8 +424,21 @@ public class DocletOptions {
 
 	private List<ApiDeclaration> extraApiDeclarations;
 
+	@NotFingerprinted
 	private Recorder recorder;
 	private Translator translator;
+	@NotFingerprinted
+	private final ApiModelCache modelCache;
+	@NotFingerprinted
+	private final AnnotationCache annotationCache;
+	@NotFingerprinted
+	private final TypeFormatTable typeFormatTable;
+	@NotFingerprinted
+	private final ExclusionPolicy exclusionPolicy;
+	@NotFingerprinted
+	private volatile CompiledOptions compiledOptions;
+	@NotFingerprinted
+	private final ParseMetrics metrics;
 
 	/**
 	 * This creates a DocletOptions
@@ -464,6 +516,8 @@ public class DocletOptions {
 		this.subTypesAnnotations = new ArrayList<String>();
 		this.subTypesAnnotations.add("com.fasterxml.jackson.annotation.JsonSubTypes");
 
+		this.httpMethodAnnotations = new LinkedHashMap<String, HttpMethod>();
+
 		this.excludeResourcePrefixes = new ArrayList<String>();
 
 		this.excludeClassTags = new ArrayList<String>();
@@ -648,7 +702,13 @@ public class DocletOptions {
 
 		fnnTranslator.addNext(new NameBasedTranslator(this));
 
-		this.translator = fnnTranslator;
+		this.translator = new CachingTranslator(fnnTranslator);
+
+		this.modelCache = new ApiModelCache();
+		this.annotationCache = new AnnotationCache();
+		this.typeFormatTable = new TypeFormatTable();
+		this.exclusionPolicy = new ExclusionPolicy();
+		this.metrics = new ParseMetrics();
 	}
 
 	public File getOutputDirectory() {
@@ -849,6 +909,15 @@ public class DocletOptions {
 		return this.subTypesAnnotations;
 	}
 
+	/**
+	 * This gets the annotations other than the jaxrs ones that mark methods with a http method, names that start
+	 * with a . are matched against any part of the FQN of an annotation
+	 * @return the http method of each annotation name
+	 */
+	public Map<String, HttpMethod> getHttpMethodAnnotations() {
+		return this.httpMethodAnnotations;
+	}
+
 	/**
 	 * This gets prefixes of the FQN of model classes to exclude
 	 * @return prefixes of the FQN of model classes to exclude
@@ -1220,6 +1289,69 @@ public class DocletOptions {
 		return this;
 	}
 
+	/**
+	 * This gets the cache of parsed models, this is cleared at the start of each run of the parser
+	 * @return the modelCache
+	 */
+	public ApiModelCache getModelCache() {
+		return this.modelCache;
+	}
+
+	/**
+	 * This gets the cache of indexed annotations, this is cleared at the start of each run of the parser
+	 * @return the annotationCache
+	 */
+	public AnnotationCache getAnnotationCache() {
+		return this.annotationCache;
+	}
+
+	/**
+	 * This gets the table of the swagger types and formats of java types
+	 * @return the typeFormatTable
+	 */
+	public TypeFormatTable getTypeFormatTable() {
+		return this.typeFormatTable;
+	}
+
+	/**
+	 * This gets the compiled exclusion rules of these options, this is cleared at the start of each run of the parser
+	 * @return the exclusionPolicy
+	 */
+	public ExclusionPolicy getExclusionPolicy() {
+		return this.exclusionPolicy;
+	}
+
+	/**
+	 * This takes a frozen snapshot of the lookup collections of these options, this is done at the start of each
+	 * run of the parser so that the parsing sees the options as they were when the run started
+	 * @return the new snapshot
+	 */
+	public CompiledOptions compile() {
+		CompiledOptions compiled = new CompiledOptions(this);
+		this.compiledOptions = compiled;
+		return compiled;
+	}
+
+	/**
+	 * This gets the frozen snapshot of the lookup collections of these options, taking it if there is none yet
+	 * @return the compiledOptions
+	 */
+	public CompiledOptions getCompiledOptions() {
+		CompiledOptions compiled = this.compiledOptions;
+		if (compiled == null) {
+			compiled = compile();
+		}
+		return compiled;
+	}
+
+	/**
+	 * This gets the metrics of the run of the parser, these are only recorded when the metrics file is set
+	 * @return the metrics
+	 */
+	public ParseMetrics getMetrics() {
+		return this.metrics;
+	}
+
 	/**
 	 * This gets the sortResourcesByPath
 	 * @return the sortResourcesByPath
@@ -1274,6 +1406,65 @@ public class DocletOptions {
 		return this;
 	}
 
+	/**
+	 * This gets the number of threads used to parse the resource classes and write the files, 1 means this is done serially.
+	 * This defaults to 1 as the javadoc model is not thread safe, the parallel parsing relies on the docs of the classes
+	 * being loaded up front which is a best effort, so a higher value is an opt-in that should be checked against the
+	 * serial output for the javadoc version in use
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * This sets the number of threads used to parse the resource classes
+	 * @param parallelism the parallelism to set
+	 * @return this
+	 */
+	public DocletOptions setParallelism(int parallelism) {
+		checkArgument(parallelism > 0, "parallelism is expected to be a positive number of threads!");
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * This gets the dir of the incremental cache, if set only the resource classes that changed since the previous
+	 * run are parsed
+	 * @return the incrementalCacheDir or null if every resource class is parsed
+	 */
+	public File getIncrementalCacheDir() {
+		return this.incrementalCacheDir;
+	}
+
+	/**
+	 * This sets the dir of the incremental cache
+	 * @param incrementalCacheDir the incrementalCacheDir to set
+	 * @return this
+	 */
+	public DocletOptions setIncrementalCacheDir(File incrementalCacheDir) {
+		this.incrementalCacheDir = incrementalCacheDir;
+		return this;
+	}
+
+	/**
+	 * This gets the file the timings and counters of the run are written to as json
+	 * @return the metricsFile or null if the metrics are not recorded
+	 */
+	public File getMetricsFile() {
+		return this.metricsFile;
+	}
+
+	/**
+	 * This sets the file the timings and counters of the run are written to
+	 * @param metricsFile the metricsFile to set
+	 * @return this
+	 */
+	public DocletOptions setMetricsFile(File metricsFile) {
+		this.metricsFile = metricsFile;
+		return this;
+	}
+
 	/**
 	 * This gets the includeSwaggerUi
 	 * @return the includeSwaggerUi
@@ -1292,6 +1483,25 @@ public class DocletOptions {
 		return this;
 	}
 
+	/**
+	 * This gets whether the files of a -swaggerUiPath dir are hard linked into the output dir rather than copied,
+	 * linked files share their content with the source files so changing one changes the other
+	 * @return the linkSwaggerUi
+	 */
+	public boolean isLinkSwaggerUi() {
+		return this.linkSwaggerUi;
+	}
+
+	/**
+	 * This sets whether the files of a -swaggerUiPath dir are hard linked into the output dir
+	 * @param linkSwaggerUi the linkSwaggerUi to set
+	 * @return this
+	 */
+	public DocletOptions setLinkSwaggerUi(boolean linkSwaggerUi) {
+		this.linkSwaggerUi = linkSwaggerUi;
+		return this;
+	}
+
 	/**
 	 * This gets the excludeDeprecatedResourceClasses
 	 * @return the excludeDeprecatedResourceClasses
@@ -0,0 +1,19 @@
+package com.carma.swagger.doclet;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The NotFingerprinted marks a field of the {@link DocletOptions} that does not affect how the resource classes are parsed,
+ * such as the output related options and the caches that only live for a run. Every other field is part of the fingerprint
+ * of the options that the incremental cache is invalidated by, so a new option is covered unless it is marked with this.
+ * @version $Id$
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface NotFingerprinted {
+}
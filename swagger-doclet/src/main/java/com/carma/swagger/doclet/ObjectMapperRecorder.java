@@ -1,7 +1,19 @@
 package com.carma.swagger.doclet;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.io.File;
+import java.io.Flushable;
 import java.io.IOException;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.carma.swagger.doclet.model.ApiDeclaration;
 import com.carma.swagger.doclet.model.ResourceListing;
@@ -9,14 +21,26 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.base.Throwables;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
- * The ObjectMapperRecorder represents a mapper for writing swagger objects to files
+ * The ObjectMapperRecorder represents a mapper for writing swagger objects to files.
+ * Files whose content would not change are not rewritten so their modified time stays the same.
+ * With a parallelism above 1 the objects are serialized and written on a thread pool, in which case
+ * {@link #flush()} must be called to wait for the writes to complete.
  */
-public class ObjectMapperRecorder implements Recorder {
+public class ObjectMapperRecorder implements Recorder, Flushable {
 
 	final ObjectMapper mapper = new ObjectMapper();
+	private final ObjectWriter writer;
+
+	private int parallelism;
+	private ExecutorService executor;
+	private final Map<File, Future<Void>> pendingWrites = new LinkedHashMap<File, Future<Void>>();
 
 	private void processCsv(String csv, CsvItemProcessor processor) {
 		if (csv != null) {
@@ -55,6 +79,20 @@ public class ObjectMapperRecorder implements Recorder {
 	 * @param serializationInclusion The serialization inclusion to use e.g. NON_NULL
 	 */
 	public ObjectMapperRecorder(String serializationFeaturesCsv, String deserializationFeaturesCsv, String defaultTyping, String serializationInclusion) {
+		this(serializationFeaturesCsv, deserializationFeaturesCsv, defaultTyping, serializationInclusion, 1);
+	}
+
+	/**
+	 * This creates a ObjectMapperRecorder
+	 * @param serializationFeaturesCsv The CSV of serialization features to enable
+	 * @param deserializationFeaturesCsv The CSV of deserialization features to enable
+	 * @param defaultTyping The default typing to enable
+	 * @param serializationInclusion The serialization inclusion to use e.g. NON_NULL
+	 * @param parallelism The number of threads to write the files with, 1 means they are written when recorded
+	 */
+	public ObjectMapperRecorder(String serializationFeaturesCsv, String deserializationFeaturesCsv, String defaultTyping, String serializationInclusion,
+			int parallelism) {
+		setParallelism(parallelism);
 
 		// configure serialization features
 		if (serializationFeaturesCsv == null) {
@@ -98,6 +136,8 @@ public class ObjectMapperRecorder implements Recorder {
 		}
 		this.mapper.setSerializationInclusion(JsonInclude.Include.valueOf(serializationInclusion));
 
+		// the writer is immutable so it can be shared by the write threads
+		this.writer = this.mapper.writer();
 	}
 
 	/**
@@ -105,7 +145,7 @@ public class ObjectMapperRecorder implements Recorder {
 	 * @see com.carma.swagger.doclet.Recorder#record(java.io.File, com.carma.swagger.doclet.model.ApiDeclaration)
 	 */
 	public void record(File file, ApiDeclaration declaration) throws IOException {
-		this.mapper.writeValue(file, declaration);
+		submit(file, declaration);
 	}
 
 	/**
@@ -113,7 +153,96 @@ public class ObjectMapperRecorder implements Recorder {
 	 * @see com.carma.swagger.doclet.Recorder#record(java.io.File, com.carma.swagger.doclet.model.ResourceListing)
 	 */
 	public void record(File file, ResourceListing listing) throws IOException {
-		this.mapper.writeValue(file, listing);
+		submit(file, listing);
+	}
+
+	/**
+	 * This sets the number of threads to write the files with, the doclet sets this to its parallelism at the start of each run.
+	 * Writes that are pending when this is changed keep the thread pool they were submitted to until the recorder is flushed.
+	 * @param parallelism The number of threads to write the files with, 1 means they are written when recorded
+	 */
+	public void setParallelism(int parallelism) {
+		checkArgument(parallelism > 0, "parallelism is expected to be a positive number of threads!");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * This waits for the files recorded so far to be written
+	 * @throws IOException if any of the files could not be written
+	 */
+	public void flush() throws IOException {
+		try {
+			for (Future<Void> pendingWrite : this.pendingWrites.values()) {
+				await(pendingWrite);
+			}
+		} finally {
+			this.pendingWrites.clear();
+			if (this.executor != null) {
+				this.executor.shutdownNow();
+				this.executor = null;
+			}
+		}
+	}
+
+	private void submit(final File file, final Object value) throws IOException {
+		if (this.parallelism <= 1) {
+			write(file, value);
+			return;
+		}
+		// a file recorded again has to be written after its earlier content
+		Future<Void> previousWrite = this.pendingWrites.remove(file);
+		if (previousWrite != null) {
+			await(previousWrite);
+		}
+		if (this.executor == null) {
+			this.executor = Executors.newFixedThreadPool(this.parallelism, new ThreadFactoryBuilder().setDaemon(true)
+					.setNameFormat("swagger-doclet-writer-%d").build());
+		}
+		this.pendingWrites.put(file, this.executor.submit(new Callable<Void>() {
+
+			public Void call() throws IOException {
+				write(file, value);
+				return null;
+			}
+		}));
+	}
+
+	private static void await(Future<Void> pendingWrite) throws IOException {
+		try {
+			pendingWrite.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for the files to be written", ex);
+		} catch (ExecutionException ex) {
+			Throwables.propagateIfInstanceOf(ex.getCause(), IOException.class);
+			throw Throwables.propagate(ex.getCause());
+		}
+	}
+
+	/**
+	 * This writes the json of the given value to the file unless the file already has the same content.
+	 * The json is written in one go to a temp file which is then atomically renamed so the file is never partly written,
+	 * the temp file is deleted if the write fails.
+	 * @param file The file to write to
+	 * @param value The value to write
+	 * @throws IOException if the file could not be written
+	 */
+	void write(File file, Object value) throws IOException {
+		byte[] content = this.writer.writeValueAsBytes(value);
+		if (file.isFile() && file.length() == content.length && Arrays.equals(content, Files.toByteArray(file))) {
+			return;
+		}
+		File tmpFile = new File(file.getPath() + ".tmp");
+		boolean moved = false;
+		try {
+			Files.write(content, tmpFile);
+			java.nio.file.Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			moved = true;
+		} finally {
+			if (!moved) {
+				tmpFile.delete();
+			}
+		}
 	}
 
 }
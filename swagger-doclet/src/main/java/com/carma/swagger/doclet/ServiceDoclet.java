@@ -69,6 +69,8 @@ public class ServiceDoclet {
 		options.put("-compositeParamAnnotations", 2);
 		options.put("-compositeParamTypes", 2);
 
+		options.put("-httpMethodAnnotations", 2);
+
 		options.put("-responseTypeTags", 2);
 		options.put("-inputTypeTags", 2);
 
@@ -131,6 +133,7 @@ public class ServiceDoclet {
 		// people that use their own swagger ui files
 		options.put("-disableCopySwaggerUi", 1);
 		options.put("-skipUiFiles", 1);
+		options.put("-linkSwaggerUi", 1);
 
 		options.put("-disableModels", 1);
 		options.put("-modelFieldsRequiredByDefault", 1);
@@ -167,6 +170,11 @@ public class ServiceDoclet {
 		options.put("-sortResourcesByPriority", 1);
 		options.put("-sortApisByPath", 1);
 
+		// number of threads to parse resource classes with
+		options.put("-parallelism", 2);
+		options.put("-incrementalCacheDir", 2);
+		options.put("-metricsFile", 2);
+
 		// standard doclet options that we don't use but have here to avoid errors with tools like gradle
 		// that auto pass them in
 		options.put("-doctitle", 2);
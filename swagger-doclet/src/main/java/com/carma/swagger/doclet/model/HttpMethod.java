@@ -1,5 +1,11 @@
 package com.carma.swagger.doclet.model;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import com.sun.javadoc.AnnotationDesc;
 import com.sun.javadoc.MethodDoc;
 
@@ -16,6 +22,17 @@ public enum HttpMethod {
 	// NOTE Patch is not part of JAXRS 1 or 2 as it stands (people can add it but it will have an arbitrary package)
 	// so we will look for any annotation ending in .PATCH
 
+	// the annotations that are matched as http methods, this is replaced rather than modified when annotations
+	// are registered so lookups don't need to lock and a lookup never memoizes a result into a newer registry
+	private static volatile Registry registry;
+
+	// marks the annotations that aren't http methods in the memo of a registry
+	private static final Object NONE = new Object();
+
+	static {
+		resetAnnotations();
+	}
+
 	private final String className;
 	private final boolean useContains;
 
@@ -29,6 +46,56 @@ public enum HttpMethod {
 		this.useContains = useContains;
 	}
 
+	/**
+	 * This sets the annotations that mark methods with a http method in addition to those of the http methods themselves,
+	 * e.g. the custom verb annotations of a framework other than jaxrs. This replaces any annotations set before.
+	 * Names that start with a . are matched against any part of the FQN of an annotation like .PATCH is, other names
+	 * are matched against the whole FQN. The doclet applies its -httpMethodAnnotations option with this at the start of each run.
+	 * @param annotations The http method of each annotation name
+	 */
+	public static synchronized void useAnnotations(Map<String, HttpMethod> annotations) {
+		Map<String, HttpMethod> names = new LinkedHashMap<String, HttpMethod>();
+		Map<String, HttpMethod> parts = new LinkedHashMap<String, HttpMethod>();
+		for (HttpMethod value : values()) {
+			if (value.useContains) {
+				parts.put(value.className, value);
+			} else {
+				names.put(value.className, value);
+			}
+		}
+		for (Map.Entry<String, HttpMethod> annotation : annotations.entrySet()) {
+			if (annotation.getKey().startsWith(".")) {
+				parts.put(annotation.getKey(), annotation.getValue());
+			} else {
+				names.put(annotation.getKey(), annotation.getValue());
+			}
+		}
+		registry = new Registry(names, parts);
+	}
+
+	/**
+	 * This removes the set annotations so only those of the http methods themselves are matched
+	 */
+	static void resetAnnotations() {
+		useAnnotations(Collections.<String, HttpMethod> emptyMap());
+	}
+
+	/**
+	 * This finds the HTTP method an annotation marks methods with
+	 * @param annotationName The FQN of the annotation
+	 * @return The HTTP method or null if the annotation is not a HTTP method annotation
+	 */
+	public static HttpMethod fromAnnotation(String annotationName) {
+		// the registry is read once so the result is resolved and memoized against the same annotations
+		Registry current = registry;
+		Object method = current.resolved.get(annotationName);
+		if (method == null) {
+			method = current.resolve(annotationName);
+			current.resolved.putIfAbsent(annotationName, method);
+		}
+		return method == NONE ? null : (HttpMethod) method;
+	}
+
 	/**
 	 * This finds a HTTP method for the given method
 	 * @param method The java method to check
@@ -36,15 +103,40 @@ public enum HttpMethod {
 	 */
 	public static HttpMethod fromMethod(MethodDoc method) {
 		for (AnnotationDesc annotation : method.annotations()) {
-			String qName = annotation.annotationType().qualifiedTypeName();
-			for (HttpMethod value : HttpMethod.values()) {
-				if (value.useContains && qName.contains(value.className)) {
-					return value;
-				} else if (!value.useContains && qName.equals(value.className)) {
-					return value;
-				}
+			HttpMethod value = fromAnnotation(annotation.annotationType().qualifiedTypeName());
+			if (value != null) {
+				return value;
 			}
 		}
 		return null;
 	}
+
+	/**
+	 * The Registry is an immutable snapshot of the annotations matched as http methods with the memo of the
+	 * http method of each annotation type resolved against it
+	 */
+	private static final class Registry {
+
+		private final Map<String, HttpMethod> exactNames;
+		private final Map<String, HttpMethod> nameParts;
+		private final ConcurrentMap<String, Object> resolved = new ConcurrentHashMap<String, Object>();
+
+		Registry(Map<String, HttpMethod> exactNames, Map<String, HttpMethod> nameParts) {
+			this.exactNames = exactNames;
+			this.nameParts = nameParts;
+		}
+
+		Object resolve(String annotationName) {
+			HttpMethod method = this.exactNames.get(annotationName);
+			if (method != null) {
+				return method;
+			}
+			for (Map.Entry<String, HttpMethod> part : this.nameParts.entrySet()) {
+				if (annotationName.contains(part.getKey())) {
+					return part.getValue();
+				}
+			}
+			return NONE;
+		}
+	}
 }
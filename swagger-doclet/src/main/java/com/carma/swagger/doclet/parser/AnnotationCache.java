@@ -0,0 +1,51 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.sun.javadoc.ProgramElementDoc;
+
+/**
+ * The AnnotationCache represents a cache of the indexed annotations of the classes, fields and methods
+ * read by the {@link AnnotationParser} so that each element's annotations are only scanned once per doclet run.
+ * Parameters are not cached as javadoc creates new parameter objects each time they are read.
+ * @version $Id$
+ */
+public class AnnotationCache {
+
+	private final ConcurrentMap<ProgramElementDoc, AnnotationIndex> indexes;
+
+	/**
+	 * This creates a AnnotationCache
+	 */
+	public AnnotationCache() {
+		this.indexes = new ConcurrentHashMap<ProgramElementDoc, AnnotationIndex>();
+	}
+
+	/**
+	 * This gets the annotation index of the given element, indexing its annotations if this has not been done yet
+	 * @param element The class, field or method
+	 * @param options The doclet options
+	 * @return The annotation index
+	 */
+	AnnotationIndex get(ProgramElementDoc element, DocletOptions options) {
+		AnnotationIndex index = this.indexes.get(element);
+		if (index == null) {
+			index = new AnnotationIndex(element.annotations(), options);
+			AnnotationIndex existing = this.indexes.putIfAbsent(element, index);
+			if (existing != null) {
+				index = existing;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * This clears the cache
+	 */
+	public void clear() {
+		this.indexes.clear();
+	}
+
+}
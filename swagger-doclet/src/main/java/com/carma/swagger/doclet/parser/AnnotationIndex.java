@@ -0,0 +1,155 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.AnnotationValue;
+
+/**
+ * The AnnotationIndex represents the annotations of a single element indexed by their FQN
+ * along with the values of each annotation indexed by their attribute name.
+ * The string values, which have the doclet variables replaced, are worked out once on first use.
+ * @version $Id$
+ */
+final class AnnotationIndex {
+
+	private final Map<String, Annotation> annotations;
+	private final DocletOptions options;
+
+	/**
+	 * This creates a AnnotationIndex
+	 * @param annotations The annotations of the element
+	 * @param options The doclet options used for replacing variables in the values
+	 */
+	AnnotationIndex(AnnotationDesc[] annotations, DocletOptions options) {
+		this.options = options;
+		if (annotations.length == 0) {
+			this.annotations = Collections.emptyMap();
+			return;
+		}
+		this.annotations = new LinkedHashMap<String, Annotation>(annotations.length * 2);
+		for (AnnotationDesc annotation : annotations) {
+			try {
+				String qualifiedTypeName = annotation.annotationType().qualifiedTypeName();
+				// the first annotation of a type wins as it did with the linear scan
+				if (!this.annotations.containsKey(qualifiedTypeName)) {
+					this.annotations.put(qualifiedTypeName, new Annotation(annotation));
+				}
+			} catch (RuntimeException e) {
+				System.err.println(annotation + " has invalid javadoc: " + e.getClass() + ": " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * This gets the annotation with the given FQN
+	 * @param qualifiedAnnotationType The FQN of the annotation
+	 * @return The annotation or null if the element is not annotated by it
+	 */
+	Annotation get(String qualifiedAnnotationType) {
+		return this.annotations.get(qualifiedAnnotationType);
+	}
+
+	/**
+	 * This gets the first annotation whose FQN contains the given string
+	 * @param qualifiedAnnotationTypePart The part of the FQN to look for
+	 * @return The annotation or null if none matched
+	 */
+	Annotation getContaining(String qualifiedAnnotationTypePart) {
+		for (Map.Entry<String, Annotation> entry : this.annotations.entrySet()) {
+			if (entry.getKey().indexOf(qualifiedAnnotationTypePart) > -1) {
+				return entry.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * This replaces the doclet variables in the given value
+	 * @param value The value
+	 * @return The value with the variables replaced
+	 */
+	String replaceVars(String value) {
+		return this.options.replaceVars(value);
+	}
+
+	/**
+	 * The Annotation represents a single indexed annotation
+	 */
+	final class Annotation {
+
+		private final Map<String, AnnotationValue> values;
+		private final ConcurrentMap<String, String> stringValues;
+
+		Annotation(AnnotationDesc annotation) {
+			AnnotationDesc.ElementValuePair[] pairs = annotation.elementValues();
+			if (pairs.length == 0) {
+				this.values = Collections.emptyMap();
+				this.stringValues = null;
+			} else {
+				this.values = new LinkedHashMap<String, AnnotationValue>(pairs.length * 2);
+				for (AnnotationDesc.ElementValuePair evp : pairs) {
+					String name = evp.element().name();
+					if (!this.values.containsKey(name)) {
+						this.values.put(name, evp.value());
+					}
+				}
+				this.stringValues = new ConcurrentHashMap<String, String>(pairs.length * 2);
+			}
+		}
+
+		/**
+		 * This gets the raw value of the given attribute
+		 * @param key The attribute name
+		 * @return The value or null if it is not set
+		 */
+		Object getValue(String key) {
+			AnnotationValue value = this.values.get(key);
+			return value == null ? null : value.value();
+		}
+
+		/**
+		 * This gets the trimmed string value of the first of the given attributes in declaration order,
+		 * with the doclet variables replaced
+		 * @param keys The attribute names
+		 * @return The value or null if none of the attributes are set
+		 */
+		String getStringValue(String... keys) {
+			if (keys.length == 1) {
+				return getStringValue(keys[0]);
+			}
+			for (String name : this.values.keySet()) {
+				for (String key : keys) {
+					if (name.equals(key)) {
+						return getStringValue(name);
+					}
+				}
+			}
+			return null;
+		}
+
+		private String getStringValue(String key) {
+			if (this.stringValues == null) {
+				return null;
+			}
+			String value = this.stringValues.get(key);
+			if (value == null) {
+				AnnotationValue annotationValue = this.values.get(key);
+				if (annotationValue == null) {
+					return null;
+				}
+				value = replaceVars(annotationValue.value().toString().trim());
+				if (value != null) {
+					this.stringValues.putIfAbsent(key, value);
+				}
+			}
+			return value;
+		}
+	}
+
+}
@@ -12,13 +12,13 @@ import com.sun.javadoc.Parameter;
 import com.sun.javadoc.ProgramElementDoc;
 
 /**
- * The AnnotationParser represents a utility class for reading values from annotations
+ * The AnnotationParser represents a utility class for reading values from annotations.
+ * The annotations of classes, fields and methods are indexed once per run via the {@link AnnotationCache}.
  * @version $Id$
  */
 public class AnnotationParser {
 
-	private final AnnotationDesc[] annotations;
-	private final DocletOptions options;
+	private final AnnotationIndex annotations;
 
 	/**
 	 * This creates an AnnotationParser for a method/field
@@ -26,8 +26,7 @@ public class AnnotationParser {
 	 * @param options The doclet options
 	 */
 	public AnnotationParser(ProgramElementDoc element, DocletOptions options) {
-		this.annotations = element.annotations();
-		this.options = options;
+		this.annotations = options.getAnnotationCache().get(element, options);
 	}
 
 	/**
@@ -36,8 +35,7 @@ public class AnnotationParser {
 	 * @param options The doclet options
 	 */
 	public AnnotationParser(Parameter parameter, DocletOptions options) {
-		this.annotations = parameter.annotations();
-		this.options = options;
+		this.annotations = new AnnotationIndex(parameter.annotations(), options);
 	}
 
 	/**
@@ -48,9 +46,9 @@ public class AnnotationParser {
 	 */
 	public String getAnnotationValue(Collection<String> qualifiedAnnotationTypes, String... keys) {
 		for (String qualifiedAnnotationType : qualifiedAnnotationTypes) {
-			AnnotationDesc annotation = getAnnotation(qualifiedAnnotationType, false);
+			AnnotationIndex.Annotation annotation = this.annotations.get(qualifiedAnnotationType);
 			if (annotation != null) {
-				String value = getAnnotationValue(annotation, keys);
+				String value = annotation.getStringValue(keys);
 				if (value != null) {
 					return value;
 				}
@@ -66,34 +64,11 @@ public class AnnotationParser {
 	 * @return The value of the given named attribute of the given annotation
 	 */
 	public String getAnnotationValue(String qualifiedAnnotationType, String... keys) {
-		AnnotationDesc annotation = getAnnotation(qualifiedAnnotationType, false);
+		AnnotationIndex.Annotation annotation = this.annotations.get(qualifiedAnnotationType);
 		if (annotation == null) {
 			return null;
 		}
-		return getAnnotationValue(annotation, keys);
-	}
-
-	private String getAnnotationValue(AnnotationDesc annotation, String... keys) {
-		for (AnnotationDesc.ElementValuePair evp : annotation.elementValues()) {
-			for (String key : keys) {
-				if (evp.element().name().equals(key)) {
-					String val = evp.value().value().toString();
-					val = val.trim();
-					return this.options.replaceVars(val);
-				}
-			}
-		}
-		return null;
-	}
-
-	private ClassDoc getAnnotationClassDocValue(AnnotationDesc annotation, String key) {
-		for (AnnotationDesc.ElementValuePair evp : annotation.elementValues()) {
-			if (evp.element().name().equals(key)) {
-				ClassDoc val = (ClassDoc) evp.value().value();
-				return val;
-			}
-		}
-		return null;
+		return annotation.getStringValue(keys);
 	}
 
 	/**
@@ -103,24 +78,15 @@ public class AnnotationParser {
 	 * @return The values or null if none were found
 	 */
 	public ClassDoc[] getAnnotationClassDocValues(String qualifiedAnnotationType, String key) {
-		AnnotationDesc annotation = getAnnotation(qualifiedAnnotationType, false);
-		if (annotation == null) {
-			return null;
-		}
-		for (AnnotationDesc.ElementValuePair evp : annotation.elementValues()) {
-			if (evp.element().name().equals(key)) {
-				Object val = evp.value().value();
-				AnnotationValue[] vals = (AnnotationValue[]) val;
-				if (vals != null && vals.length > 0) {
-					ClassDoc[] res = new ClassDoc[vals.length];
-					int i = 0;
-					for (AnnotationValue annotationVal : vals) {
-						ClassDoc classDoc = (ClassDoc) annotationVal.value();
-						res[i++] = classDoc;
-					}
-					return res;
-				}
+		AnnotationValue[] vals = getArrayValue(qualifiedAnnotationType, key);
+		if (vals != null && vals.length > 0) {
+			ClassDoc[] res = new ClassDoc[vals.length];
+			int i = 0;
+			for (AnnotationValue annotationVal : vals) {
+				ClassDoc classDoc = (ClassDoc) annotationVal.value();
+				res[i++] = classDoc;
 			}
+			return res;
 		}
 		return null;
 	}
@@ -132,26 +98,17 @@ public class AnnotationParser {
 	 * @return The values or null if none were found
 	 */
 	public String[] getAnnotationValues(String qualifiedAnnotationType, String key) {
-		AnnotationDesc annotation = getAnnotation(qualifiedAnnotationType, false);
-		if (annotation == null) {
-			return null;
-		}
-		for (AnnotationDesc.ElementValuePair evp : annotation.elementValues()) {
-			if (evp.element().name().equals(key)) {
-				Object val = evp.value().value();
-				AnnotationValue[] vals = (AnnotationValue[]) val;
-				if (vals != null && vals.length > 0) {
-					String[] res = new String[vals.length];
-					int i = 0;
-					for (AnnotationValue annotationVal : vals) {
-						String str = annotationVal.value().toString().trim();
-						str = this.options.replaceVars(str);
-						res[i] = str;
-						i++;
-					}
-					return res;
-				}
+		AnnotationValue[] vals = getArrayValue(qualifiedAnnotationType, key);
+		if (vals != null && vals.length > 0) {
+			String[] res = new String[vals.length];
+			int i = 0;
+			for (AnnotationValue annotationVal : vals) {
+				String str = annotationVal.value().toString().trim();
+				str = this.annotations.replaceVars(str);
+				res[i] = str;
+				i++;
 			}
+			return res;
 		}
 		return null;
 	}
@@ -164,27 +121,38 @@ public class AnnotationParser {
 	 * @return A list of string of values
 	 */
 	public List<ClassDoc> getAnnotationArrayTypes(String qualifiedAnnotationType, String key, String subKey) {
-		AnnotationDesc annotation = getAnnotation(qualifiedAnnotationType, false);
+		// we expect a single item which is an array of sub annotations
+		AnnotationValue[] vals = getArrayValue(qualifiedAnnotationType, key);
+		if (vals == null) {
+			return null;
+		}
+		List<ClassDoc> res = new ArrayList<ClassDoc>();
+		for (AnnotationValue annotationVal : vals) {
+			AnnotationDesc subAnnotation = (AnnotationDesc) annotationVal.value();
+			ClassDoc classDoc = getAnnotationClassDocValue(subAnnotation, "value");
+			if (classDoc != null) {
+				res.add(classDoc);
+			}
+		}
+		if (res.isEmpty()) {
+			return null;
+		}
+		return res;
+	}
+
+	private AnnotationValue[] getArrayValue(String qualifiedAnnotationType, String key) {
+		AnnotationIndex.Annotation annotation = this.annotations.get(qualifiedAnnotationType);
 		if (annotation == null) {
 			return null;
 		}
-		// we expect a single item which is an array of sub annotations
+		return (AnnotationValue[]) annotation.getValue(key);
+	}
+
+	private ClassDoc getAnnotationClassDocValue(AnnotationDesc annotation, String key) {
 		for (AnnotationDesc.ElementValuePair evp : annotation.elementValues()) {
 			if (evp.element().name().equals(key)) {
-				Object val = evp.value().value();
-				AnnotationValue[] vals = (AnnotationValue[]) val;
-				List<ClassDoc> res = new ArrayList<ClassDoc>();
-				for (AnnotationValue annotationVal : vals) {
-					AnnotationDesc subAnnotation = (AnnotationDesc) annotationVal.value();
-					ClassDoc classDoc = getAnnotationClassDocValue(subAnnotation, "value");
-					if (classDoc != null) {
-						res.add(classDoc);
-					}
-				}
-				if (res.isEmpty()) {
-					return null;
-				}
-				return res;
+				ClassDoc val = (ClassDoc) evp.value().value();
+				return val;
 			}
 		}
 		return null;
@@ -196,7 +164,7 @@ public class AnnotationParser {
 	 * @return True if this is annotated by the given annotation
 	 */
 	public boolean isAnnotatedBy(String qualifiedAnnotationType) {
-		return getAnnotation(qualifiedAnnotationType, false) != null;
+		return this.annotations.get(qualifiedAnnotationType) != null;
 	}
 
 	/**
@@ -205,27 +173,7 @@ public class AnnotationParser {
 	 * @return True if this is annotated by an annotation that starts with the given prefix
 	 */
 	public boolean isAnnotatedByPrefix(String qualifiedAnnotationTypePrefix) {
-		return getAnnotation(qualifiedAnnotationTypePrefix, true) != null;
-	}
-
-	private AnnotationDesc getAnnotation(String qualifiedAnnotationType, boolean startsWith) {
-		AnnotationDesc found = null;
-		for (AnnotationDesc annotation : this.annotations) {
-			try {
-				if (startsWith) {
-					if (annotation.annotationType().qualifiedTypeName().indexOf(qualifiedAnnotationType) > -1) {
-						found = annotation;
-						break;
-					}
-				} else if (annotation.annotationType().qualifiedTypeName().equals(qualifiedAnnotationType)) {
-					found = annotation;
-					break;
-				}
-			} catch (RuntimeException e) {
-				System.err.println(annotation + " has invalid javadoc: " + e.getClass() + ": " + e.getMessage());
-			}
-		}
-		return found;
+		return this.annotations.getContaining(qualifiedAnnotationTypePrefix) != null;
 	}
 
 }
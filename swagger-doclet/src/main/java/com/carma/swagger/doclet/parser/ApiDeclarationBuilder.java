@@ -0,0 +1,263 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.carma.swagger.doclet.model.Api;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.carma.swagger.doclet.model.Method;
+import com.carma.swagger.doclet.model.Model;
+import com.carma.swagger.doclet.model.Operation;
+import com.google.common.base.Objects;
+
+/**
+ * The ApiDeclarationBuilder represents an api declaration that is being built up during the parsing. It indexes
+ * its apis by path, its operations by api path, http method and nickname and its models by id so adding a method
+ * doesn't need to scan the apis and operations added so far. Once the parsing is done it is frozen into an
+ * {@link ApiDeclaration} via {@link #build()}.
+ * @version $Id$
+ */
+public final class ApiDeclarationBuilder {
+
+	private final String swaggerVersion;
+	private final String apiVersion;
+	private final String basePath;
+	private final String resourcePath;
+	private int priority = Integer.MAX_VALUE;
+	private String description;
+
+	private final List<Api> apis = new ArrayList<Api>();
+	private final Map<String, Api> pathToApi = new HashMap<String, Api>();
+	private final Map<OperationKey, List<Operation>> keyToOperations = new HashMap<OperationKey, List<Operation>>();
+	private final Map<String, Model> models = new HashMap<String, Model>();
+
+	/**
+	 * This creates a ApiDeclarationBuilder
+	 * @param swaggerVersion The swagger version
+	 * @param apiVersion The api version
+	 * @param basePath The base path
+	 * @param resourcePath The resource path
+	 */
+	public ApiDeclarationBuilder(String swaggerVersion, String apiVersion, String basePath, String resourcePath) {
+		super();
+		this.swaggerVersion = swaggerVersion;
+		this.apiVersion = apiVersion;
+		this.basePath = basePath;
+		this.resourcePath = resourcePath;
+	}
+
+	/**
+	 * This creates a ApiDeclarationBuilder that starts out with the apis, operations and models of the given declaration
+	 * @param declaration The declaration to add to
+	 */
+	public ApiDeclarationBuilder(ApiDeclaration declaration) {
+		this(declaration.getSwaggerVersion(), declaration.getApiVersion(), declaration.getBasePath(), declaration.getResourcePath());
+		this.priority = declaration.getPriority();
+		this.description = declaration.getDescription();
+		if (declaration.getApis() != null) {
+			for (Api api : declaration.getApis()) {
+				Collection<Operation> operations = api.getOperations();
+				api = getOrAddApi(api.getPath(), api.getDescription());
+				for (Operation operation : operations) {
+					addOperation(api, operation);
+				}
+			}
+		}
+		if (declaration.getModels() != null) {
+			this.models.putAll(declaration.getModels());
+		}
+	}
+
+	/**
+	 * This gets the resource path
+	 * @return the resource path
+	 */
+	public String getResourcePath() {
+		return this.resourcePath;
+	}
+
+	/**
+	 * This gets the priority of the declaration in a resource listing
+	 * @return the priority, {@link Integer#MAX_VALUE} if none has been set
+	 */
+	public int getPriority() {
+		return this.priority;
+	}
+
+	/**
+	 * This sets the priority
+	 * @param priority the priority to set
+	 */
+	public void setPriority(int priority) {
+		this.priority = priority;
+	}
+
+	/**
+	 * This gets the description of the declaration in a resource listing
+	 * @return the description
+	 */
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+	 * This sets the description
+	 * @param description the description to set
+	 */
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	/**
+	 * This gets the apis added so far in the order they were added
+	 * @return the apis
+	 */
+	public List<Api> getApis() {
+		return this.apis;
+	}
+
+	/**
+	 * This gets the api with the given path
+	 * @param path The path of the api
+	 * @return The api or null if none has been added with the path
+	 */
+	public Api getApi(String path) {
+		return this.pathToApi.get(path);
+	}
+
+	/**
+	 * This gets the api with the given path, adding a new api without any operations if there is none yet
+	 * @param path The path of the api
+	 * @param description The description to use for a new api
+	 * @return The api
+	 */
+	public Api getOrAddApi(String path, String description) {
+		Api api = this.pathToApi.get(path);
+		if (api == null) {
+			api = new Api(path, description, new ArrayList<Operation>());
+			this.pathToApi.put(path, api);
+			this.apis.add(api);
+		}
+		return api;
+	}
+
+	/**
+	 * This adds an operation for the given method to the given api unless the api already has an operation
+	 * with the same http method, nickname and number of parameters
+	 * @param api The api of this builder to add to
+	 * @param parsedMethod The method
+	 * @return True if the operation was added
+	 */
+	public boolean addOperation(Api api, Method parsedMethod) {
+		Operation operation = new Operation(parsedMethod);
+		if (findOperation(api, operation.getMethod(), operation.getNickname(), paramCount(operation)) != null) {
+			return false;
+		}
+		addOperation(api, operation);
+		return true;
+	}
+
+	/**
+	 * This finds an operation of the given api
+	 * @param api The api of this builder
+	 * @param method The http method of the operation
+	 * @param nickname The nickname of the operation
+	 * @param paramCount The number of parameters of the operation
+	 * @return The operation or null if the api has no such operation
+	 */
+	Operation findOperation(Api api, HttpMethod method, String nickname, int paramCount) {
+		List<Operation> candidates = this.keyToOperations.get(new OperationKey(api.getPath(), method, nickname));
+		if (candidates != null) {
+			// the parameters of an operation can grow after it was added, e.g. by class level path params,
+			// so the number of them is compared when looking up rather than being part of the key
+			for (Operation candidate : candidates) {
+				if (paramCount(candidate) == paramCount) {
+					return candidate;
+				}
+			}
+		}
+		return null;
+	}
+
+	private void addOperation(Api api, Operation operation) {
+		api.getOperations().add(operation);
+		OperationKey key = new OperationKey(api.getPath(), operation.getMethod(), operation.getNickname());
+		List<Operation> operations = this.keyToOperations.get(key);
+		if (operations == null) {
+			operations = new ArrayList<Operation>(1);
+			this.keyToOperations.put(key, operations);
+		}
+		operations.add(operation);
+	}
+
+	private static int paramCount(Operation operation) {
+		return operation.getParameters() == null ? 0 : operation.getParameters().size();
+	}
+
+	/**
+	 * This adds the given models, replacing any existing model with the same id
+	 * @param idToModels The models keyed by their id
+	 */
+	public void putModels(Map<String, Model> idToModels) {
+		this.models.putAll(idToModels);
+	}
+
+	/**
+	 * This gets the models added so far keyed by their id
+	 * @return the models
+	 */
+	public Map<String, Model> getModels() {
+		return this.models;
+	}
+
+	/**
+	 * This freezes the builder into an api declaration, the declaration shares the apis and models of
+	 * the builder so the builder should not be added to afterwards
+	 * @return The api declaration
+	 */
+	public ApiDeclaration build() {
+		ApiDeclaration declaration = new ApiDeclaration(this.swaggerVersion, this.apiVersion, this.basePath, this.resourcePath, null, null,
+				this.priority, this.description);
+		declaration.setApis(this.apis);
+		declaration.setModels(this.models);
+		return declaration;
+	}
+
+	/**
+	 * The OperationKey represents the api path, http method and nickname of an operation
+	 */
+	private static final class OperationKey {
+
+		private final String path;
+		private final HttpMethod method;
+		private final String nickname;
+
+		OperationKey(String path, HttpMethod method, String nickname) {
+			this.path = path;
+			this.method = method;
+			this.nickname = nickname;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof OperationKey)) {
+				return false;
+			}
+			OperationKey other = (OperationKey) obj;
+			return this.method == other.method && Objects.equal(this.path, other.path) && Objects.equal(this.nickname, other.nickname);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(this.path, this.method, this.nickname);
+		}
+	}
+
+}
@@ -10,11 +10,15 @@ import java.util.Set;
 
 import com.carma.swagger.doclet.model.Api;
 import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.HttpMethod;
 import com.carma.swagger.doclet.model.Model;
 import com.carma.swagger.doclet.model.Operation;
 
 /**
- * The ApiDeclarationMerger represents a util that can merge api declarations together based on the resource path
+ * The ApiDeclarationMerger represents a util that can merge api declarations together based on the resource path.
+ * The declarations are accumulated per resource path into a {@link Partial} which indexes the apis by path and the
+ * http methods of their operations so each declaration is merged in a single pass over it. Partials of different
+ * shards of the declarations can be combined, combining is associative so the shards can be merged in a tree.
  * @version $Id$
  * @author conor.roche
  */
@@ -43,113 +47,185 @@ public class ApiDeclarationMerger {
 	 * @return A collection of merged API declarations
 	 */
 	public Collection<ApiDeclaration> merge(Collection<ApiDeclaration> declarations) {
+		return merge(new Partial().addAll(declarations));
+	}
 
-		Map<String, ApiDeclaration> resourceToApis = new HashMap<String, ApiDeclaration>();
-		for (ApiDeclaration declaration : declarations) {
+	/**
+	 * This builds the merged declarations of the given partial result, the swagger version, api version
+	 * and base path of this merger are used for the declarations that don't have their own
+	 * @param partial The partial result
+	 * @return A collection of merged API declarations
+	 */
+	Collection<ApiDeclaration> merge(Partial partial) {
+		List<ApiDeclaration> declarations = new ArrayList<ApiDeclaration>(partial.resources.size());
+		for (Resource resource : partial.resources.values()) {
+			String apiVersion = getFirstNonNull(resource.apiVersion, this.apiVersion);
+			String swaggerVersion = getFirstNonNull(resource.swaggerVersion, this.swaggerVersion);
+			String basePath = getFirstNonNull(resource.basePath, this.basePath);
+			declarations.add(new ApiDeclaration(swaggerVersion, apiVersion, basePath, resource.resourcePath, resource.apis, resource.models,
+					resource.priority, resource.description));
+		}
+		return declarations;
+	}
 
-			String resourcePath = declaration.getResourcePath();
-			ApiDeclaration existing = resourceToApis.get(resourcePath);
+	private static <T> T getFirstNonNull(T val, T defaultValue) {
+		return val != null ? val : defaultValue;
+	}
 
-			// see if we have already added this to the result
-			if (existing == null) {
+	/**
+	 * The Partial represents the declarations merged so far keyed by their resource path
+	 */
+	static final class Partial {
+
+		final Map<String, Resource> resources = new HashMap<String, Resource>();
+
+		/**
+		 * This merges the given declaration into this
+		 * @param declaration The declaration to merge
+		 * @return This
+		 */
+		Partial add(ApiDeclaration declaration) {
+			Resource resource = getResource(declaration.getResourcePath());
+			resource.mergeHeader(declaration.getApiVersion(), declaration.getSwaggerVersion(), declaration.getBasePath(), declaration.getPriority(),
+					declaration.getDescription());
+			resource.mergeApis(declaration.getApis(), false);
+			resource.mergeModels(declaration.getModels());
+			return this;
+		}
 
-				// we haven't so add it
-				String apiVersion = getFirstNonNull(this.apiVersion, declaration.getApiVersion());
-				String swaggerVersion = getFirstNonNull(this.swaggerVersion, declaration.getSwaggerVersion());
-				String basePath = getFirstNonNull(this.basePath, declaration.getBasePath());
-				int priority = getFirstNonNullNorVal(Integer.MAX_VALUE, Integer.MAX_VALUE, declaration.getPriority());
+		/**
+		 * This merges the given declarations into this in order
+		 * @param declarations The declarations to merge
+		 * @return This
+		 */
+		Partial addAll(Collection<ApiDeclaration> declarations) {
+			for (ApiDeclaration declaration : declarations) {
+				add(declaration);
+			}
+			return this;
+		}
 
-				ApiDeclaration newApi = new ApiDeclaration(swaggerVersion, apiVersion, basePath, resourcePath, declaration.getApis(), declaration.getModels(),
-						priority, declaration.getDescription());
-				resourceToApis.put(resourcePath, newApi);
+		/**
+		 * This merges the given partial result into this as if its declarations were added after those of this,
+		 * the given partial is taken over and should not be used afterwards
+		 * @param other The partial result to merge
+		 * @return This
+		 */
+		Partial combine(Partial other) {
+			for (Resource otherResource : other.resources.values()) {
+				Resource resource = this.resources.get(otherResource.resourcePath);
+				if (resource == null) {
+					this.resources.put(otherResource.resourcePath, otherResource);
+				} else {
+					resource.mergeHeader(otherResource.apiVersion, otherResource.swaggerVersion, otherResource.basePath, otherResource.priority,
+							otherResource.description);
+					resource.mergeApis(otherResource.apis, true);
+					resource.mergeModels(otherResource.models);
+				}
+			}
+			return this;
+		}
 
-			} else {
+		private Resource getResource(String resourcePath) {
+			Resource resource = this.resources.get(resourcePath);
+			if (resource == null) {
+				resource = new Resource(resourcePath);
+				this.resources.put(resourcePath, resource);
+			}
+			return resource;
+		}
+	}
 
-				// we have so we need to merge this api declaration with the existing one
-				String apiVersion = getFirstNonNull(this.apiVersion, existing.getApiVersion(), declaration.getApiVersion());
-				String swaggerVersion = getFirstNonNull(this.swaggerVersion, existing.getSwaggerVersion(), declaration.getSwaggerVersion());
-				String basePath = getFirstNonNull(this.basePath, existing.getBasePath(), declaration.getBasePath());
-				int priority = getFirstNonNullNorVal(Integer.MAX_VALUE, Integer.MAX_VALUE, existing.getPriority(), declaration.getPriority());
-				String description = getFirstNonNull(null, existing.getDescription(), declaration.getDescription());
+	/**
+	 * The Resource represents the merged declarations of a single resource path. It indexes its apis by path
+	 * along with the http methods of their operations. An operation of a later declaration is only added if
+	 * none of the earlier declarations had an operation with the same http method on the same path.
+	 */
+	static final class Resource {
+
+		final String resourcePath;
+		String apiVersion;
+		String swaggerVersion;
+		String basePath;
+		int priority = Integer.MAX_VALUE;
+		String description;
+
+		final List<Api> apis = new ArrayList<Api>();
+		final Map<String, Model> models = new HashMap<String, Model>();
+		private final Map<String, Api> pathToApi = new HashMap<String, Api>();
+		private final Map<String, Set<HttpMethod>> pathToMethods = new HashMap<String, Set<HttpMethod>>();
+
+		Resource(String resourcePath) {
+			this.resourcePath = resourcePath;
+		}
 
-				List<Api> apis = existing.getApis();
-				if (declaration.getApis() != null && !declaration.getApis().isEmpty()) {
-					if (apis == null) {
-						apis = new ArrayList<Api>(declaration.getApis().size());
-					}
+		void mergeHeader(String apiVersion, String swaggerVersion, String basePath, int priority, String description) {
+			this.apiVersion = getFirstNonNull(this.apiVersion, apiVersion);
+			this.swaggerVersion = getFirstNonNull(this.swaggerVersion, swaggerVersion);
+			this.basePath = getFirstNonNull(this.basePath, basePath);
+			if (this.priority == Integer.MAX_VALUE) {
+				this.priority = priority;
+			}
+			this.description = getFirstNonNull(this.description, description);
+		}
 
-					// build map of existing api path to operations
-					Map<String, Integer> apiPathToIndex = new HashMap<String, Integer>();
-					Map<String, Set<String>> apiPathToOperations = new HashMap<String, Set<String>>();
-					int i = 0;
-					for (Api existingApi : apis) {
-						// store the index
-						apiPathToIndex.put(existingApi.getPath(), i);
-						// store the operations
-						Set<String> operations = new HashSet<String>();
-						for (Operation op : existingApi.getOperations()) {
-							operations.add(op.getMethod().name());
-						}
-						apiPathToOperations.put(existingApi.getPath(), operations);
-					}
-					i++;
-
-					// now merge in the apis, if an api exists with the same path then we merge in the operations that are not already there
-					for (Api apiToMerge : declaration.getApis()) {
-						if (apiPathToIndex.containsKey(apiToMerge.getPath())) {
-							// its already there so only add in operations that are not there already
-							for (Operation op : apiToMerge.getOperations()) {
-								if (!apiPathToOperations.get(apiToMerge.getPath()).contains(op.getMethod().name())) {
-									apis.get(apiPathToIndex.get(apiToMerge.getPath())).getOperations().add(op);
-								}
-							}
-						} else {
-							// not there so add it
-							apis.add(apiToMerge);
-						}
+		/**
+		 * This merges the given apis in, they are treated as one declaration so their operations are only checked
+		 * against the http methods of the operations merged before them
+		 * @param apisToMerge The apis to merge
+		 * @param owned Whether the apis are owned by another resource being combined in, if not they are copied
+		 *            so that merging operations into them doesn't change the declarations being merged
+		 */
+		void mergeApis(Collection<Api> apisToMerge, boolean owned) {
+			if (apisToMerge == null || apisToMerge.isEmpty()) {
+				return;
+			}
+			Map<String, Set<HttpMethod>> addedMethods = new HashMap<String, Set<HttpMethod>>();
+			for (Api apiToMerge : apisToMerge) {
+				String path = apiToMerge.getPath();
+				Api api = this.pathToApi.get(path);
+				if (api == null) {
+					api = owned ? apiToMerge : new Api(path, apiToMerge.getDescription(), new ArrayList<Operation>(apiToMerge.getOperations()));
+					this.pathToApi.put(path, api);
+					this.apis.add(api);
+					for (Operation op : api.getOperations()) {
+						methodsOf(addedMethods, path).add(op.getMethod());
 					}
-
+					continue;
 				}
-
-				Map<String, Model> models = existing.getModels();
-				if (declaration.getModels() != null && !declaration.getModels().isEmpty()) {
-					if (models == null) {
-						models = new HashMap<String, Model>(declaration.getModels().size());
-					}
-					// only add new models
-					for (Map.Entry<String, Model> modelEntry : declaration.getModels().entrySet()) {
-						if (!models.containsKey(modelEntry.getKey())) {
-							models.put(modelEntry.getKey(), modelEntry.getValue());
-						}
+				Set<HttpMethod> existingMethods = this.pathToMethods.get(path);
+				for (Operation op : apiToMerge.getOperations()) {
+					if (existingMethods == null || !existingMethods.contains(op.getMethod())) {
+						api.getOperations().add(op);
+						methodsOf(addedMethods, path).add(op.getMethod());
 					}
 				}
-
-				// replace the existing with the merged one
-				ApiDeclaration merged = new ApiDeclaration(swaggerVersion, apiVersion, basePath, resourcePath, apis, models, priority, description);
-				resourceToApis.put(resourcePath, merged);
 			}
-
+			for (Map.Entry<String, Set<HttpMethod>> entry : addedMethods.entrySet()) {
+				methodsOf(this.pathToMethods, entry.getKey()).addAll(entry.getValue());
+			}
 		}
 
-		return resourceToApis.values();
-	}
-
-	private <T> T getFirstNonNull(T defaultValue, T... vals) {
-		for (T val : vals) {
-			if (val != null) {
-				return val;
+		void mergeModels(Map<String, Model> modelsToMerge) {
+			if (modelsToMerge == null) {
+				return;
+			}
+			// only add new models
+			for (Map.Entry<String, Model> modelEntry : modelsToMerge.entrySet()) {
+				if (!this.models.containsKey(modelEntry.getKey())) {
+					this.models.put(modelEntry.getKey(), modelEntry.getValue());
+				}
 			}
 		}
-		return defaultValue;
-	}
 
-	private <T> T getFirstNonNullNorVal(T defaultValue, T excludeVal, T... vals) {
-		for (T val : vals) {
-			if (val != null && !val.equals(excludeVal)) {
-				return val;
+		private static Set<HttpMethod> methodsOf(Map<String, Set<HttpMethod>> pathToMethods, String path) {
+			Set<HttpMethod> methods = pathToMethods.get(path);
+			if (methods == null) {
+				methods = new HashSet<HttpMethod>();
+				pathToMethods.put(path, methods);
 			}
+			return methods;
 		}
-		return defaultValue;
 	}
 
 }
@@ -1,5 +1,6 @@
 package com.carma.swagger.doclet.parser;
 
+import com.carma.swagger.doclet.CompiledOptions;
 import com.carma.swagger.doclet.DocletOptions;
 import com.carma.swagger.doclet.model.*;
 import com.carma.swagger.doclet.parser.ParserHelper.NumericTypeFilter;
@@ -34,9 +35,9 @@ public class ApiMethodParser {
 	private final MethodDoc methodDoc;
 	private final Set<Model> models;
 	private final HttpMethod httpMethod;
-	private final Collection<ClassDoc> classes; // model classes
-	private final Collection<ClassDoc> typeClasses; // additional classes such as for primitives
-	private final Collection<ClassDoc> allClasses; // merge of model and additional classes
+	private final ClassDocIndex classes; // model classes
+	private final ClassDocIndex typeClasses; // additional classes such as for primitives
+	private final ClassDocIndex allClasses; // merge of model and additional classes
 	private final String classDefaultErrorType;
 	private final String methodDefaultErrorType;
 
@@ -59,17 +60,11 @@ public class ApiMethodParser {
 		this.models = new LinkedHashSet<Model>();
 		this.httpMethod = ParserHelper.resolveMethodHttpMethod(methodDoc);
 		this.parentMethod = null;
-		this.classes = classes;
-		this.typeClasses = typeClasses;
+		this.classes = ClassDocIndex.of(classes);
+		this.typeClasses = ClassDocIndex.of(typeClasses);
 		this.classDefaultErrorType = classDefaultErrorType;
 		this.methodDefaultErrorType = ParserHelper.getInheritableTagValue(methodDoc, options.getDefaultErrorTypeTags(), options);
-		this.allClasses = new HashSet<ClassDoc>();
-		if (classes != null) {
-			this.allClasses.addAll(classes);
-		}
-		if (typeClasses != null) {
-			this.allClasses.addAll(typeClasses);
-		}
+		this.allClasses = this.classes.including(this.typeClasses);
 	}
 
 	/**
@@ -424,12 +419,16 @@ public class ApiMethodParser {
 			}
 		}
 
-		// read required and optional params
+		// read required and optional params, the annotations of the params are read once for both
+		CompiledOptions compiledOptions = this.options.getCompiledOptions();
+		Map<String, Set<String>> paramAnnotations = ParserHelper.getInheritableParameterAnnotations(this.methodDoc,
+			compiledOptions.getParamRequirednessAnnotations());
+
 		Set<String> optionalParams = ParserHelper.getMatchingParams(this.methodDoc, allParamNames, this.options.getOptionalParamsTags(),
-			this.options.getOptionalParamAnnotations(), this.options);
+			paramAnnotations, compiledOptions.getOptionalParamAnnotations(), this.options);
 
 		Set<String> requiredParams = ParserHelper.getMatchingParams(this.methodDoc, allParamNames, this.options.getRequiredParamsTags(),
-			this.options.getRequiredParamAnnotations(), this.options);
+			paramAnnotations, compiledOptions.getRequiredParamAnnotations(), this.options);
 
 		// read exclude params
 		List<String> excludeParams = ParserHelper.getCsvParams(this.methodDoc, allParamNames, this.options.getExcludeParamsTags(), this.options);
@@ -689,7 +688,7 @@ public class ApiMethodParser {
 				Type[] typeArgs = pt.typeArguments();
 				if (typeArgs != null && typeArgs.length > 0) {
 					// if its a generic wrapper type then return the wrapped type
-					if (this.options.getGenericWrapperTypes().contains(type.qualifiedTypeName())) {
+					if (this.options.getCompiledOptions().getGenericWrapperTypes().contains(type.qualifiedTypeName())) {
 						return typeArgs[0];
 					}
 				}
@@ -841,8 +840,8 @@ public class ApiMethodParser {
 	private boolean shouldIncludeParameter(HttpMethod httpMethod, List<String> excludeParams, Parameter parameter) {
 		List<AnnotationDesc> allAnnotations = Arrays.asList(parameter.annotations());
 
-		// remove any params annotated with exclude param annotations e.g. jaxrs Context
-		if (ParserHelper.hasAnnotation(parameter, this.options.getExcludeParamAnnotations(), this.options)) {
+		// remove any params annotated with exclude param annotations e.g. jaxrs Context and any deprecated params
+		if (this.options.getExclusionPolicy().isExcludedParam(parameter, this.options)) {
 			return false;
 		}
 
@@ -851,11 +850,6 @@ public class ApiMethodParser {
 			return false;
 		}
 
-		// remove any deprecated params
-		if (this.options.isExcludeDeprecatedParams() && ParserHelper.isDeprecated(parameter, this.options)) {
-			return false;
-		}
-
 		// include if it has a jaxrs annotation
 		if (ParserHelper.hasJaxRsAnnotation(parameter, this.options)) {
 			return true;
@@ -0,0 +1,122 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.carma.swagger.doclet.model.Model;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.ParameterizedType;
+import com.sun.javadoc.Type;
+import com.sun.javadoc.TypeVariable;
+
+/**
+ * The ApiModelCache represents a cache of the models parsed by the {@link ApiModelParser} so that
+ * a model type referenced by many resource methods is only parsed once per doclet run. Entries are keyed
+ * by everything the parsing depends on: the type including its type arguments, the resolved type variables,
+ * the json views, whether fields are inherited and the composite/multipart flags.
+ * @version $Id$
+ */
+public class ApiModelCache {
+
+	private final ConcurrentMap<String, Set<Model>> models;
+
+	/**
+	 * This creates a ApiModelCache
+	 */
+	public ApiModelCache() {
+		this.models = new ConcurrentHashMap<String, Set<Model>>();
+	}
+
+	/**
+	 * This gets the models previously parsed for the given key
+	 * @param key The key as built by {@link #key(Type, Map, ClassDoc[], boolean, boolean, boolean)}
+	 * @return The models or null if they have not been parsed yet
+	 */
+	public Set<Model> get(String key) {
+		return this.models.get(key);
+	}
+
+	/**
+	 * This adds the models parsed for the given key
+	 * @param key The key as built by {@link #key(Type, Map, ClassDoc[], boolean, boolean, boolean)}
+	 * @param parsedModels The models that were parsed
+	 */
+	public void put(String key, Set<Model> parsedModels) {
+		this.models.putIfAbsent(key, Collections.unmodifiableSet(new LinkedHashSet<Model>(parsedModels)));
+	}
+
+	/**
+	 * This clears the cache
+	 */
+	public void clear() {
+		this.models.clear();
+	}
+
+	/**
+	 * This builds the cache key for parsing the models of the given type
+	 * @param type The root type
+	 * @param varsToTypes The type variables resolved for the root type
+	 * @param viewClasses The json views or null if there are none
+	 * @param inheritFields whether fields are inherited from super types
+	 * @param composite whether it is parsed as a composite parameter
+	 * @param consumesMultipart whether the composite parameter consumes multipart data
+	 * @return The cache key
+	 */
+	public static String key(Type type, Map<String, Type> varsToTypes, ClassDoc[] viewClasses, boolean inheritFields, boolean composite,
+			boolean consumesMultipart) {
+		StringBuilder key = new StringBuilder();
+		appendType(key, type);
+		if (varsToTypes != null && !varsToTypes.isEmpty()) {
+			key.append(" vars:");
+			for (Map.Entry<String, Type> entry : new TreeMap<String, Type>(varsToTypes).entrySet()) {
+				key.append(entry.getKey()).append('=');
+				appendType(key, entry.getValue());
+				key.append(',');
+			}
+		}
+		if (viewClasses != null) {
+			key.append(" views:");
+			for (ClassDoc view : viewClasses) {
+				key.append(view.qualifiedName()).append(',');
+			}
+		}
+		key.append(" inherit:").append(inheritFields);
+		key.append(" composite:").append(composite);
+		key.append(" multipart:").append(consumesMultipart);
+		return key.toString();
+	}
+
+	private static void appendType(StringBuilder key, Type type) {
+		if (type == null) {
+			key.append("null");
+			return;
+		}
+		TypeVariable var = type.asTypeVariable();
+		ParameterizedType pt = type.asParameterizedType();
+		if (var != null) {
+			// type variables of the same name can have different owners and bounds
+			key.append(var.typeName()).append('@').append(var.owner());
+			for (Type bound : var.bounds()) {
+				key.append(" extends ").append(bound);
+			}
+		} else if (pt != null) {
+			key.append(pt.qualifiedTypeName()).append('<');
+			for (Type typeArg : pt.typeArguments()) {
+				appendType(key, typeArg);
+				key.append(',');
+			}
+			key.append('>');
+		} else if (type.asWildcardType() != null) {
+			key.append(type.toString());
+		} else {
+			key.append(type.qualifiedTypeName());
+		}
+		key.append(type.dimension());
+	}
+
+}
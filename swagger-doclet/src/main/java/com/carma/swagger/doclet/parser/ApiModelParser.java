@@ -1,7 +1,5 @@
 package com.carma.swagger.doclet.parser;
 
-import static com.google.common.collect.Collections2.filter;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -19,7 +17,6 @@ import com.carma.swagger.doclet.model.Property;
 import com.carma.swagger.doclet.translator.NameBasedTranslator;
 import com.carma.swagger.doclet.translator.Translator;
 import com.carma.swagger.doclet.translator.Translator.OptionalName;
-import com.google.common.base.Predicate;
 import com.sun.javadoc.ClassDoc;
 import com.sun.javadoc.FieldDoc;
 import com.sun.javadoc.MethodDoc;
@@ -38,6 +35,7 @@ public class ApiModelParser {
 	final Translator translator;
 	private final Type rootType;
 	private final Set<Model> models;
+	private final Map<String, Model> modelIds; // index of the ids of the models
 	private final ClassDoc[] viewClasses;
 	private final boolean inheritFields;
 
@@ -103,6 +101,7 @@ public class ApiModelParser {
 			}
 		}
 		this.models = new LinkedHashSet<Model>();
+		this.modelIds = new HashMap<String, Model>();
 		this.inheritFields = inheritFields;
 	}
 
@@ -137,59 +136,61 @@ public class ApiModelParser {
 	 * @return The set of model classes
 	 */
 	public Set<Model> parse() {
-		this.subTypeClasses.clear();
-		parseModel(this.rootType, false);
+		ParseMetrics metrics = this.options.getMetrics();
+		ParseMetrics.Timer timer = metrics.start("parseModels");
+		long start = System.nanoTime();
+		try {
+			// models are cached per run when parsed with the run's translator
+			ApiModelCache cache = this.translator == this.options.getTranslator() ? this.options.getModelCache() : null;
+			String cacheKey = null;
+			if (cache != null) {
+				cacheKey = ApiModelCache.key(this.rootType, this.varsToTypes, this.viewClasses, this.inheritFields, this.composite, this.consumesMultipart);
+				Set<Model> cachedModels = cache.get(cacheKey);
+				if (cachedModels != null) {
+					metrics.increment("modelCacheHits");
+					addModels(cachedModels);
+					return this.models;
+				}
+				metrics.increment("modelCacheMisses");
+			}
 
-		// process sub types
-		for (ClassDoc subType : this.subTypeClasses) {
-			ApiModelParser subTypeParser = new ApiModelParser(this.options, this.translator, subType, false);
-			Set<Model> subTypeModesl = subTypeParser.parse();
-			this.models.addAll(subTypeModesl);
-		}
+			this.subTypeClasses.clear();
+			parseModel(this.rootType, false);
 
-		return this.models;
+			// process sub types
+			for (ClassDoc subType : this.subTypeClasses) {
+				ApiModelParser subTypeParser = new ApiModelParser(this.options, this.translator, subType, false);
+				Set<Model> subTypeModesl = subTypeParser.parse();
+				addModels(subTypeModesl);
+			}
+
+			if (cache != null) {
+				cache.put(cacheKey, this.models);
+			}
+			return this.models;
+		} finally {
+			timer.stop();
+			// the time of a model includes that of the models it references that were not parsed yet
+			if (metrics.isEnabled()) {
+				metrics.recordItem(ParseMetrics.MODELS, this.rootType.toString(), System.nanoTime() - start);
+			}
+		}
 	}
 
 	private void parseModel(Type type, boolean nested) {
 
-		String qName = type.qualifiedTypeName();
-		boolean isPrimitive = ParserHelper.isPrimitive(type, this.options);
-		boolean isJavaxType = qName.startsWith("javax.");
-		boolean isBaseObject = qName.equals("java.lang.Object");
-		boolean isClass = qName.equals("java.lang.Class");
-		boolean isCollection = ParserHelper.isCollection(qName);
-		boolean isArray = ParserHelper.isArray(type);
-		boolean isMap = ParserHelper.isMap(qName);
-		boolean isWildcard = qName.equals("?");
-
-		ClassDoc classDoc = type.asClassDoc();
-
-		if (isPrimitive || isJavaxType || isClass || isWildcard || isBaseObject || isCollection || isMap || isArray || classDoc == null || classDoc.isEnum()
-				|| alreadyStoredType(type)) {
+		// only classes that are not primitives, containers, javax or enums are models
+		if (ParserHelper.kindOf(type, this.options) != TypeKind.MODEL || alreadyStoredType(type)) {
 			return;
 		}
 
-		// check if its got an exclude tag
-		// see if deprecated
-		if (this.options.isExcludeDeprecatedModelClasses() && ParserHelper.isDeprecated(classDoc, this.options)) {
-			return;
-		}
+		ClassDoc classDoc = type.asClassDoc();
 
-		// see if excluded via a tag
-		if (ParserHelper.hasTag(classDoc, this.options.getExcludeClassTags())) {
+		// see if deprecated, excluded via a tag or excluded via its FQN
+		if (this.options.getExclusionPolicy().isExcludedModel(classDoc, this.options)) {
 			return;
 		}
 
-		// see if excluded via its FQN
-		if (this.options.getExcludeModelPrefixes() != null && !this.options.getExcludeModelPrefixes().isEmpty()) {
-			for (String prefix : this.options.getExcludeModelPrefixes()) {
-				String className = classDoc.qualifiedName();
-				if (className.startsWith(prefix)) {
-					return;
-				}
-			}
-		}
-
 		// if parameterized then build map of the param vars
 		ParameterizedType pt = type.asParameterizedType();
 		if (pt != null) {
@@ -272,7 +273,8 @@ public class ApiModelParser {
 				}
 			}
 
-			this.models.add(new Model(modelId, elements, requiredFields, optionalFields, subTypes, discriminator));
+			addModel(new Model(modelId, elements, requiredFields, optionalFields, subTypes, discriminator));
+			this.options.getMetrics().increment("modelsParsed");
 			parseNestedModels(types.values());
 		}
 	}
@@ -630,13 +632,8 @@ public class ApiModelParser {
 			return true;
 		}
 
-		// ignore deprecated fields
-		if (this.options.isExcludeDeprecatedFields() && ParserHelper.isDeprecated(field, this.options)) {
-			return true;
-		}
-
-		// ignore fields we are to explicitly exclude
-		if (ParserHelper.hasTag(field, this.options.getExcludeFieldTags())) {
+		// ignore deprecated fields and fields we are to explicitly exclude
+		if (this.options.getExclusionPolicy().isExcludedField(field, this.options)) {
 			return true;
 		}
 
@@ -662,13 +659,8 @@ public class ApiModelParser {
 			return true;
 		}
 
-		// ignore deprecated methods
-		if (this.options.isExcludeDeprecatedFields() && ParserHelper.isDeprecated(method, this.options)) {
-			return true;
-		}
-
-		// ignore methods we are to explicitly exclude
-		if (ParserHelper.hasTag(method, this.options.getExcludeFieldTags())) {
+		// ignore deprecated methods and methods we are to explicitly exclude
+		if (this.options.getExclusionPolicy().isExcludedField(method, this.options)) {
 			return true;
 		}
 
@@ -778,9 +770,10 @@ public class ApiModelParser {
 			String itemsRef = null;
 			String itemsType = null;
 			String itemsFormat = null;
+			boolean primitiveItems = containerOf != null && ParserHelper.isPrimitive(containerOf, this.options);
 			if (containerOf != null) {
 				OptionalName oName = this.translator.typeName(containerOf);
-				if (ParserHelper.isPrimitive(containerOf, this.options)) {
+				if (primitiveItems) {
 					itemsType = oName.value();
 					itemsFormat = oName.getFormat();
 				} else {
@@ -790,7 +783,7 @@ public class ApiModelParser {
 
 			String containerTypeOf = containerOf == null ? null : this.translator.typeName(containerOf).value();
 			if (containerOf != null) {
-				if (ParserHelper.isPrimitive(containerOf, this.options)) {
+				if (primitiveItems) {
 					itemsType = containerTypeOf;
 				} else {
 					itemsRef = containerTypeOf;
@@ -872,7 +865,7 @@ public class ApiModelParser {
 				Type[] typeArgs = pt.typeArguments();
 				if (typeArgs != null && typeArgs.length > 0) {
 					// if its a generic wrapper type then return the wrapped type
-					if (this.options.getGenericWrapperTypes().contains(type.qualifiedTypeName())) {
+					if (this.options.getCompiledOptions().getGenericWrapperTypes().contains(type.qualifiedTypeName())) {
 						return typeArgs[0];
 					}
 					// TODO what about maps?
@@ -900,7 +893,7 @@ public class ApiModelParser {
 				Type[] typeArgs = pt.typeArguments();
 				if (typeArgs != null && typeArgs.length > 0) {
 					// if its a generic wrapper type then return the wrapped type
-					if (options.getGenericWrapperTypes().contains(type.qualifiedTypeName())) {
+					if (options.getCompiledOptions().getGenericWrapperTypes().contains(type.qualifiedTypeName())) {
 						return typeArgs[0];
 					}
 				}
@@ -909,7 +902,22 @@ public class ApiModelParser {
 		return type;
 	}
 
+	private void addModels(Collection<Model> modelsToAdd) {
+		for (Model model : modelsToAdd) {
+			addModel(model);
+		}
+	}
+
+	private void addModel(Model model) {
+		if (this.models.add(model) && !this.modelIds.containsKey(model.getId())) {
+			this.modelIds.put(model.getId(), model);
+		}
+	}
+
 	private boolean alreadyStoredType(Type type) {
+		if (this.models.isEmpty()) {
+			return false;
+		}
 
 		// if a collection then the type to check is the param type
 		Type containerOf = ParserHelper.getContainerType(type, this.varsToTypes, null);
@@ -917,14 +925,7 @@ public class ApiModelParser {
 			type = containerOf;
 		}
 
-		final Type typeToCheck = type;
-
-		return filter(this.models, new Predicate<Model>() {
-
-			public boolean apply(Model model) {
-				return model.getId().equals(ApiModelParser.this.translator.typeName(typeToCheck).value());
-			}
-		}).size() > 0;
+		return this.modelIds.containsKey(this.translator.typeName(type).value());
 	}
 
 }
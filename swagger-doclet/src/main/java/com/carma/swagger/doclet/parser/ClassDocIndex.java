@@ -0,0 +1,190 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.sun.javadoc.ClassDoc;
+
+/**
+ * The ClassDocIndex represents a read only collection of class docs indexed by their qualified name so
+ * that they can be looked up in constant time. Views that exclude classes or include extra classes share
+ * the index of the collection they were created from so they are cheap to create.
+ * @version $Id$
+ */
+public class ClassDocIndex extends AbstractCollection<ClassDoc> {
+
+	private static final ClassDocIndex EMPTY = new ClassDocIndex(Collections.<ClassDoc> emptyList());
+
+	private final Map<String, ClassDoc> classes;
+	private final Map<String, ClassDoc> extraClasses;
+	private final Set<String> excludedNames;
+
+	/**
+	 * This creates a ClassDocIndex of the given classes, if there are multiple classes with the same
+	 * qualified name then the first one is used
+	 * @param classes The classes to index
+	 */
+	public ClassDocIndex(Collection<ClassDoc> classes) {
+		this(index(classes), Collections.<String, ClassDoc> emptyMap(), Collections.<String> emptySet());
+	}
+
+	private ClassDocIndex(Map<String, ClassDoc> classes, Map<String, ClassDoc> extraClasses, Set<String> excludedNames) {
+		super();
+		this.classes = classes;
+		this.extraClasses = extraClasses;
+		this.excludedNames = excludedNames;
+	}
+
+	/**
+	 * This gets an index of the given classes, if they are already an index then that is returned
+	 * @param classes The classes, may be null
+	 * @return The index of the classes
+	 */
+	public static ClassDocIndex of(Collection<ClassDoc> classes) {
+		if (classes instanceof ClassDocIndex) {
+			return (ClassDocIndex) classes;
+		}
+		if (classes == null || classes.isEmpty()) {
+			return EMPTY;
+		}
+		return new ClassDocIndex(classes);
+	}
+
+	private static Map<String, ClassDoc> index(Collection<ClassDoc> classes) {
+		Map<String, ClassDoc> index = new LinkedHashMap<String, ClassDoc>();
+		if (classes != null) {
+			for (ClassDoc classDoc : classes) {
+				if (classDoc != null && !index.containsKey(classDoc.qualifiedName())) {
+					index.put(classDoc.qualifiedName(), classDoc);
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * This gets the class with the given qualified name
+	 * @param qualifiedName The FQN of the class
+	 * @return The class or null if it is not part of this collection
+	 */
+	public ClassDoc get(String qualifiedName) {
+		if (qualifiedName == null || this.excludedNames.contains(qualifiedName)) {
+			return null;
+		}
+		ClassDoc classDoc = this.classes.get(qualifiedName);
+		if (classDoc == null) {
+			classDoc = this.extraClasses.get(qualifiedName);
+		}
+		return classDoc;
+	}
+
+	/**
+	 * This gets a view of this collection without the given class
+	 * @param classDoc The class to exclude
+	 * @return A view of this collection that excludes the class
+	 */
+	public ClassDocIndex excluding(ClassDoc classDoc) {
+		if (classDoc == null || get(classDoc.qualifiedName()) == null) {
+			return this;
+		}
+		Set<String> excluded = new HashSet<String>(this.excludedNames);
+		excluded.add(classDoc.qualifiedName());
+		return new ClassDocIndex(this.classes, this.extraClasses, excluded);
+	}
+
+	/**
+	 * This gets a view of this collection that also includes the given classes, classes of this
+	 * collection take precedence over extra classes with the same qualified name
+	 * @param classes The classes to include
+	 * @return A view of this collection that includes the classes
+	 */
+	public ClassDocIndex including(Collection<ClassDoc> classes) {
+		if (classes == null || classes.isEmpty()) {
+			return this;
+		}
+		Map<String, ClassDoc> extra = new LinkedHashMap<String, ClassDoc>(this.extraClasses);
+		for (ClassDoc classDoc : classes) {
+			if (classDoc != null && !this.classes.containsKey(classDoc.qualifiedName()) && !extra.containsKey(classDoc.qualifiedName())) {
+				extra.put(classDoc.qualifiedName(), classDoc);
+			}
+		}
+		return new ClassDocIndex(this.classes, extra, this.excludedNames);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see java.util.AbstractCollection#contains(java.lang.Object)
+	 */
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof ClassDoc)) {
+			return false;
+		}
+		ClassDoc classDoc = get(((ClassDoc) o).qualifiedName());
+		return classDoc != null && classDoc.equals(o);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		int size = this.classes.size() + this.extraClasses.size();
+		for (String excludedName : this.excludedNames) {
+			if (this.classes.containsKey(excludedName) || this.extraClasses.containsKey(excludedName)) {
+				size--;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see java.util.AbstractCollection#iterator()
+	 */
+	@Override
+	public Iterator<ClassDoc> iterator() {
+		final Iterator<ClassDoc> classesIt = this.classes.values().iterator();
+		final Iterator<ClassDoc> extraClassesIt = this.extraClasses.values().iterator();
+		return new Iterator<ClassDoc>() {
+
+			private ClassDoc next = advance();
+
+			private ClassDoc advance() {
+				while (classesIt.hasNext() || extraClassesIt.hasNext()) {
+					ClassDoc classDoc = classesIt.hasNext() ? classesIt.next() : extraClassesIt.next();
+					if (!ClassDocIndex.this.excludedNames.contains(classDoc.qualifiedName())) {
+						return classDoc;
+					}
+				}
+				return null;
+			}
+
+			public boolean hasNext() {
+				return this.next != null;
+			}
+
+			public ClassDoc next() {
+				if (this.next == null) {
+					throw new NoSuchElementException();
+				}
+				ClassDoc res = this.next;
+				this.next = advance();
+				return res;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+}
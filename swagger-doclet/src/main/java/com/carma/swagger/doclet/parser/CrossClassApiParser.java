@@ -3,7 +3,6 @@ package com.carma.swagger.doclet.parser;
 import com.carma.swagger.doclet.DocletOptions;
 import com.carma.swagger.doclet.model.*;
 import com.carma.swagger.doclet.translator.Translator;
-import com.google.common.base.Function;
 import com.sun.javadoc.*;
 
 import java.util.*;
@@ -11,9 +10,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static com.carma.swagger.doclet.parser.ParserHelper.parsePath;
-import static com.google.common.base.Objects.equal;
 import static com.google.common.base.Objects.firstNonNull;
-import static com.google.common.collect.Maps.uniqueIndex;
 
 /**
  * The CrossClassApiParser represents an api class parser that supports ApiDeclaration being
@@ -26,17 +23,18 @@ public class CrossClassApiParser {
 
 	private final DocletOptions options;
 	private final ClassDoc classDoc;
-	private final Collection<ClassDoc> classes;
+	private final ClassDocIndex classes;
 	private final String rootPath;
 	private final String swaggerVersion;
 	private final String apiVersion;
 	private final String basePath;
 
 	private final Method parentMethod;
-	private final Map<Type, ClassDoc> subResourceClasses;
+	private final SubResourceIndex subResources;
 	private final Collection<ClassDoc> typeClasses;
 
 	private final Pattern classPathParamPattern = Pattern.compile("\\{(.*?)\\}");
+	private List<ApiParameter> rootPathParams;
 
 	/**
 	 * This creates a CrossClassApiParser for top level parsing
@@ -45,19 +43,19 @@ public class CrossClassApiParser {
 	 * @param classDoc           The class doc
 	 * @param classes            The doclet classes to document
 	 * @param typeClasses        Extra type classes that can be used as generic parameters
-	 * @param subResourceClasses Sub resource doclet classes
+	 * @param subResources       The index of the sub resource doclet classes
 	 * @param swaggerVersion     Swagger version
 	 * @param apiVersion         Overall API version
 	 * @param basePath           Overall base path
 	 */
-	public CrossClassApiParser(DocletOptions options, ClassDoc classDoc, Collection<ClassDoc> classes, Map<Type, ClassDoc> subResourceClasses,
+	public CrossClassApiParser(DocletOptions options, ClassDoc classDoc, Collection<ClassDoc> classes, SubResourceIndex subResources,
 	                           Collection<ClassDoc> typeClasses, String swaggerVersion, String apiVersion, String basePath) {
 		super();
 		this.options = options;
 		this.classDoc = classDoc;
-		this.classes = classes;
+		this.classes = ClassDocIndex.of(classes);
 		this.typeClasses = typeClasses;
-		this.subResourceClasses = subResourceClasses;
+		this.subResources = firstNonNull(subResources, SubResourceIndex.empty());
 		this.rootPath = firstNonNull(parsePath(classDoc, options), "");
 		this.swaggerVersion = swaggerVersion;
 		this.apiVersion = apiVersion;
@@ -72,21 +70,21 @@ public class CrossClassApiParser {
 	 * @param classDoc           The class doc
 	 * @param classes            The doclet classes to document
 	 * @param typeClasses        Extra type classes that can be used as generic parameters
-	 * @param subResourceClasses Sub resource doclet classes
+	 * @param subResources       The index of the sub resource doclet classes
 	 * @param swaggerVersion     Swagger version
 	 * @param apiVersion         Overall API version
 	 * @param basePath           Overall base path
 	 * @param parentMethod       The parent method that "owns" this sub resource
 	 * @param parentResourcePath The parent resource path
 	 */
-	public CrossClassApiParser(DocletOptions options, ClassDoc classDoc, Collection<ClassDoc> classes, Map<Type, ClassDoc> subResourceClasses,
+	public CrossClassApiParser(DocletOptions options, ClassDoc classDoc, Collection<ClassDoc> classes, SubResourceIndex subResources,
 	                           Collection<ClassDoc> typeClasses, String swaggerVersion, String apiVersion, String basePath, Method parentMethod, String parentResourcePath) {
 		super();
 		this.options = options;
 		this.classDoc = classDoc;
-		this.classes = classes;
+		this.classes = ClassDocIndex.of(classes);
 		this.typeClasses = typeClasses;
-		this.subResourceClasses = subResourceClasses;
+		this.subResources = firstNonNull(subResources, SubResourceIndex.empty());
 		this.rootPath = parentResourcePath + firstNonNull(parsePath(classDoc, options), "");
 		this.swaggerVersion = swaggerVersion;
 		this.apiVersion = apiVersion;
@@ -104,11 +102,57 @@ public class CrossClassApiParser {
 	}
 
 	/**
-	 * This parses the api declarations from the resource classes of the api
+	 * This parses the api declarations from the resource classes of the api. The declarations already in the map
+	 * are updated in place, their priority, description, apis and models are set to the ones built up from them
+	 * and the parsed methods, and declarations of new resource paths are added to the map.
 	 *
 	 * @param declarations The map of resource name to declaration which will be added to
 	 */
 	public void parse(Map<String, ApiDeclaration> declarations) {
+		Map<String, ApiDeclarationBuilder> builders = new LinkedHashMap<String, ApiDeclarationBuilder>();
+		for (Map.Entry<String, ApiDeclaration> entry : declarations.entrySet()) {
+			builders.put(entry.getKey(), new ApiDeclarationBuilder(entry.getValue()));
+		}
+		addResourceMethods(parseResourceMethods(), builders);
+		for (Map.Entry<String, ApiDeclarationBuilder> entry : builders.entrySet()) {
+			ApiDeclaration built = entry.getValue().build();
+			ApiDeclaration declaration = declarations.get(entry.getKey());
+			if (declaration == null) {
+				declarations.put(entry.getKey(), built);
+			} else {
+				declaration.setPriority(built.getPriority());
+				declaration.setDescription(built.getDescription());
+				declaration.setApis(built.getApis());
+				declaration.setModels(built.getModels());
+			}
+		}
+	}
+
+	/**
+	 * This parses the resource methods of the api class and any sub resources it references without
+	 * touching any api declarations, the results can then be added to the declarations via
+	 * {@link #addResourceMethods(List, Map)}. This split allows the parsing to be done concurrently
+	 * for different classes while the declarations are still built up in class order.
+	 *
+	 * @return The parsed resource methods in the order they should be added to the declarations
+	 */
+	List<ResourceMethod> parseResourceMethods() {
+		ParseMetrics metrics = this.options.getMetrics();
+		ParseMetrics.Timer timer = metrics.start("parseResourceClasses");
+		long start = System.nanoTime();
+		try {
+			List<ResourceMethod> resourceMethods = new ArrayList<ResourceMethod>();
+			parseResourceMethods(resourceMethods);
+			return resourceMethods;
+		} finally {
+			timer.stop();
+			if (metrics.isEnabled()) {
+				metrics.recordItem(ParseMetrics.RESOURCE_CLASSES, this.classDoc.qualifiedName(), System.nanoTime() - start);
+			}
+		}
+	}
+
+	private void parseResourceMethods(List<ResourceMethod> resourceMethods) {
 
 		ClassDoc currentClassDoc = this.classDoc;
 		while (currentClassDoc != null) {
@@ -128,16 +172,18 @@ public class CrossClassApiParser {
 			String classResourceDescription = ParserHelper.getTagValue(currentClassDoc, this.options.getResourceDescriptionTags(), this.options);
 
 			// check if its a sub resource
-			boolean isSubResourceClass = this.subResourceClasses != null && this.subResourceClasses.values().contains(currentClassDoc);
+			boolean isSubResourceClass = this.subResources.isSubResourceClass(currentClassDoc);
 
 			// dont process a subresource outside the context of its parent method
 			if (isSubResourceClass && this.parentMethod == null) {
 				// skip
 			} else {
+				// the class level path params are the same for all the methods of the class so are only read once
+				List<ApiParameter> classPathParams = null;
 				for (MethodDoc method : currentClassDoc.methods()) {
 					ApiMethodParser methodParser = this.parentMethod == null ? new ApiMethodParser(this.options, this.rootPath, method, this.classes,
-						this.typeClasses, defaultErrorTypeClass) : new ApiMethodParser(this.options, this.parentMethod, method, this.classes,
-						this.typeClasses, defaultErrorTypeClass);
+							this.typeClasses, defaultErrorTypeClass) : new ApiMethodParser(this.options, this.parentMethod, method, this.classes,
+							this.typeClasses, defaultErrorTypeClass);
 
 					Method parsedMethod = methodParser.parse();
 					if (parsedMethod == null) {
@@ -149,238 +195,309 @@ public class CrossClassApiParser {
 					String resourcePath = buildResourcePath(classResourcePath, method);
 
 					if (parsedMethod.isSubResource()) {
-						ClassDoc subResourceClassDoc = ParserHelper.lookUpClassDoc(method.returnType(), this.classes);
+						ClassDoc subResourceClassDoc = this.subResources.getReturnClass(method, this.classes);
 						if (subResourceClassDoc != null) {
 							// delete class from the dictionary to handle recursive sub-resources
-							Collection<ClassDoc> shrunkClasses = new ArrayList<ClassDoc>(this.classes);
-							shrunkClasses.remove(currentClassDoc);
+							ClassDocIndex shrunkClasses = this.classes.excluding(currentClassDoc);
 							// recursively parse the sub-resource class
 							CrossClassApiParser subResourceParser = new CrossClassApiParser(this.options, subResourceClassDoc, shrunkClasses,
-								this.subResourceClasses, this.typeClasses, this.swaggerVersion, this.apiVersion, this.basePath, parsedMethod, resourcePath);
-							subResourceParser.parse(declarations);
+									this.subResources, this.typeClasses, this.swaggerVersion, this.apiVersion, this.basePath, parsedMethod, resourcePath);
+							subResourceParser.parseResourceMethods(resourceMethods);
 						}
 						continue;
 					}
 
-					ApiDeclaration declaration = declarations.get(resourcePath);
-					if (declaration == null) {
-						declaration = new ApiDeclaration(this.swaggerVersion, this.apiVersion, this.basePath, resourcePath, null, null, Integer.MAX_VALUE, null);
-						declaration.setApis(new ArrayList<Api>());
-						declaration.setModels(new HashMap<String, Model>());
-						declarations.put(resourcePath, declaration);
+					ResourceMethod resourceMethod = new ResourceMethod(resourcePath, parsedMethod);
+
+					// look for a priority tag for the resource listing
+					resourceMethod.priority = getApiPriority(classResourcePriority, method);
+
+					// look for a method level description tag for the resource listing
+					resourceMethod.description = getApiDeclarationDescription(classResourceDescription, method);
+
+					// read api level description
+					resourceMethod.apiDescription = ParserHelper.getInheritableTagValue(method, this.options.getApiDescriptionTags(), this.options);
+
+					// read the class level path params which are added to all operations of the declaration
+					if (classPathParams == null) {
+						classPathParams = Collections.unmodifiableList(getClassPathParams(currentClassDoc));
 					}
+					resourceMethod.classPathParams = classPathParams;
+					resourceMethod.rootPathParams = getRootPathParams();
 
-					// look for a priority tag for the resource listing and set on the resource if the resource hasn't had one set
-					setApiPriority(classResourcePriority, method, currentClassDoc, declaration);
-
-					// look for a method level description tag for the resource listing and set on the resource if the resource hasn't had one set
-					setApiDeclarationDescription(classResourceDescription, method, declaration);
-
-// find api this method should be added to
-addMethod(method, parsedMethod, declaration);
-
-// ------------ START CODE UPDATE/HACK -------------
-
-// Check class constructors for @PathParam presence
-for (ConstructorDoc c : currentClassDoc.constructors()) {
-
-// get raw parameter names from 'constructor' signature
-// TODO: THis is a hack as I wasn't sure how to get this mapping for constructors
-Map<String, String> paramNames = new HashMap<String, String>();
-
-for (String paramName : ParserHelper.getParamNames(c))
-	paramNames.put(paramName, paramName);
-// END HACK
-
-for (Parameter p : c.parameters()) {
-	String paramCategory = ParserHelper.paramTypeOf(false, p, this.options);
-
-	if (paramCategory.equals("path")) { // TODO: Some way to not use string here?
-		Type paramType = ParserHelper.getParamType(this.options, p.type());
-
-		String renderedParamName = ParserHelper.paramNameOf(p, paramNames, this.options
-			.getParameterNameAnnotations(), this.options);
-
-		// Always required as a Class-level path param
-		boolean required = true;
-
-		// Assuming constructor @PathParams will never consume multipart
-		boolean consumesMultipart = false;
-
-		Translator.OptionalName paramTypeFormat = this.options.getTranslator()
-			.parameterTypeName
-				(consumesMultipart, p, paramType);
-		String typeName = paramTypeFormat.value();
-		String format = paramTypeFormat.getFormat();
-
-		// get description
-		String description = this.options.replaceVars(ParserHelper.commentForParameter(c,
-			p));
-
-		Boolean allowMultiple = null;
-		List<String> allowableValues = null;
-		String itemsRef = null;
-		String itemsType = null;
-		String itemsFormat = null;
-		Boolean uniqueItems = null;
-		String minimum = null;
-		String maximum = null;
-		String defaultVal = null;
-
-		ApiParameter param = new ApiParameter(paramCategory,
-			renderedParamName,
-			required,
-			allowMultiple,
-			typeName,
-			format,
-			description,
-			itemsRef,
-			itemsType,
-			itemsFormat,
-			uniqueItems,
-			allowableValues,
-			minimum,
-			maximum,
-			defaultVal);
-
-		// Create a param
-
-		for (Api api : declaration.getApis()) {
-			for (Operation op : api.getOperations()) {
-				if (!op.getParameters().contains(param)) // This seems to work ok even if
-				// @PathParam exists on methods directly
-					op.getParameters().add(param);
+					// add models
+					Set<Model> methodModels = methodParser.models();
+					resourceMethod.models = addApiModels(classModels, methodModels, method);
+
+					resourceMethods.add(resourceMethod);
+				}
+			}
+			// the superclass is walked whether or not the class was skipped as a sub resource
+			currentClassDoc = currentClassDoc.superclass();
+			// ignore parent object class
+			if (!ParserHelper.hasAncestor(currentClassDoc)) {
+				break;
 			}
 		}
 	}
-}
 
-// Now check class fields for @PathParam presence
-for (FieldDoc f : currentClassDoc.fields()) {
-	for (AnnotationDesc annot : f.annotations()) {
-		for(AnnotationDesc.ElementValuePair pair : annot.elementValues()) {
-			AnnotationValue value = pair.value();
-			AnnotationTypeElementDoc doc = pair.element();
-			if (doc.toString().startsWith("javax.ws.rs.PathParam")) {
-				String paramCategory = "path";
-
-				String renderedParamName = value.value().toString();
-
-				boolean required = true;
-				Boolean allowMultiple = null;
-				boolean consumesMultipart = false;
-
-				Type fieldType = f.type();
-
-				// Ok to pass null b/c consumesMultipart is false
-				Translator.OptionalName paramTypeFormat = this.options.getTranslator()
-					.parameterTypeName(consumesMultipart, null, fieldType);
-				String typeName = paramTypeFormat.value();
-				String format = paramTypeFormat.getFormat();
-
-				// get description
-				String description = this.options.replaceVars(f.commentText());
-
-				List<String> allowableValues = null;
-				String itemsRef = null;
-				String itemsType = null;
-				String itemsFormat = null;
-				Boolean uniqueItems = null;
-				String minimum = null;
-				String maximum = null;
-				String defaultVal = null;
-
-				ApiParameter param = new ApiParameter(paramCategory,
-					renderedParamName,
-					required,
-					allowMultiple,
-					typeName,
-					format,
-					description,
-					itemsRef,
-					itemsType,
-					itemsFormat,
-					uniqueItems,
-					allowableValues,
-					minimum,
-					maximum,
-					defaultVal);
-
-				// Create a param
+	/**
+	 * This adds the given parsed resource methods to the api declarations being built
+	 *
+	 * @param resourceMethods The resource methods as returned by {@link #parseResourceMethods()}
+	 * @param declarations The map of resource name to declaration builder which will be added to
+	 */
+	void addResourceMethods(List<ResourceMethod> resourceMethods, Map<String, ApiDeclarationBuilder> declarations) {
+		// the operations that already have the class level path params of the previous method, adding the same
+		// params again doesn't change an operation so consecutive methods with the same params only add them to new operations
+		Set<Operation> withPathParams = Collections.newSetFromMap(new IdentityHashMap<Operation, Boolean>());
+		ApiDeclarationBuilder previousDeclaration = null;
+		List<ApiParameter> previousClassPathParams = null;
+		List<ApiParameter> previousRootPathParams = null;
+		for (ResourceMethod resourceMethod : resourceMethods) {
+
+			ApiDeclarationBuilder declaration = declarations.get(resourceMethod.resourcePath);
+			if (declaration == null) {
+				declaration = new ApiDeclarationBuilder(this.swaggerVersion, this.apiVersion, this.basePath, resourceMethod.resourcePath);
+				declarations.put(resourceMethod.resourcePath, declaration);
+			}
+
+			// set the priority on the resource if the resource hasn't had one set
+			if (resourceMethod.priority != Integer.MAX_VALUE && declaration.getPriority() == Integer.MAX_VALUE) {
+				declaration.setPriority(resourceMethod.priority);
+			}
+
+			// set the description on the resource if the resource hasn't had one set
+			if (resourceMethod.description != null && declaration.getDescription() == null) {
+				declaration.setDescription(this.options.replaceVars(resourceMethod.description));
+			}
+
+			// find api this method should be added to
+			addMethod(resourceMethod.apiDescription, resourceMethod.method, declaration);
 
+			// add the class level path params to all operations of the declaration
+			if (declaration != previousDeclaration || resourceMethod.classPathParams != previousClassPathParams
+					|| resourceMethod.rootPathParams != previousRootPathParams) {
+				withPathParams.clear();
+				previousDeclaration = declaration;
+				previousClassPathParams = resourceMethod.classPathParams;
+				previousRootPathParams = resourceMethod.rootPathParams;
+			}
+			if (!resourceMethod.classPathParams.isEmpty() || !resourceMethod.rootPathParams.isEmpty()) {
 				for (Api api : declaration.getApis()) {
 					for (Operation op : api.getOperations()) {
-						if (!op.getParameters().contains(param))
-							op.getParameters().add(param);
+						if (withPathParams.add(op)) {
+							addPathParams(op, resourceMethod.classPathParams, resourceMethod.rootPathParams);
+						}
 					}
 				}
 			}
+
+			declaration.putModels(resourceMethod.models);
 		}
 	}
-}
 
-// Finally, add any Class-based @PathParams that were not on constructors or fields
-// TODO: Handle all the customization this library supports with over-writing/renaming/etc
-if (this.rootPath != null && !this.rootPath.isEmpty() && this.rootPath.contains("{")) {
-	List<String> parentPathParams = new ArrayList<>();
-
-	// Extract all the @PathParam from the rootPath using Regex
-	Matcher m = classPathParamPattern.matcher(this.rootPath);
-	while (m.find())
-		parentPathParams.add(m.group(1));
-
-	for (String pathParam : parentPathParams) {
-		ApiParameter parameter = new ApiParameter(
-			"path",
-			pathParam,
-			true,
-			null,
-			"string", // TODO: Use possible regex expressions to determine number vs string?,
-			null,
-			null,
-			null,
-			null,
-			null,
-			null,
-			null, // TODO: Use Regex to generate a list of allowable values?
-			null,
-			null,
-			null
-		);
-
-		for (Api api : declaration.getApis()) {
-			for (Operation op : api.getOperations()) {
-				boolean addParam = true;
-
-				for (ApiParameter p : op.getParameters()) {
-					if (p.getName().equals(parameter.getName()))
-						addParam = false;
+	/**
+	 * This adds class level path params to an operation
+	 * @param op The operation
+	 * @param classPathParams The path params from constructors and fields, these are skipped if an equal param is already there
+	 * @param rootPathParams The path params only declared in the root path, these are skipped if a param of the same name is already there
+	 */
+	private static void addPathParams(Operation op, List<ApiParameter> classPathParams, List<ApiParameter> rootPathParams) {
+		List<ApiParameter> params = op.getParameters();
+		if (!classPathParams.isEmpty()) {
+			Set<ApiParameter> existing = new HashSet<ApiParameter>(params);
+			for (ApiParameter param : classPathParams) {
+				if (existing.add(param)) {
+					params.add(param);
+				}
+			}
+		}
+		if (!rootPathParams.isEmpty()) {
+			Set<String> names = new HashSet<String>(params.size() * 2);
+			for (ApiParameter param : params) {
+				names.add(param.getName());
+			}
+			for (ApiParameter param : rootPathParams) {
+				if (names.add(param.getName())) {
+					params.add(param);
 				}
-
-				if (addParam)
-					op.getParameters().add(parameter);
 			}
 		}
 	}
-}
 
-// ------------ END CODE UPDATE/HACK -------------
+	// ------------ START CODE UPDATE/HACK -------------
+
+	private List<ApiParameter> getClassPathParams(ClassDoc currentClassDoc) {
+		List<ApiParameter> params = new ArrayList<ApiParameter>();
+
+		// Check class constructors for @PathParam presence
+		for (ConstructorDoc c : currentClassDoc.constructors()) {
+
+			// get raw parameter names from 'constructor' signature
+			// TODO: THis is a hack as I wasn't sure how to get this mapping for constructors
+			Map<String, String> paramNames = new HashMap<String, String>();
+
+			for (String paramName : ParserHelper.getParamNames(c))
+				paramNames.put(paramName, paramName);
+			// END HACK
+
+			for (Parameter p : c.parameters()) {
+				String paramCategory = ParserHelper.paramTypeOf(false, p, this.options);
+
+				if (paramCategory.equals("path")) { // TODO: Some way to not use string here?
+					Type paramType = ParserHelper.getParamType(this.options, p.type());
+
+					String renderedParamName = ParserHelper.paramNameOf(p, paramNames, this.options
+						.getParameterNameAnnotations(), this.options);
+
+					// Always required as a Class-level path param
+					boolean required = true;
+
+					// Assuming constructor @PathParams will never consume multipart
+					boolean consumesMultipart = false;
+
+					Translator.OptionalName paramTypeFormat = this.options.getTranslator()
+						.parameterTypeName
+							(consumesMultipart, p, paramType);
+					String typeName = paramTypeFormat.value();
+					String format = paramTypeFormat.getFormat();
+
+					// get description
+					String description = this.options.replaceVars(ParserHelper.commentForParameter(c,
+						p));
+
+					Boolean allowMultiple = null;
+					List<String> allowableValues = null;
+					String itemsRef = null;
+					String itemsType = null;
+					String itemsFormat = null;
+					Boolean uniqueItems = null;
+					String minimum = null;
+					String maximum = null;
+					String defaultVal = null;
+
+					// Create a param
+					params.add(new ApiParameter(paramCategory,
+						renderedParamName,
+						required,
+						allowMultiple,
+						typeName,
+						format,
+						description,
+						itemsRef,
+						itemsType,
+						itemsFormat,
+						uniqueItems,
+						allowableValues,
+						minimum,
+						maximum,
+						defaultVal));
+				}
+			}
+		}
 
-// add models
-Set<Model> methodModels = methodParser.models();
-Map<String, Model> idToModels = addApiModels(classModels, methodModels, method);
-declaration.getModels().putAll(idToModels);
+		// Now check class fields for @PathParam presence
+		for (FieldDoc f : currentClassDoc.fields()) {
+			for (AnnotationDesc annot : f.annotations()) {
+				for (AnnotationDesc.ElementValuePair pair : annot.elementValues()) {
+					AnnotationValue value = pair.value();
+					AnnotationTypeElementDoc doc = pair.element();
+					if (doc.toString().startsWith("javax.ws.rs.PathParam")) {
+						String paramCategory = "path";
+
+						String renderedParamName = value.value().toString();
+
+						boolean required = true;
+						Boolean allowMultiple = null;
+						boolean consumesMultipart = false;
+
+						Type fieldType = f.type();
+
+						// Ok to pass null b/c consumesMultipart is false
+						Translator.OptionalName paramTypeFormat = this.options.getTranslator()
+							.parameterTypeName(consumesMultipart, null, fieldType);
+						String typeName = paramTypeFormat.value();
+						String format = paramTypeFormat.getFormat();
+
+						// get description
+						String description = this.options.replaceVars(f.commentText());
+
+						List<String> allowableValues = null;
+						String itemsRef = null;
+						String itemsType = null;
+						String itemsFormat = null;
+						Boolean uniqueItems = null;
+						String minimum = null;
+						String maximum = null;
+						String defaultVal = null;
+
+						// Create a param
+						params.add(new ApiParameter(paramCategory,
+							renderedParamName,
+							required,
+							allowMultiple,
+							typeName,
+							format,
+							description,
+							itemsRef,
+							itemsType,
+							itemsFormat,
+							uniqueItems,
+							allowableValues,
+							minimum,
+							maximum,
+							defaultVal));
 					}
 				}
-				currentClassDoc = currentClassDoc.superclass();
-				// ignore parent object class
-				if (!ParserHelper.hasAncestor(currentClassDoc)) {
-					break;
-				}
 			}
 		}
+		return params;
+	}
+
+	private List<ApiParameter> getRootPathParams() {
+		// the root path is the same for all the methods parsed by this parser
+		if (this.rootPathParams != null) {
+			return this.rootPathParams;
+		}
+		List<ApiParameter> params = new ArrayList<ApiParameter>();
+
+		// Finally, add any Class-based @PathParams that were not on constructors or fields
+		// TODO: Handle all the customization this library supports with over-writing/renaming/etc
+		if (this.rootPath != null && !this.rootPath.isEmpty() && this.rootPath.contains("{")) {
+			List<String> parentPathParams = new ArrayList<String>();
+
+			// Extract all the @PathParam from the rootPath using Regex
+			Matcher m = classPathParamPattern.matcher(this.rootPath);
+			while (m.find())
+				parentPathParams.add(m.group(1));
+
+			for (String pathParam : parentPathParams) {
+				params.add(new ApiParameter(
+					"path",
+					pathParam,
+					true,
+					null,
+					"string", // TODO: Use possible regex expressions to determine number vs string?,
+					null,
+					null,
+					null,
+					null,
+					null,
+					null,
+					null, // TODO: Use Regex to generate a list of allowable values?
+					null,
+					null,
+					null
+				));
+			}
+		}
+		this.rootPathParams = Collections.unmodifiableList(params);
+		return this.rootPathParams;
 	}
 
+	// ------------ END CODE UPDATE/HACK -------------
+
 	private String buildResourcePath(String classResourcePath, MethodDoc method) {
 		String resourcePath = getRootPath();
 		if (classResourcePath != null) {
@@ -388,10 +505,11 @@ declaration.getModels().putAll(idToModels);
 		}
 
 		if (this.options.getResourceTags() != null) {
+			TagIndex tags = TagIndex.of(method);
 			for (String resourceTag : this.options.getResourceTags()) {
-				Tag[] tags = method.tags(resourceTag);
-				if (tags != null && tags.length > 0) {
-					resourcePath = tags[0].text();
+				String tagText = tags.getFirstText(resourceTag);
+				if (tagText != null) {
+					resourcePath = tagText;
 					resourcePath = resourcePath.toLowerCase();
 					resourcePath = resourcePath.trim().replace(" ", "_");
 					break;
@@ -414,21 +532,16 @@ declaration.getModels().putAll(idToModels);
 
 	private Map<String, Model> addApiModels(Set<Model> classModels, Set<Model> methodModels, MethodDoc method) {
 		methodModels.addAll(classModels);
-		Map<String, Model> idToModels = Collections.emptyMap();
-		try {
-			idToModels = uniqueIndex(methodModels, new Function<Model, String>() {
-
-				public String apply(Model model) {
-					return model.getId();
-				}
-			});
-		} catch (Exception ex) {
-			throw new IllegalStateException("dupe models, method : " + method + ", models: " + methodModels, ex);
+		Map<String, Model> idToModels = new HashMap<String, Model>(methodModels.size() * 2);
+		for (Model model : methodModels) {
+			if (idToModels.put(model.getId(), model) != null) {
+				throw new IllegalStateException("dupe models, method : " + method + ", models: " + methodModels);
+			}
 		}
 		return idToModels;
 	}
 
-	private void setApiPriority(String classResourcePriority, MethodDoc method, ClassDoc currentClassDoc, ApiDeclaration declaration) {
+	private int getApiPriority(String classResourcePriority, MethodDoc method) {
 		int priorityVal = Integer.MAX_VALUE;
 		String priority = ParserHelper.getInheritableTagValue(method, this.options.getResourcePriorityTags(), this.options);
 		if (priority != null) {
@@ -437,54 +550,50 @@ declaration.getModels().putAll(idToModels);
 			// set from the class
 			priorityVal = Integer.parseInt(classResourcePriority);
 		}
-
-		if (priorityVal != Integer.MAX_VALUE && declaration.getPriority() == Integer.MAX_VALUE) {
-			declaration.setPriority(priorityVal);
-		}
+		return priorityVal;
 	}
 
-	private void setApiDeclarationDescription(String classResourceDescription, MethodDoc method, ApiDeclaration declaration) {
+	private String getApiDeclarationDescription(String classResourceDescription, MethodDoc method) {
 		String description = ParserHelper.getInheritableTagValue(method, this.options.getResourceDescriptionTags(), this.options);
 		if (description == null) {
 			description = classResourceDescription;
 		}
-		if (description != null && declaration.getDescription() == null) {
-			declaration.setDescription(this.options.replaceVars(description));
-		}
+		return description;
 	}
 
-	private void addMethod(MethodDoc method, Method parsedMethod, ApiDeclaration declaration) {
-		Api methodApi = null;
-		for (Api api : declaration.getApis()) {
-			if (parsedMethod.getPath().equals(api.getPath())) {
-				methodApi = api;
-				break;
-			}
-		}
-
-		// read api level description
-		String apiDescription = ParserHelper.getInheritableTagValue(method, this.options.getApiDescriptionTags(), this.options);
-
+	private void addMethod(String apiDescription, Method parsedMethod, ApiDeclarationBuilder declaration) {
+		Api methodApi = declaration.getApi(parsedMethod.getPath());
 		if (methodApi == null) {
-			methodApi = new Api(parsedMethod.getPath(), this.options.replaceVars(apiDescription), new ArrayList<Operation>());
-			declaration.getApis().add(methodApi);
+			methodApi = declaration.getOrAddApi(parsedMethod.getPath(), this.options.replaceVars(apiDescription));
 		} else if (methodApi.getDescription() == null && apiDescription != null) {
 			methodApi.setDescription(apiDescription);
 		}
 
-		boolean alreadyAdded = false;
-		// skip already added declarations
-		for (Operation operation : methodApi.getOperations()) {
-			boolean opParamsEmptyOrNull = operation.getParameters() == null || operation.getParameters().isEmpty();
-			boolean parsedParamsEmptyOrNull = parsedMethod.getParameters() == null || parsedMethod.getParameters().isEmpty();
-			if (operation.getMethod().equals(parsedMethod.getMethod())
-				&& ((parsedParamsEmptyOrNull && opParamsEmptyOrNull) || (!opParamsEmptyOrNull && !parsedParamsEmptyOrNull && operation.getParameters()
-				.size() == parsedMethod.getParameters().size())) && equal(operation.getNickname(), parsedMethod.getMethodName())) {
-				alreadyAdded = true;
-			}
+		// skip already added operations
+		declaration.addOperation(methodApi, parsedMethod);
+	}
+
+	static class ResourceMethod {
+
+		final String resourcePath;
+		final Method method;
+		int priority;
+		String description;
+		String apiDescription;
+		List<ApiParameter> classPathParams;
+		List<ApiParameter> rootPathParams;
+		Map<String, Model> models;
+
+		ResourceMethod(String resourcePath, Method method) {
+			super();
+			this.resourcePath = resourcePath;
+			this.method = method;
 		}
-		if (!alreadyAdded) {
-			methodApi.getOperations().add(new Operation(parsedMethod));
+
+		@SuppressWarnings("unused")
+		private ResourceMethod() {
+			// for reading from the incremental cache
+			this(null, null);
 		}
 	}
 
@@ -0,0 +1,213 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.carma.swagger.doclet.CompiledOptions;
+import com.carma.swagger.doclet.DocletOptions;
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.Parameter;
+import com.sun.javadoc.ProgramElementDoc;
+
+/**
+ * The ExclusionPolicy represents the rules of the doclet options for excluding resource classes, model classes,
+ * model fields and methods and parameters. The rules are compiled from the {@link CompiledOptions} snapshot of the
+ * options, the FQN prefixes into a prefix trie and the tags and annotations into hash sets, and the verdict for each
+ * class, field and method is memoized. The verdicts are cleared at the start of each run of the parser.
+ * @version $Id$
+ */
+public class ExclusionPolicy {
+
+	private static final String DEPRECATED_ANNOTATION = "java.lang.Deprecated";
+
+	private volatile Rules rules;
+	private final ConcurrentMap<ClassDoc, Boolean> resourceVerdicts = new ConcurrentHashMap<ClassDoc, Boolean>();
+	private final ConcurrentMap<ClassDoc, Boolean> modelVerdicts = new ConcurrentHashMap<ClassDoc, Boolean>();
+	private final ConcurrentMap<ProgramElementDoc, Boolean> fieldVerdicts = new ConcurrentHashMap<ProgramElementDoc, Boolean>();
+
+	/**
+	 * This gets whether the given resource class is to be excluded because it is deprecated, has one of the
+	 * exclude class tags or its FQN starts with one of the exclude resource prefixes
+	 * @param classDoc The resource class
+	 * @param options The doclet options
+	 * @return True if the class should be excluded
+	 */
+	public boolean isExcludedResource(ClassDoc classDoc, DocletOptions options) {
+		Boolean excluded = this.resourceVerdicts.get(classDoc);
+		if (excluded == null) {
+			Rules rules = rules(options);
+			excluded = Boolean.valueOf((options.isExcludeDeprecatedResourceClasses() && ParserHelper.isDeprecated(classDoc, options))
+					|| TagIndex.of(classDoc).hasAny(rules.classTags) || rules.resourcePrefixes.matches(classDoc.qualifiedName()));
+			this.resourceVerdicts.put(classDoc, excluded);
+		}
+		return excluded.booleanValue();
+	}
+
+	/**
+	 * This gets whether the given model class is to be excluded because it is deprecated, has one of the
+	 * exclude class tags or its FQN starts with one of the exclude model prefixes
+	 * @param classDoc The model class
+	 * @param options The doclet options
+	 * @return True if the class should be excluded
+	 */
+	public boolean isExcludedModel(ClassDoc classDoc, DocletOptions options) {
+		Boolean excluded = this.modelVerdicts.get(classDoc);
+		if (excluded == null) {
+			Rules rules = rules(options);
+			excluded = Boolean.valueOf((options.isExcludeDeprecatedModelClasses() && ParserHelper.isDeprecated(classDoc, options))
+					|| TagIndex.of(classDoc).hasAny(rules.classTags) || rules.modelPrefixes.matches(classDoc.qualifiedName()));
+			this.modelVerdicts.put(classDoc, excluded);
+		}
+		return excluded.booleanValue();
+	}
+
+	/**
+	 * This gets whether the given field or getter/setter of a model is to be excluded because it is deprecated
+	 * or has one of the exclude field tags
+	 * @param element The field or method
+	 * @param options The doclet options
+	 * @return True if the field or method should be excluded
+	 */
+	public boolean isExcludedField(ProgramElementDoc element, DocletOptions options) {
+		Boolean excluded = this.fieldVerdicts.get(element);
+		if (excluded == null) {
+			Rules rules = rules(options);
+			excluded = Boolean.valueOf((options.isExcludeDeprecatedFields() && ParserHelper.isDeprecated(element, options))
+					|| TagIndex.of(element).hasAny(rules.fieldTags));
+			this.fieldVerdicts.put(element, excluded);
+		}
+		return excluded.booleanValue();
+	}
+
+	/**
+	 * This gets whether the given method parameter is to be excluded because it has one of the exclude param
+	 * annotations or is deprecated. The verdict is not memoized as javadoc creates new parameter objects each
+	 * time they are read.
+	 * @param parameter The parameter
+	 * @param options The doclet options
+	 * @return True if the parameter should be excluded
+	 */
+	public boolean isExcludedParam(Parameter parameter, DocletOptions options) {
+		Rules rules = rules(options);
+		boolean excludeDeprecated = options.isExcludeDeprecatedParams();
+		for (AnnotationDesc annotation : parameter.annotations()) {
+			String qualifiedTypeName;
+			try {
+				qualifiedTypeName = annotation.annotationType().qualifiedTypeName();
+			} catch (RuntimeException e) {
+				// skip annotations with invalid javadoc as the annotation index does
+				continue;
+			}
+			if (rules.paramAnnotations.contains(qualifiedTypeName) || (excludeDeprecated && DEPRECATED_ANNOTATION.equals(qualifiedTypeName))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Rules rules(DocletOptions options) {
+		CompiledOptions compiled = options.getCompiledOptions();
+		Rules rules = this.rules;
+		if (rules == null || rules.compiled != compiled) {
+			rules = new Rules(compiled);
+			this.rules = rules;
+		}
+		return rules;
+	}
+
+	/**
+	 * This clears the compiled rules and the memoized verdicts
+	 */
+	public void clear() {
+		this.rules = null;
+		this.resourceVerdicts.clear();
+		this.modelVerdicts.clear();
+		this.fieldVerdicts.clear();
+	}
+
+	/**
+	 * The Rules represents the exclusion options compiled for fast lookups
+	 */
+	private static final class Rules {
+
+		final CompiledOptions compiled;
+		final PrefixTrie resourcePrefixes;
+		final PrefixTrie modelPrefixes;
+		final Set<String> classTags;
+		final Set<String> fieldTags;
+		final Set<String> paramAnnotations;
+
+		Rules(CompiledOptions compiled) {
+			this.compiled = compiled;
+			this.resourcePrefixes = new PrefixTrie(compiled.getExcludeResourcePrefixes());
+			this.modelPrefixes = new PrefixTrie(compiled.getExcludeModelPrefixes());
+			this.classTags = compiled.getExcludeClassTags();
+			this.fieldTags = compiled.getExcludeFieldTags();
+			this.paramAnnotations = compiled.getExcludeParamAnnotations();
+		}
+	}
+
+	/**
+	 * The PrefixTrie represents a set of prefixes that a string can be matched against in a single walk of its characters
+	 */
+	static final class PrefixTrie {
+
+		private final Node root = new Node();
+		private final boolean empty;
+
+		PrefixTrie(Collection<String> prefixes) {
+			boolean empty = true;
+			if (prefixes != null) {
+				for (String prefix : prefixes) {
+					Node node = this.root;
+					for (int i = 0; i < prefix.length(); i++) {
+						Character c = Character.valueOf(prefix.charAt(i));
+						Node child = node.children.get(c);
+						if (child == null) {
+							child = new Node();
+							node.children.put(c, child);
+						}
+						node = child;
+					}
+					node.terminal = true;
+					empty = false;
+				}
+			}
+			this.empty = empty;
+		}
+
+		/**
+		 * This gets whether the given string starts with any of the prefixes
+		 * @param value The string
+		 * @return True if the string starts with one of the prefixes
+		 */
+		boolean matches(String value) {
+			if (this.empty) {
+				return false;
+			}
+			Node node = this.root;
+			for (int i = 0; !node.terminal; i++) {
+				if (i == value.length()) {
+					return false;
+				}
+				node = node.children.get(Character.valueOf(value.charAt(i)));
+				if (node == null) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static final class Node {
+
+			final Map<Character, Node> children = new HashMap<Character, Node>(4);
+			boolean terminal;
+		}
+	}
+
+}
@@ -0,0 +1,518 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.NotFingerprinted;
+import com.carma.swagger.doclet.parser.CrossClassApiParser.ResourceMethod;
+import com.carma.swagger.doclet.translator.Translator;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.AnnotationValue;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.ConstructorDoc;
+import com.sun.javadoc.Doc;
+import com.sun.javadoc.ExecutableMemberDoc;
+import com.sun.javadoc.FieldDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.Parameter;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.Type;
+import com.sun.javadoc.TypeVariable;
+
+/**
+ * The IncrementalCache represents an on disk cache of the resource methods parsed from each resource class so that
+ * a run of the doclet only needs to parse the classes that changed since the previous run. Each entry is keyed by a
+ * fingerprint of the resource class and every class it transitively references via its supertypes, members, annotations
+ * and javadoc tags, i.e. its sub resources and models. The fingerprint covers the source position, comment text,
+ * annotations and member signatures of those classes as well as the doclet options, so any change that could affect the
+ * parsing of the class makes its entry stale. Cached resource methods are added to the api declarations the same way
+ * freshly parsed ones are so the output is the same as that of a full run.
+ * @version $Id$
+ */
+public class IncrementalCache {
+
+	// bump this when the cached format changes, changes to the parsing are covered by the build of the doclet
+	private static final String CACHE_VERSION = "1";
+
+	// the build of the doclet is part of every fingerprint so that entries parsed by another version of the doclet,
+	// or another build of the same snapshot, are not used
+	private static final String DOCLET_BUILD = buildIdentity(codeSource());
+
+	private static final String ENTRY_SUFFIX = ".apicache";
+
+	private static final Pattern CLASS_NAME_PATTERN = Pattern.compile("[A-Za-z_$][\\w$]*(\\.[A-Za-z_$][\\w$]*)+");
+
+	private final File cacheDir;
+	private final String optionsFingerprint;
+	private final ClassDocIndex docletClasses;
+	private final Set<String> subResourceClassNames;
+	private final ObjectMapper mapper;
+
+	private final Map<String, String> classDescriptors = new HashMap<String, String>();
+	private final Map<String, List<ClassDoc>> classReferences = new HashMap<String, List<ClassDoc>>();
+	private final Map<String, String> fingerprints = new HashMap<String, String>();
+	private final Map<String, String> updatedEntries = new LinkedHashMap<String, String>();
+
+	private int hits;
+	private int misses;
+
+	/**
+	 * This creates a IncrementalCache
+	 * @param cacheDir The dir the entries are stored in
+	 * @param options The doclet options, these are part of the fingerprint of every entry
+	 * @param docletClasses The resource classes that are documented
+	 * @param subResourceClasses The classes that are sub resources of other classes
+	 */
+	public IncrementalCache(File cacheDir, DocletOptions options, Collection<ClassDoc> docletClasses, Collection<ClassDoc> subResourceClasses) {
+		this.cacheDir = cacheDir;
+		this.optionsFingerprint = optionsFingerprint(options);
+		this.docletClasses = ClassDocIndex.of(docletClasses);
+		this.subResourceClassNames = new HashSet<String>();
+		for (ClassDoc subResourceClass : subResourceClasses) {
+			this.subResourceClassNames.add(subResourceClass.qualifiedName());
+		}
+
+		// the entries are written field by field so that the internal state of the model objects survives a round trip
+		this.mapper = new ObjectMapper();
+		this.mapper.configure(MapperFeature.USE_ANNOTATIONS, false);
+		this.mapper.setVisibility(PropertyAccessor.ALL, Visibility.NONE);
+		this.mapper.setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
+	}
+
+	/**
+	 * This gets the resource methods cached for the given class if they are still up to date
+	 * @param classDoc The resource class
+	 * @return The cached resource methods or null if they need to be parsed
+	 */
+	List<ResourceMethod> get(ClassDoc classDoc) {
+		String fingerprint = fingerprint(classDoc);
+		File entryFile = entryFile(classDoc);
+		if (entryFile.isFile()) {
+			try {
+				Entry entry = this.mapper.readValue(entryFile, Entry.class);
+				if (fingerprint.equals(entry.fingerprint) && entry.resourceMethods != null) {
+					this.hits++;
+					return entry.resourceMethods;
+				}
+			} catch (IOException ex) {
+				// unreadable entries e.g. of an older format are just parsed again
+			}
+		}
+		this.misses++;
+		return null;
+	}
+
+	/**
+	 * This adds the resource methods parsed for the given class, these are written out when the cache is saved.
+	 * This must be called before the resource methods are added to the api declarations as that modifies them.
+	 * @param classDoc The resource class
+	 * @param resourceMethods The parsed resource methods
+	 * @throws IOException if the resource methods could not be serialized
+	 */
+	void put(ClassDoc classDoc, List<ResourceMethod> resourceMethods) throws IOException {
+		Entry entry = new Entry();
+		entry.fingerprint = fingerprint(classDoc);
+		entry.resourceMethods = resourceMethods;
+		this.updatedEntries.put(classDoc.qualifiedName(), this.mapper.writeValueAsString(entry));
+	}
+
+	/**
+	 * This writes out the entries that were added and deletes the entries of classes that are no longer documented
+	 * @throws IOException if the cache dir could not be written to
+	 */
+	public void save() throws IOException {
+		if (!this.cacheDir.isDirectory() && !this.cacheDir.mkdirs()) {
+			throw new IOException("Failed to create the incremental cache dir: " + this.cacheDir.getAbsolutePath());
+		}
+		for (Map.Entry<String, String> updatedEntry : this.updatedEntries.entrySet()) {
+			File entryFile = new File(this.cacheDir, updatedEntry.getKey() + ENTRY_SUFFIX);
+			File tmpFile = new File(this.cacheDir, updatedEntry.getKey() + ENTRY_SUFFIX + ".tmp");
+			// the entry is renamed into place atomically so a failed or concurrent run never reads a partly written entry
+			boolean moved = false;
+			try {
+				Files.write(updatedEntry.getValue(), tmpFile, Charsets.UTF_8);
+				java.nio.file.Files.move(tmpFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				moved = true;
+			} finally {
+				if (!moved) {
+					tmpFile.delete();
+				}
+			}
+		}
+		this.updatedEntries.clear();
+
+		File[] files = this.cacheDir.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				String name = file.getName();
+				if (name.endsWith(ENTRY_SUFFIX) && this.docletClasses.get(name.substring(0, name.length() - ENTRY_SUFFIX.length())) == null) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * This gets the number of classes whose resource methods were reused from the cache
+	 * @return the number of cache hits
+	 */
+	public int getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * This gets the number of classes that had to be parsed as they were not cached or had changed
+	 * @return the number of cache misses
+	 */
+	public int getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * This gets the identity of the given build of the doclet, that is its implementation version along with the size and last
+	 * modified time of the jar it was loaded from, or of each of the class files when it was loaded from a dir
+	 * @param codeSource The jar or dir the doclet classes were loaded from or null if it is not known
+	 * @return The build identity
+	 */
+	static String buildIdentity(File codeSource) {
+		StringBuilder identity = new StringBuilder();
+		Package docletPackage = IncrementalCache.class.getPackage();
+		identity.append("version:").append(docletPackage == null ? null : docletPackage.getImplementationVersion());
+		identity.append(" source:");
+		if (codeSource == null) {
+			identity.append("unknown");
+		} else if (codeSource.isDirectory()) {
+			long files = 0;
+			long size = 0;
+			long lastModified = 0;
+			Deque<File> toVisit = new ArrayDeque<File>();
+			toVisit.add(codeSource);
+			while (!toVisit.isEmpty()) {
+				File[] children = toVisit.pop().listFiles();
+				if (children == null) {
+					continue;
+				}
+				for (File child : children) {
+					if (child.isDirectory()) {
+						toVisit.add(child);
+					} else {
+						files++;
+						size += child.length();
+						lastModified = Math.max(lastModified, child.lastModified());
+					}
+				}
+			}
+			identity.append(files).append(" files ").append(size).append(" bytes ").append(lastModified);
+		} else {
+			identity.append(codeSource.length()).append(" bytes ").append(codeSource.lastModified());
+		}
+		return identity.toString();
+	}
+
+	private static File codeSource() {
+		try {
+			CodeSource codeSource = IncrementalCache.class.getProtectionDomain().getCodeSource();
+			if (codeSource != null && codeSource.getLocation() != null) {
+				return new File(codeSource.getLocation().toURI());
+			}
+		} catch (SecurityException | URISyntaxException | IllegalArgumentException ex) {
+			// the build is then only identified by its version
+		}
+		return null;
+	}
+
+	private File entryFile(ClassDoc classDoc) {
+		return new File(this.cacheDir, classDoc.qualifiedName() + ENTRY_SUFFIX);
+	}
+
+	/**
+	 * This gets the fingerprint of the given resource class and the classes it transitively references
+	 * @param classDoc The resource class
+	 * @return The fingerprint
+	 */
+	String fingerprint(ClassDoc classDoc) {
+		String fingerprint = this.fingerprints.get(classDoc.qualifiedName());
+		if (fingerprint != null) {
+			return fingerprint;
+		}
+
+		Hasher hasher = Hashing.sha256().newHasher();
+		hasher.putString(CACHE_VERSION, Charsets.UTF_8);
+		hasher.putString(DOCLET_BUILD, Charsets.UTF_8);
+		hasher.putString(this.optionsFingerprint, Charsets.UTF_8);
+
+		Set<String> visited = new HashSet<String>();
+		Deque<ClassDoc> toVisit = new ArrayDeque<ClassDoc>();
+		toVisit.add(classDoc);
+		while (!toVisit.isEmpty()) {
+			ClassDoc current = toVisit.pop();
+			if (!visited.add(current.qualifiedName())) {
+				continue;
+			}
+			hasher.putString(describe(current), Charsets.UTF_8);
+			toVisit.addAll(this.classReferences.get(current.qualifiedName()));
+		}
+
+		fingerprint = hasher.hash().toString();
+		this.fingerprints.put(classDoc.qualifiedName(), fingerprint);
+		return fingerprint;
+	}
+
+	/**
+	 * This describes the parts of a single class that the parsing reads and records the classes it references
+	 */
+	private String describe(ClassDoc classDoc) {
+		String name = classDoc.qualifiedName();
+		String descriptor = this.classDescriptors.get(name);
+		if (descriptor != null) {
+			return descriptor;
+		}
+
+		StringBuilder desc = new StringBuilder();
+		List<ClassDoc> references = new ArrayList<ClassDoc>();
+		desc.append("class ").append(name);
+		desc.append(" doclet:").append(this.docletClasses.contains(classDoc));
+		desc.append(" subresource:").append(this.subResourceClassNames.contains(name)).append('\n');
+
+		// the jdk classes don't change between runs so there is no need to walk them
+		if (!name.startsWith("java.") && !name.startsWith("javax.")) {
+			try {
+				describeClass(classDoc, desc, references);
+			} catch (RuntimeException ex) {
+				// the class refers to types that are not on the classpath, the parsing will deal with it
+				desc.append("unresolved ").append(ex).append('\n');
+			}
+		}
+
+		descriptor = desc.toString();
+		this.classDescriptors.put(name, descriptor);
+		this.classReferences.put(name, references);
+		return descriptor;
+	}
+
+	private void describeClass(ClassDoc classDoc, StringBuilder desc, List<ClassDoc> references) {
+		describeElement(classDoc, desc, references);
+		desc.append(" position:").append(classDoc.position());
+		desc.append(" typeParams:");
+		for (TypeVariable typeVariable : classDoc.typeParameters()) {
+			describeType(typeVariable, desc, references);
+			for (Type bound : typeVariable.bounds()) {
+				describeType(bound, desc, references);
+			}
+		}
+		desc.append(" super:");
+		if (classDoc.superclassType() != null) {
+			describeType(classDoc.superclassType(), desc, references);
+		}
+		desc.append(" interfaces:");
+		for (Type interfaceType : classDoc.interfaceTypes()) {
+			describeType(interfaceType, desc, references);
+		}
+		desc.append('\n');
+
+		for (FieldDoc field : classDoc.fields(false)) {
+			describeElement(field, desc, references);
+			describeType(field.type(), desc, references);
+			desc.append(" = ").append(field.constantValueExpression()).append('\n');
+		}
+		for (FieldDoc enumConstant : classDoc.enumConstants()) {
+			describeElement(enumConstant, desc, references);
+			desc.append('\n');
+		}
+		for (MethodDoc method : classDoc.methods(false)) {
+			describeExecutable(method, desc, references);
+			describeType(method.returnType(), desc, references);
+			desc.append('\n');
+		}
+		for (ConstructorDoc constructor : classDoc.constructors(false)) {
+			describeExecutable(constructor, desc, references);
+			desc.append('\n');
+		}
+	}
+
+	private void describeExecutable(ExecutableMemberDoc member, StringBuilder desc, List<ClassDoc> references) {
+		describeElement(member, desc, references);
+		desc.append(member.signature());
+		for (Parameter parameter : member.parameters()) {
+			desc.append(" param ").append(parameter.name()).append(':');
+			describeType(parameter.type(), desc, references);
+			describeAnnotations(parameter.annotations(), desc, references);
+		}
+		for (Type exceptionType : member.thrownExceptionTypes()) {
+			desc.append(" throws ").append(exceptionType.qualifiedTypeName());
+		}
+	}
+
+	private void describeElement(ProgramElementDoc element, StringBuilder desc, List<ClassDoc> references) {
+		desc.append(element.modifiers()).append(' ').append(element.name());
+		describeAnnotations(element.annotations(), desc, references);
+		describeComment(element, desc, references);
+	}
+
+	private void describeComment(Doc doc, StringBuilder desc, List<ClassDoc> references) {
+		String comment = doc.getRawCommentText();
+		if (comment == null || comment.isEmpty()) {
+			return;
+		}
+		desc.append(" comment:").append(comment);
+		// tags can name classes e.g. response types, those have to be part of the fingerprint too,
+		// as can whether they are one of the documented classes as that is where they are looked up
+		Matcher matcher = CLASS_NAME_PATTERN.matcher(comment);
+		while (matcher.find()) {
+			ClassDoc namedClass = this.docletClasses.get(matcher.group());
+			desc.append(" ref:").append(matcher.group()).append('=').append(namedClass != null);
+			if (namedClass != null) {
+				references.add(namedClass);
+			}
+		}
+	}
+
+	private void describeAnnotations(AnnotationDesc[] annotations, StringBuilder desc, List<ClassDoc> references) {
+		for (AnnotationDesc annotation : annotations) {
+			desc.append(" @").append(annotation);
+			references.add(annotation.annotationType());
+			for (AnnotationDesc.ElementValuePair pair : annotation.elementValues()) {
+				describeAnnotationValue(pair.value(), references);
+			}
+		}
+	}
+
+	private void describeAnnotationValue(AnnotationValue annotationValue, List<ClassDoc> references) {
+		Object value = annotationValue.value();
+		if (value instanceof Type) {
+			addReference((Type) value, references);
+		} else if (value instanceof AnnotationDesc) {
+			for (AnnotationDesc.ElementValuePair pair : ((AnnotationDesc) value).elementValues()) {
+				describeAnnotationValue(pair.value(), references);
+			}
+		} else if (value instanceof AnnotationValue[]) {
+			for (AnnotationValue arrayValue : (AnnotationValue[]) value) {
+				describeAnnotationValue(arrayValue, references);
+			}
+		}
+	}
+
+	private void describeType(Type type, StringBuilder desc, List<ClassDoc> references) {
+		desc.append(' ').append(type);
+		addReference(type, references);
+	}
+
+	private void addReference(Type type, List<ClassDoc> references) {
+		if (type.isPrimitive()) {
+			return;
+		}
+		if (type.asClassDoc() != null) {
+			references.add(type.asClassDoc());
+		}
+		if (type.asParameterizedType() != null) {
+			for (Type typeArgument : type.asParameterizedType().typeArguments()) {
+				addReference(typeArgument, references);
+			}
+		}
+		if (type.asWildcardType() != null) {
+			for (Type bound : type.asWildcardType().extendsBounds()) {
+				addReference(bound, references);
+			}
+			for (Type bound : type.asWildcardType().superBounds()) {
+				addReference(bound, references);
+			}
+		}
+	}
+
+	/**
+	 * This builds a fingerprint of the options that can affect the parsing of the resource classes from the fields of
+	 * the options so that options added later are covered too. The fields marked {@link NotFingerprinted} are left out.
+	 */
+	static String optionsFingerprint(DocletOptions options) {
+		Map<String, String> values = new TreeMap<String, String>();
+		for (Field field : DocletOptions.class.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(NotFingerprinted.class)) {
+				continue;
+			}
+			try {
+				field.setAccessible(true);
+				StringBuilder value = new StringBuilder();
+				appendOptionValue(field.get(options), value);
+				values.put(field.getName(), value.toString());
+			} catch (IllegalAccessException ex) {
+				throw new IllegalStateException("Failed to read the doclet option: " + field.getName(), ex);
+			}
+		}
+		return values.toString();
+	}
+
+	private static void appendOptionValue(Object value, StringBuilder buf) {
+		if (value == null) {
+			buf.append("null");
+		} else if (value instanceof Map) {
+			Map<String, Object> sorted = new TreeMap<String, Object>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				sorted.put(String.valueOf(entry.getKey()), entry.getValue());
+			}
+			buf.append('{');
+			for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+				buf.append(entry.getKey()).append('=');
+				appendOptionValue(entry.getValue(), buf);
+				buf.append(',');
+			}
+			buf.append('}');
+		} else if (value instanceof Collection) {
+			buf.append('[');
+			for (Object item : (Collection<?>) value) {
+				appendOptionValue(item, buf);
+				buf.append(',');
+			}
+			buf.append(']');
+		} else if (value instanceof Translator || !overridesToString(value)) {
+			// only the type of these is known to be stable between runs
+			buf.append(value.getClass().getName());
+		} else {
+			buf.append(value);
+		}
+	}
+
+	private static boolean overridesToString(Object value) {
+		try {
+			return value.getClass().getMethod("toString").getDeclaringClass() != Object.class;
+		} catch (NoSuchMethodException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * The Entry is the cached state of a single resource class
+	 */
+	static class Entry {
+
+		String fingerprint;
+		List<ResourceMethod> resourceMethods;
+	}
+
+}
@@ -1,18 +1,41 @@
 package com.carma.swagger.doclet.parser;
 
 import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.ObjectMapperRecorder;
 import com.carma.swagger.doclet.Recorder;
 import com.carma.swagger.doclet.ServiceDoclet;
 import com.carma.swagger.doclet.model.*;
+import com.carma.swagger.doclet.translator.CachingTranslator;
+import com.google.common.base.Charsets;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.io.ByteStreams;
+import com.sun.javadoc.AnnotationDesc;
+import com.sun.javadoc.AnnotationValue;
 import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.ConstructorDoc;
+import com.sun.javadoc.FieldDoc;
 import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.Parameter;
+import com.sun.javadoc.ParameterizedType;
 import com.sun.javadoc.RootDoc;
 import com.sun.javadoc.Type;
+import com.sun.javadoc.TypeVariable;
+import com.sun.javadoc.WildcardType;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -25,6 +48,8 @@ public class JaxRsAnnotationParser {
 
 	private static final String SWAGGER_UI_VERSION = "2.1.8-M1";
 
+	private static final String SWAGGER_UI_MANIFEST = ".swagger-ui-manifest";
+
 	private final DocletOptions options;
 	private final RootDoc rootDoc;
 
@@ -40,8 +65,32 @@ public class JaxRsAnnotationParser {
 	}
 
 	public boolean run() {
+		ParseMetrics metrics = this.options.getMetrics();
+		metrics.reset(this.options.getMetricsFile() != null);
 		try {
 
+			// the lookup collections of the options are frozen for the run
+			this.options.compile();
+
+			// the default recorder writes with the parallelism of the options as set when the run starts
+			if (this.options.getRecorder() instanceof ObjectMapperRecorder) {
+				((ObjectMapperRecorder) this.options.getRecorder()).setParallelism(this.options.getParallelism());
+			}
+
+			// models, annotations, type kinds, exclusions and translated names are only cached for the duration of a run
+			this.options.getModelCache().clear();
+			this.options.getAnnotationCache().clear();
+			this.options.getTypeFormatTable().clear();
+			this.options.getExclusionPolicy().clear();
+			MethodLineage.clear();
+			ParserHelper.clearLoadedClasses();
+			if (this.options.getTranslator() instanceof CachingTranslator) {
+				((CachingTranslator) this.options.getTranslator()).clear();
+			}
+
+			// the http method annotations are applied before any method is parsed, this also drops those resolved in earlier runs
+			HttpMethod.useAnnotations(this.options.getHttpMethodAnnotations());
+
 			// setup additional classes needed for processing, generally these are java ones such as java.lang.String
 			Collection<ClassDoc> typeClasses = new ArrayList<ClassDoc>();
 			addIfNotNull(typeClasses, this.rootDoc.classNamed(java.lang.String.class.getName()));
@@ -58,78 +107,84 @@ public class JaxRsAnnotationParser {
 			addIfNotNull(typeClasses, this.rootDoc.classNamed(java.util.List.class.getName()));
 
 			// filter the classes to process
+			ParseMetrics.Timer timer = metrics.start("filterClasses");
 			Collection<ClassDoc> docletClasses = new ArrayList<ClassDoc>();
+			ExclusionPolicy exclusionPolicy = this.options.getExclusionPolicy();
 			for (ClassDoc classDoc : this.rootDoc.classes()) {
 
-				// see if deprecated
-				if (this.options.isExcludeDeprecatedResourceClasses() && ParserHelper.isDeprecated(classDoc, this.options)) {
-					continue;
-				}
-
-				// see if excluded via a tag
-				if (ParserHelper.hasTag(classDoc, this.options.getExcludeClassTags())) {
-					continue;
-				}
-
-				// see if excluded via its FQN
-				boolean excludeResource = false;
-				if (this.options.getExcludeResourcePrefixes() != null && !this.options.getExcludeResourcePrefixes().isEmpty()) {
-					for (String prefix : this.options.getExcludeResourcePrefixes()) {
-						String className = classDoc.qualifiedName();
-						if (className.startsWith(prefix)) {
-							excludeResource = true;
-							break;
-						}
-					}
-				}
-				if (excludeResource) {
+				// see if deprecated, excluded via a tag or excluded via its FQN
+				if (exclusionPolicy.isExcludedResource(classDoc, this.options)) {
 					continue;
 				}
 
 				docletClasses.add(classDoc);
 			}
 
+			// index the classes by name so lookups of them don't need to scan them
+			docletClasses = new ClassDocIndex(docletClasses);
+			typeClasses = new ClassDocIndex(typeClasses);
+			timer.stop();
+			metrics.add("resourceClasses", docletClasses.size());
+
 			List<ApiDeclaration> declarations = null;
 
 			// build up set of subresources
 			// do simple parsing to find sub resource classes
 			// these are ones referenced in the return types of methods
 			// which have a path but no http method
-			Map<Type, ClassDoc> subResourceClasses = new HashMap<Type, ClassDoc>();
-			for (ClassDoc classDoc : docletClasses) {
-				ClassDoc currentClassDoc = classDoc;
-				while (currentClassDoc != null) {
-
-					for (MethodDoc method : currentClassDoc.methods()) {
-						if (ParserHelper.parsePath(method, this.options) != null && HttpMethod.fromMethod(method) == null) {
-							ClassDoc subResourceClassDoc = ParserHelper.lookUpClassDoc(method.returnType(), docletClasses);
-							if (subResourceClassDoc != null) {
-								subResourceClasses.put(method.returnType(), subResourceClassDoc);
-							}
-						}
-					}
+			timer = metrics.start("findSubResources");
+			SubResourceIndex subResources = SubResourceIndex.build(docletClasses, this.options);
+			timer.stop();
+
+			// parse with the v2 parser that supports endpoints of the same resource being spread across resource files
+			List<ClassDoc> classDocs = new ArrayList<ClassDoc>(docletClasses);
+			List<CrossClassApiParser> classParsers = new ArrayList<CrossClassApiParser>(classDocs.size());
+			for (ClassDoc classDoc : classDocs) {
+				classParsers.add(new CrossClassApiParser(this.options, classDoc, docletClasses, subResources, typeClasses, SWAGGER_VERSION,
+						this.options.getApiVersion(), this.options.getApiBasePath()));
+			}
 
-					currentClassDoc = currentClassDoc.superclass();
+			// reuse the parsing of the classes that haven't changed since the previous run
+			IncrementalCache cache = null;
+			List<List<CrossClassApiParser.ResourceMethod>> cachedResourceMethods = new ArrayList<List<CrossClassApiParser.ResourceMethod>>(
+					classDocs.size());
+			if (this.options.getIncrementalCacheDir() != null) {
+				cache = new IncrementalCache(this.options.getIncrementalCacheDir(), this.options, docletClasses, subResources.getSubResourceClasses());
+			}
+			for (ClassDoc classDoc : classDocs) {
+				cachedResourceMethods.add(cache == null ? null : cache.get(classDoc));
+			}
 
-					// ignore parent object class
-					if (!ParserHelper.hasAncestor(currentClassDoc)) {
-						break;
+			Map<String, ApiDeclarationBuilder> resourceToDeclaration = new HashMap<String, ApiDeclarationBuilder>();
+			if (this.options.getParallelism() > 1 && docletClasses.size() > 1) {
+				parseConcurrently(classDocs, classParsers, cachedResourceMethods, cache, resourceToDeclaration);
+			} else {
+				for (int i = 0; i < classParsers.size(); i++) {
+					CrossClassApiParser classParser = classParsers.get(i);
+					List<CrossClassApiParser.ResourceMethod> resourceMethods = cachedResourceMethods.get(i);
+					if (resourceMethods == null) {
+						resourceMethods = classParser.parseResourceMethods();
+						if (cache != null) {
+							cache.put(classDocs.get(i), resourceMethods);
+						}
 					}
+					classParser.addResourceMethods(resourceMethods, resourceToDeclaration);
 				}
 			}
 
-			// parse with the v2 parser that supports endpoints of the same resource being spread across resource files
-			Map<String, ApiDeclaration> resourceToDeclaration = new HashMap<String, ApiDeclaration>();
-			for (ClassDoc classDoc : docletClasses) {
-				CrossClassApiParser classParser = new CrossClassApiParser(this.options, classDoc, docletClasses, subResourceClasses, typeClasses,
-						SWAGGER_VERSION, this.options.getApiVersion(), this.options.getApiBasePath());
-				classParser.parse(resourceToDeclaration);
+			if (cache != null) {
+				cache.save();
+				metrics.add("incrementalCacheHits", cache.getHits());
+				System.out.println("Reused the parsing of " + cache.getHits() + " of " + classDocs.size() + " resource classes from: "
+						+ this.options.getIncrementalCacheDir().getAbsolutePath());
+			}
+			Collection<ApiDeclaration> declarationColl = new ArrayList<ApiDeclaration>(resourceToDeclaration.size());
+			for (ApiDeclarationBuilder builder : resourceToDeclaration.values()) {
+				declarationColl.add(builder.build());
 			}
-			Collection<ApiDeclaration> declarationColl = resourceToDeclaration.values();
 
 			// add any extra declarations
 			if (this.options.getExtraApiDeclarations() != null && !this.options.getExtraApiDeclarations().isEmpty()) {
-				declarationColl = new ArrayList<ApiDeclaration>(declarationColl);
 				declarationColl.addAll(this.options.getExtraApiDeclarations());
 			}
 
@@ -141,6 +196,7 @@ public class JaxRsAnnotationParser {
 			}
 
 			// merge the api declarations
+			timer = metrics.start("merge");
 			declarationColl = new ApiDeclarationMerger(SWAGGER_VERSION, this.options.getApiVersion(), this.options.getApiBasePath()).merge(declarationColl);
 
 			// clear any empty models
@@ -151,8 +207,10 @@ public class JaxRsAnnotationParser {
 			}
 
 			declarations = new ArrayList<ApiDeclaration>(declarationColl);
+			timer.stop();
 
 			// sort the api declarations if needed
+			timer = metrics.start("sort");
 			if (this.options.isSortResourcesByPriority()) {
 
 				Collections.sort(declarations, new Comparator<ApiDeclaration>() {
@@ -196,16 +254,247 @@ public class JaxRsAnnotationParser {
 				}
 			}
 
+			timer.stop();
+
+			timer = metrics.start("writeApis");
 			writeApis(declarations);
+			timer.stop();
 			// Copy swagger-ui into the output directory.
 			if (this.options.isIncludeSwaggerUi()) {
+				timer = metrics.start("copyUi");
 				copyUi();
+				timer.stop();
 			}
+			writeMetrics();
 			return true;
 		} catch (IOException e) {
 			System.err.println("Failed to write api docs, err msg: " + e.getMessage());
 			e.printStackTrace();
 			return false;
+		} finally {
+			MethodLineage.clear();
+			ParserHelper.clearLoadedClasses();
+		}
+	}
+
+	private void writeMetrics() throws IOException {
+		ParseMetrics metrics = this.options.getMetrics();
+		if (!metrics.isEnabled()) {
+			return;
+		}
+		if (this.options.getTranslator() instanceof CachingTranslator) {
+			CachingTranslator translator = (CachingTranslator) this.options.getTranslator();
+			metrics.add("translatorCacheHits", translator.getHits());
+			metrics.add("translatorCacheMisses", translator.getMisses());
+		}
+		metrics.write(this.options.getMetricsFile());
+		System.out.println("Wrote the metrics of the run to: " + this.options.getMetricsFile().getAbsolutePath());
+	}
+
+	/**
+	 * This parses the resource classes on a fork join pool. The expensive part of the parsing, reading the methods and
+	 * models of each class, is done concurrently while the declarations are then built up from the results in the same
+	 * class order as the serial parsing so that the output is identical regardless of the parallelism.
+	 * <p>
+	 * The javadoc model is not thread safe, it loads the docs of classes, members and tags lazily and caches them without
+	 * synchronization. The workers only read it after {@link #preloadClassDocs(Collection)} has loaded everything reachable
+	 * from the resource classes, which is a best effort: a javadoc implementation that loads or resolves something the
+	 * preload did not reach may fail or give wrong results when read concurrently. This is why the parallelism is opt-in
+	 * and defaults to 1, in which case the parsing runs on the calling thread and this method is not used.
+	 * @param classDocs The resource classes to parse
+	 * @param classParsers The parsers of the resource classes
+	 * @param cachedResourceMethods The resource methods of each class from the incremental cache, null for the classes that need parsing
+	 * @param cache The incremental cache or null if it is not used
+	 * @param resourceToDeclaration The map of resource path to declaration builder that will be added to
+	 * @throws IOException if the parsed resource methods could not be added to the cache
+	 */
+	private void parseConcurrently(List<ClassDoc> classDocs, List<CrossClassApiParser> classParsers,
+			List<List<CrossClassApiParser.ResourceMethod>> cachedResourceMethods, IncrementalCache cache, Map<String, ApiDeclarationBuilder> resourceToDeclaration)
+			throws IOException {
+
+		// the javadoc model is lazily loaded and is not thread safe so load what the parsing will read up front,
+		// this does not make it thread safe, it only means the workers read docs that are already loaded
+		preloadClassDocs(classDocs);
+
+		ForkJoinPool pool = new ForkJoinPool(this.options.getParallelism());
+		try {
+			List<ClassParseTask> tasks = new ArrayList<ClassParseTask>(classParsers.size());
+			for (int i = 0; i < classParsers.size(); i++) {
+				ClassParseTask task = null;
+				if (cachedResourceMethods.get(i) == null) {
+					task = new ClassParseTask(classParsers.get(i));
+					pool.execute(task);
+				}
+				tasks.add(task);
+			}
+
+			// add the results in class order
+			for (int i = 0; i < classParsers.size(); i++) {
+				List<CrossClassApiParser.ResourceMethod> resourceMethods = cachedResourceMethods.get(i);
+				ClassParseTask task = tasks.get(i);
+				if (task != null) {
+					task.join();
+					if (task.failure != null) {
+						throw Throwables.propagate(task.failure);
+					}
+					resourceMethods = task.resourceMethods;
+					if (cache != null) {
+						cache.put(classDocs.get(i), resourceMethods);
+					}
+				}
+				classParsers.get(i).addResourceMethods(resourceMethods, resourceToDeclaration);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * The ClassParseTask parses the resource methods of a single class, it keeps hold of any failure itself
+	 * as the fork join pool would otherwise rethrow a copy of it
+	 */
+	private static class ClassParseTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		final CrossClassApiParser classParser;
+		List<CrossClassApiParser.ResourceMethod> resourceMethods;
+		Throwable failure;
+
+		ClassParseTask(CrossClassApiParser classParser) {
+			super();
+			this.classParser = classParser;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				this.resourceMethods = this.classParser.parseResourceMethods();
+			} catch (Throwable ex) {
+				this.failure = ex;
+			}
+		}
+	}
+
+	/**
+	 * This walks the classes and the types reachable from their members so that javadoc
+	 * loads and caches their docs before they are read from multiple threads.
+	 * Types from the java and javax packages are loaded but not walked further.
+	 * @param classDocs The classes to start from
+	 */
+	private void preloadClassDocs(Collection<ClassDoc> classDocs) {
+		Set<String> visited = new HashSet<String>();
+		Deque<ClassDoc> toVisit = new ArrayDeque<ClassDoc>(classDocs);
+		while (!toVisit.isEmpty()) {
+			ClassDoc classDoc = toVisit.pop();
+			if (!visited.add(classDoc.qualifiedName())) {
+				continue;
+			}
+			try {
+				preloadClassDoc(classDoc, toVisit);
+			} catch (RuntimeException ex) {
+				// the class refers to types that are not on the classpath, leave it to the parsing to deal with
+			}
+		}
+	}
+
+	private void preloadClassDoc(ClassDoc classDoc, Deque<ClassDoc> toVisit) {
+		preloadAnnotations(classDoc.annotations(), toVisit);
+		classDoc.tags();
+		addIfNotNull(toVisit, classDoc.superclass());
+		toVisit.addAll(Arrays.asList(classDoc.interfaces()));
+
+		// the type arguments of the super types are walked even for java types as e.g. a class extending
+		// ArrayList<User> is parsed as a collection of User
+		if (classDoc.superclassType() != null) {
+			preloadType(classDoc.superclassType(), toVisit);
+		}
+		for (Type interfaceType : classDoc.interfaceTypes()) {
+			preloadType(interfaceType, toVisit);
+		}
+		preloadTypeParameters(classDoc.typeParameters(), toVisit);
+
+		MethodDoc[] methods = classDoc.methods();
+		FieldDoc[] fields = classDoc.fields(false);
+		if (classDoc.qualifiedName().startsWith("java.") || classDoc.qualifiedName().startsWith("javax.")) {
+			return;
+		}
+		classDoc.enumConstants();
+		for (MethodDoc method : methods) {
+			method.tags();
+			method.overriddenMethod();
+			preloadTypeParameters(method.typeParameters(), toVisit);
+			preloadType(method.returnType(), toVisit);
+			preloadAnnotations(method.annotations(), toVisit);
+			for (Parameter parameter : method.parameters()) {
+				preloadType(parameter.type(), toVisit);
+				preloadAnnotations(parameter.annotations(), toVisit);
+			}
+		}
+		for (ConstructorDoc constructor : classDoc.constructors()) {
+			constructor.tags();
+			for (Parameter parameter : constructor.parameters()) {
+				preloadType(parameter.type(), toVisit);
+				preloadAnnotations(parameter.annotations(), toVisit);
+			}
+		}
+		for (FieldDoc field : fields) {
+			field.tags();
+			preloadType(field.type(), toVisit);
+			preloadAnnotations(field.annotations(), toVisit);
+		}
+	}
+
+	/**
+	 * This walks a type along with its type arguments and the bounds of its wildcards. The bounds of type variables
+	 * are not walked here as they can refer to the variable itself, they are walked from where the variables are declared
+	 * by {@link #preloadTypeParameters(TypeVariable[], Deque)}.
+	 * @param type The type
+	 * @param toVisit The classes still to walk
+	 */
+	private void preloadType(Type type, Deque<ClassDoc> toVisit) {
+		addIfNotNull(toVisit, type.asClassDoc());
+		ParameterizedType parameterizedType = type.asParameterizedType();
+		if (parameterizedType != null) {
+			for (Type typeArgument : parameterizedType.typeArguments()) {
+				preloadType(typeArgument, toVisit);
+			}
+		}
+		WildcardType wildcardType = type.asWildcardType();
+		if (wildcardType != null) {
+			for (Type bound : wildcardType.extendsBounds()) {
+				preloadType(bound, toVisit);
+			}
+			for (Type bound : wildcardType.superBounds()) {
+				preloadType(bound, toVisit);
+			}
+		}
+	}
+
+	private void preloadTypeParameters(TypeVariable[] typeParameters, Deque<ClassDoc> toVisit) {
+		for (TypeVariable typeParameter : typeParameters) {
+			for (Type bound : typeParameter.bounds()) {
+				preloadType(bound, toVisit);
+			}
+		}
+	}
+
+	private void preloadAnnotations(AnnotationDesc[] annotations, Deque<ClassDoc> toVisit) {
+		for (AnnotationDesc annotation : annotations) {
+			addIfNotNull(toVisit, annotation.annotationType());
+			for (AnnotationDesc.ElementValuePair pair : annotation.elementValues()) {
+				pair.element();
+				Object value = pair.value().value();
+				if (value instanceof Type) {
+					preloadType((Type) value, toVisit);
+				} else if (value instanceof AnnotationValue[]) {
+					for (AnnotationValue arrayValue : (AnnotationValue[]) value) {
+						if (arrayValue.value() instanceof Type) {
+							preloadType((Type) arrayValue.value(), toVisit);
+						}
+					}
+				}
+			}
 		}
 	}
 
@@ -221,6 +510,7 @@ public class JaxRsAnnotationParser {
 				resources.add(new ResourceListingAPI("/" + resourceName + ".{format}", api.getDescription()));
 				File apiFile = new File(outputDirectory, resourceName + ".json");
 				recorder.record(apiFile, api);
+				this.options.getMetrics().increment("recordCalls");
 			}
 		}
 
@@ -229,6 +519,12 @@ public class JaxRsAnnotationParser {
 				this.options.getApiAuthorizations(), this.options.getApiInfo());
 		File docFile = new File(outputDirectory, "service.json");
 		recorder.record(docFile, listing);
+		this.options.getMetrics().increment("recordCalls");
+
+		// recorders that write in the background must be done before the doclet returns
+		if (recorder instanceof Flushable) {
+			((Flushable) recorder).flush();
+		}
 
 	}
 
@@ -261,6 +557,21 @@ public class JaxRsAnnotationParser {
 	}
 
 	private void copyZip(Recorder recorder, File uiPathFile, File outputDirectory) throws IOException {
+		// the manifest records the zip that was last extracted and the size and checksum of its files so an unchanged ui is not extracted again
+		String zipId = uiPathFile == null ? "swagger-ui-" + SWAGGER_UI_VERSION + ".zip" : uiPathFile.getAbsolutePath() + " " + uiPathFile.length() + " "
+				+ uiPathFile.lastModified();
+		File manifestFile = new File(outputDirectory, SWAGGER_UI_MANIFEST);
+		if (isExtracted(manifestFile, zipId, outputDirectory)) {
+			System.out.println("Swagger-ui is up to date in: " + outputDirectory.getAbsolutePath());
+			return;
+		}
+
+		StringBuilder manifest = new StringBuilder(zipId).append('\n');
+		ExecutorService executor = null;
+		if (this.options.getParallelism() > 1) {
+			executor = Executors.newFixedThreadPool(this.options.getParallelism());
+		}
+		List<Future<Void>> writes = new ArrayList<Future<Void>>();
 		ZipInputStream swaggerZip = null;
 		try {
 			if (uiPathFile == null) {
@@ -279,28 +590,88 @@ public class JaxRsAnnotationParser {
 						throw new RuntimeException("Unable to create directory: " + swaggerFile);
 					}
 				} else {
-
-					FileOutputStream outputStream = null;
-					try {
-						outputStream = new FileOutputStream(swaggerFile);
-						ByteStreams.copy(swaggerZip, outputStream);
-						outputStream.flush();
-					} finally {
-						if (outputStream != null) {
-							outputStream.close();
-						}
+					// the zip can only be read serially but comparing and writing the files can be done in parallel
+					final byte[] content = ByteStreams.toByteArray(swaggerZip);
+					if (executor == null) {
+						writeIfChanged(swaggerFile, content);
+					} else {
+						writes.add(executor.submit(new Callable<Void>() {
+
+							public Void call() throws IOException {
+								writeIfChanged(swaggerFile, content);
+								return null;
+							}
+						}));
 					}
-
+					manifest.append(entry.getName()).append('\t').append(content.length).append('\t').append(checksum(content)).append('\n');
 				}
 
 				entry = swaggerZip.getNextEntry();
 			}
 
+			for (Future<Void> write : writes) {
+				try {
+					write.get();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while extracting swagger-ui", ex);
+				} catch (ExecutionException ex) {
+					Throwables.propagateIfInstanceOf(ex.getCause(), IOException.class);
+					throw Throwables.propagate(ex.getCause());
+				}
+			}
+
 		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
 			if (swaggerZip != null) {
 				swaggerZip.close();
 			}
 		}
+
+		writeIfChanged(manifestFile, manifest.toString().getBytes(Charsets.UTF_8));
+	}
+
+	private static boolean isExtracted(File manifestFile, String zipId, File outputDirectory) throws IOException {
+		if (!manifestFile.isFile()) {
+			return false;
+		}
+		List<String> lines = Files.readAllLines(manifestFile.toPath(), Charsets.UTF_8);
+		if (lines.isEmpty() || !lines.get(0).equals(zipId)) {
+			return false;
+		}
+		for (String line : lines.subList(1, lines.size())) {
+			// each file is name, size and checksum separated by tabs, manifests of older versions only have the name
+			String[] fields = line.split("\t");
+			if (fields.length != 3) {
+				return false;
+			}
+			File file = new File(outputDirectory, fields[0]);
+			try {
+				if (!file.isFile() || file.length() != Long.parseLong(fields[1])
+						|| checksum(Files.readAllBytes(file.toPath())) != Long.parseLong(fields[2])) {
+					return false;
+				}
+			} catch (NumberFormatException ex) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long checksum(byte[] content) {
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		return crc.getValue();
+	}
+
+	private void writeIfChanged(File file, byte[] content) throws IOException {
+		if (file.isFile() && file.length() == content.length && Arrays.equals(content, Files.readAllBytes(file.toPath()))) {
+			return;
+		}
+		Files.write(file.toPath(), content);
+		this.options.getMetrics().increment("swaggerUiFilesWritten");
 	}
 
 	private void copyDirectory(Recorder recorder, File uiPathFile, File sourceLocation, File targetLocation) throws IOException {
@@ -317,30 +688,31 @@ public class JaxRsAnnotationParser {
 			}
 		} else {
 
-			InputStream in = null;
-			OutputStream out = null;
-			try {
-				in = new FileInputStream(sourceLocation);
-				out = new FileOutputStream(targetLocation);
-				ByteStreams.copy(in, out);
-				out.flush();
-
-			} finally {
-				if (in != null) {
-					try {
-						in.close();
-					} catch (IOException ex) {
-						// ignore
-					}
+			Path source = sourceLocation.toPath();
+			Path target = targetLocation.toPath();
+			boolean link = this.options.isLinkSwaggerUi();
+			// copies keep the modified time of the source so unchanged files can be told apart without reading them,
+			// a target linked to the source by a previous run is replaced with a copy unless linking is enabled
+			if (targetLocation.isFile()) {
+				boolean upToDate = Files.isSameFile(source, target) ? link : targetLocation.length() == sourceLocation.length()
+						&& targetLocation.lastModified() == sourceLocation.lastModified();
+				if (upToDate) {
+					return;
 				}
-				if (out != null) {
-					try {
-						out.close();
-					} catch (IOException ex) {
-						// ignore
-					}
+			}
+
+			Files.deleteIfExists(target);
+			if (link) {
+				try {
+					Files.createLink(target, source);
+				} catch (IOException | UnsupportedOperationException ex) {
+					// hard links are not supported by the file system or across file systems
+					Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
 				}
+			} else {
+				Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
 			}
+			this.options.getMetrics().increment("swaggerUiFilesWritten");
 		}
 	}
 
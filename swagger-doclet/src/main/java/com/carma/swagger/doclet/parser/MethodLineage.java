@@ -0,0 +1,183 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.sun.javadoc.MethodDoc;
+
+/**
+ * The MethodLineage represents a method followed by the methods it overrides, nearest first, which is the order
+ * that the inheritable lookups of the {@link ParserHelper} look at them in. The lineage of each method is resolved
+ * once and shared by the lineages of the methods that override it. The lineages are cached for the duration of a
+ * doclet run, the cache is cleared by the {@link JaxRsAnnotationParser} at the start and end of each run.
+ * The jaxrs path and http method of each method are memoized in its lineage too so that the sub resource discovery
+ * and the parsing of the methods both resolve them once.
+ * @version $Id$
+ */
+final class MethodLineage {
+
+	private static final ConcurrentMap<MethodDoc, MethodLineage> LINEAGES = new ConcurrentHashMap<MethodDoc, MethodLineage>();
+
+	private final List<MethodDoc> methods;
+	private volatile List<TagIndex> tagIndexes;
+	private volatile HttpMethodHolder httpMethods;
+	private volatile Paths paths;
+
+	private MethodLineage(List<MethodDoc> methods) {
+		this.methods = methods;
+	}
+
+	/**
+	 * This gets the lineage of the given method
+	 * @param methodDoc The method
+	 * @return The lineage
+	 */
+	static MethodLineage of(MethodDoc methodDoc) {
+		MethodLineage lineage = LINEAGES.get(methodDoc);
+		if (lineage == null) {
+			List<MethodDoc> methods = new ArrayList<MethodDoc>();
+			methods.add(methodDoc);
+			MethodDoc overridden = methodDoc.overriddenMethod();
+			if (overridden != null) {
+				methods.addAll(of(overridden).getMethods());
+			}
+			lineage = new MethodLineage(Collections.unmodifiableList(methods));
+			MethodLineage existing = LINEAGES.putIfAbsent(methodDoc, lineage);
+			if (existing != null) {
+				lineage = existing;
+			}
+		}
+		return lineage;
+	}
+
+	/**
+	 * This clears the cached lineages
+	 */
+	static void clear() {
+		LINEAGES.clear();
+	}
+
+	/**
+	 * This gets the method and the methods it overrides
+	 * @return The methods, nearest first
+	 */
+	List<MethodDoc> getMethods() {
+		return this.methods;
+	}
+
+	/**
+	 * This gets the tag indexes of the method and the methods it overrides
+	 * @return The tag indexes, nearest first
+	 */
+	List<TagIndex> getTagIndexes() {
+		List<TagIndex> indexes = this.tagIndexes;
+		if (indexes == null) {
+			indexes = new ArrayList<TagIndex>(this.methods.size());
+			for (MethodDoc method : this.methods) {
+				indexes.add(TagIndex.of(method));
+			}
+			indexes = Collections.unmodifiableList(indexes);
+			this.tagIndexes = indexes;
+		}
+		return indexes;
+	}
+
+	/**
+	 * This gets the http method of the method itself
+	 * @return The http method or null if the method has no http method annotation
+	 */
+	HttpMethod getOwnHttpMethod() {
+		return httpMethods().own;
+	}
+
+	/**
+	 * This gets the http method of the method or of the nearest method it overrides that has one
+	 * @return The http method or null if none of the methods have a http method annotation
+	 */
+	HttpMethod getHttpMethod() {
+		return httpMethods().resolved;
+	}
+
+	private HttpMethodHolder httpMethods() {
+		HttpMethodHolder holder = this.httpMethods;
+		if (holder == null) {
+			HttpMethod own = HttpMethod.fromMethod(this.methods.get(0));
+			HttpMethod resolved = own;
+			if (resolved == null && this.methods.size() > 1) {
+				resolved = of(this.methods.get(1)).getHttpMethod();
+			}
+			holder = new HttpMethodHolder(own, resolved);
+			this.httpMethods = holder;
+		}
+		return holder;
+	}
+
+	/**
+	 * This gets the jaxrs path of the method itself
+	 * @param options The doclet options
+	 * @return The path or null if the method has no path annotation
+	 */
+	String getOwnPath(DocletOptions options) {
+		return paths(options).own;
+	}
+
+	/**
+	 * This gets the jaxrs path of the method or of the nearest method it overrides that has a non empty one
+	 * @param options The doclet options
+	 * @return The path, which is empty if none of the methods have one
+	 */
+	String getPath(DocletOptions options) {
+		return paths(options).resolved;
+	}
+
+	private Paths paths(DocletOptions options) {
+		// the paths depend on the options as they can contain variables
+		Paths current = this.paths;
+		if (current == null || current.options != options) {
+			String own = ParserHelper.parsePath(this.methods.get(0), options);
+			String resolved = own == null ? "" : own;
+			if (resolved.isEmpty() && this.methods.size() > 1) {
+				resolved = of(this.methods.get(1)).getPath(options);
+			}
+			current = new Paths(options, own, resolved);
+			this.paths = current;
+		}
+		return current;
+	}
+
+	/**
+	 * The HttpMethodHolder represents the http methods of a lineage, null methods are valid values so they are held in this
+	 */
+	private static final class HttpMethodHolder {
+
+		final HttpMethod own;
+		final HttpMethod resolved;
+
+		HttpMethodHolder(HttpMethod own, HttpMethod resolved) {
+			this.own = own;
+			this.resolved = resolved;
+		}
+	}
+
+	/**
+	 * The Paths represents the paths of a lineage resolved with a set of options
+	 */
+	private static final class Paths {
+
+		final DocletOptions options;
+		final String own;
+		final String resolved;
+
+		Paths(DocletOptions options, String own, String resolved) {
+			this.options = options;
+			this.own = own;
+			this.resolved = resolved;
+		}
+	}
+
+}
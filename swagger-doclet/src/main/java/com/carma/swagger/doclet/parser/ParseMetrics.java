@@ -0,0 +1,380 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The ParseMetrics represents the wall time and allocation of the phases of a run of the doclet and counters of
+ * the work done in it such as the models parsed, cache hits and files written. It is enabled via -metricsFile and
+ * written there as json at the end of the run. While disabled the timers and counters do nothing.
+ * The allocation of a phase is that of the thread that ran it, so for phases that hand work to other threads
+ * it only covers the part done on the calling thread.
+ * Besides the phases the time and number of visits of individual items such as each resource class and model type
+ * are recorded so that the slowest and most revisited of them can be reported.
+ * @version $Id$
+ */
+public class ParseMetrics {
+
+	private static final Timer NO_TIMER = new Timer(null, null);
+
+	/**
+	 * This is the category of the items for the resource classes
+	 */
+	public static final String RESOURCE_CLASSES = "resourceClasses";
+
+	/**
+	 * This is the category of the items for the model types
+	 */
+	public static final String MODELS = "models";
+
+	/**
+	 * This is the number of items of each category listed in the metrics file
+	 */
+	public static final int REPORT_SIZE = 10;
+
+	private static final Comparator<Item> BY_TIME = new Comparator<Item>() {
+
+		public int compare(Item item1, Item item2) {
+			int res = Long.valueOf(item2.nanos.get()).compareTo(item1.nanos.get());
+			return res != 0 ? res : item1.name.compareTo(item2.name);
+		}
+	};
+
+	private static final Comparator<Item> BY_VISITS = new Comparator<Item>() {
+
+		public int compare(Item item1, Item item2) {
+			int res = Long.valueOf(item2.visits.get()).compareTo(item1.visits.get());
+			return res != 0 ? res : BY_TIME.compare(item1, item2);
+		}
+	};
+
+	private volatile boolean enabled;
+	private long runStart;
+	// phases in the order they were first started
+	private final Map<String, Phase> phases = new LinkedHashMap<String, Phase>();
+	private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
+	// category to item name to the totals of the item
+	private final ConcurrentMap<String, ConcurrentMap<String, Item>> items = new ConcurrentHashMap<String, ConcurrentMap<String, Item>>();
+	// the phases running on each thread so that a phase that recurses into itself is only timed once
+	private final ThreadLocal<Set<String>> runningPhases = new ThreadLocal<Set<String>>() {
+
+		@Override
+		protected Set<String> initialValue() {
+			return new HashSet<String>();
+		}
+	};
+
+	/**
+	 * This clears the metrics of any previous run and starts a new run
+	 * @param enable whether the metrics are recorded for the run
+	 */
+	public void reset(boolean enable) {
+		synchronized (this.phases) {
+			this.phases.clear();
+		}
+		this.counters.clear();
+		this.items.clear();
+		// a phase of a failed run may not have been stopped
+		this.runningPhases.remove();
+		this.runStart = System.nanoTime();
+		this.enabled = enable;
+	}
+
+	/**
+	 * This gets whether the metrics are recorded
+	 * @return True if the metrics are recorded
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * This starts timing the given phase on the current thread, the phase may run many times and its
+	 * time and allocation are totalled
+	 * @param phase The name of the phase
+	 * @return The timer that must be stopped on the same thread when the phase ends
+	 */
+	public Timer start(String phase) {
+		if (!this.enabled || !this.runningPhases.get().add(phase)) {
+			return NO_TIMER;
+		}
+		Phase totals;
+		synchronized (this.phases) {
+			totals = this.phases.get(phase);
+			if (totals == null) {
+				totals = new Phase(phase);
+				this.phases.put(phase, totals);
+			}
+		}
+		return new Timer(this, totals);
+	}
+
+	/**
+	 * This adds one to the given counter
+	 * @param counter The name of the counter
+	 */
+	public void increment(String counter) {
+		add(counter, 1);
+	}
+
+	/**
+	 * This adds the given amount to the given counter
+	 * @param counter The name of the counter
+	 * @param amount The amount to add
+	 */
+	public void add(String counter, long amount) {
+		if (!this.enabled) {
+			return;
+		}
+		AtomicLong value = this.counters.get(counter);
+		if (value == null) {
+			value = new AtomicLong();
+			AtomicLong existing = this.counters.putIfAbsent(counter, value);
+			if (existing != null) {
+				value = existing;
+			}
+		}
+		value.addAndGet(amount);
+	}
+
+	/**
+	 * This gets the value of the given counter
+	 * @param counter The name of the counter
+	 * @return The value, 0 if nothing was counted
+	 */
+	public long getCount(String counter) {
+		AtomicLong value = this.counters.get(counter);
+		return value == null ? 0 : value.get();
+	}
+
+	/**
+	 * This records a visit of an item such as a resource class or a model type
+	 * @param category The category of the item e.g. {@link #MODELS}
+	 * @param name The name of the item
+	 * @param nanos The time the visit took in nanoseconds, including the time of any items it visited in turn
+	 */
+	public void recordItem(String category, String name, long nanos) {
+		if (!this.enabled) {
+			return;
+		}
+		ConcurrentMap<String, Item> categoryItems = this.items.get(category);
+		if (categoryItems == null) {
+			categoryItems = new ConcurrentHashMap<String, Item>();
+			ConcurrentMap<String, Item> existing = this.items.putIfAbsent(category, categoryItems);
+			if (existing != null) {
+				categoryItems = existing;
+			}
+		}
+		Item item = categoryItems.get(name);
+		if (item == null) {
+			item = new Item(name);
+			Item existing = categoryItems.putIfAbsent(name, item);
+			if (existing != null) {
+				item = existing;
+			}
+		}
+		item.visits.incrementAndGet();
+		item.nanos.addAndGet(nanos);
+	}
+
+	/**
+	 * This gets the items of the given category that took the most time
+	 * @param category The category of the items
+	 * @param limit The maximum number of items to return
+	 * @return The names of the items with their times in milliseconds and visits, slowest first
+	 */
+	public List<Map<String, Object>> getSlowest(String category, int limit) {
+		return top(category, BY_TIME, limit);
+	}
+
+	/**
+	 * This gets the items of the given category that were visited the most
+	 * @param category The category of the items
+	 * @param limit The maximum number of items to return
+	 * @return The names of the items with their times in milliseconds and visits, most visited first
+	 */
+	public List<Map<String, Object>> getMostVisited(String category, int limit) {
+		return top(category, BY_VISITS, limit);
+	}
+
+	private List<Map<String, Object>> top(String category, Comparator<Item> order, int limit) {
+		ConcurrentMap<String, Item> categoryItems = this.items.get(category);
+		if (categoryItems == null) {
+			return Collections.emptyList();
+		}
+		List<Item> sorted = new ArrayList<Item>(categoryItems.values());
+		Collections.sort(sorted, order);
+		List<Map<String, Object>> res = new ArrayList<Map<String, Object>>(Math.min(limit, sorted.size()));
+		for (Item item : sorted.subList(0, Math.min(limit, sorted.size()))) {
+			res.add(item.toMap());
+		}
+		return res;
+	}
+
+	/**
+	 * This gets the metrics as a map of the total run time, the phases, the counters and the slowest and most
+	 * visited items that can be written as json
+	 * @return The metrics
+	 */
+	public Map<String, Object> toMap() {
+		Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+		metrics.put("totalMillis", Long.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.runStart)));
+		Map<String, Object> phaseMetrics = new LinkedHashMap<String, Object>();
+		synchronized (this.phases) {
+			for (Map.Entry<String, Phase> entry : this.phases.entrySet()) {
+				phaseMetrics.put(entry.getKey(), entry.getValue().toMap());
+			}
+		}
+		metrics.put("phases", phaseMetrics);
+		Map<String, Long> counterValues = new TreeMap<String, Long>();
+		for (Map.Entry<String, AtomicLong> entry : this.counters.entrySet()) {
+			counterValues.put(entry.getKey(), Long.valueOf(entry.getValue().get()));
+		}
+		metrics.put("counters", counterValues);
+		Map<String, Object> slowest = new TreeMap<String, Object>();
+		Map<String, Object> mostVisited = new TreeMap<String, Object>();
+		for (String category : this.items.keySet()) {
+			slowest.put(category, getSlowest(category, REPORT_SIZE));
+			mostVisited.put(category, getMostVisited(category, REPORT_SIZE));
+		}
+		metrics.put("slowest", slowest);
+		metrics.put("mostVisited", mostVisited);
+		return metrics;
+	}
+
+	/**
+	 * This writes the metrics as json to the given file
+	 * @param file The file to write to
+	 * @throws IOException if the file could not be written
+	 */
+	public void write(File file) throws IOException {
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Failed to create the dir: " + dir.getAbsolutePath());
+		}
+		new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, toMap());
+	}
+
+	/**
+	 * This gets the number of bytes the current thread has allocated so far
+	 * @return The bytes or -1 if the jvm does not measure the allocation of threads
+	 */
+	static long allocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+			if (allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled()) {
+				return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The Timer represents a single run of a phase
+	 */
+	public static final class Timer {
+
+		private final ParseMetrics metrics;
+		private final Phase phase;
+		private final long start;
+		private final long allocatedAtStart;
+
+		Timer(ParseMetrics metrics, Phase phase) {
+			this.metrics = metrics;
+			this.phase = phase;
+			this.start = phase == null ? 0 : System.nanoTime();
+			this.allocatedAtStart = phase == null ? 0 : allocatedBytes();
+		}
+
+		/**
+		 * This stops the timer and adds the time and allocation of the run to the totals of its phase
+		 * @return The wall time of the run in nanoseconds, 0 if the phase was not timed
+		 */
+		public long stop() {
+			if (this.phase == null) {
+				return 0;
+			}
+			long nanos = System.nanoTime() - this.start;
+			long allocated = this.allocatedAtStart < 0 ? -1 : allocatedBytes() - this.allocatedAtStart;
+			this.phase.add(nanos, allocated);
+			this.metrics.runningPhases.get().remove(this.phase.name);
+			return nanos;
+		}
+	}
+
+	/**
+	 * The Phase represents the totals of all the runs of a phase
+	 */
+	static final class Phase {
+
+		final String name;
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong nanos = new AtomicLong();
+		private final AtomicLong allocatedBytes = new AtomicLong();
+
+		Phase(String name) {
+			this.name = name;
+		}
+
+		void add(long runNanos, long runAllocatedBytes) {
+			this.count.incrementAndGet();
+			this.nanos.addAndGet(runNanos);
+			if (runAllocatedBytes < 0) {
+				this.allocatedBytes.set(-1);
+			} else if (this.allocatedBytes.get() >= 0) {
+				this.allocatedBytes.addAndGet(runAllocatedBytes);
+			}
+		}
+
+		Map<String, Object> toMap() {
+			Map<String, Object> values = new LinkedHashMap<String, Object>();
+			values.put("count", Long.valueOf(this.count.get()));
+			values.put("millis", Long.valueOf(TimeUnit.NANOSECONDS.toMillis(this.nanos.get())));
+			if (this.allocatedBytes.get() >= 0) {
+				values.put("allocatedBytes", Long.valueOf(this.allocatedBytes.get()));
+			}
+			return values;
+		}
+	}
+
+	/**
+	 * The Item represents the totals of the visits of a single item
+	 */
+	static final class Item {
+
+		final String name;
+		final AtomicLong visits = new AtomicLong();
+		final AtomicLong nanos = new AtomicLong();
+
+		Item(String name) {
+			this.name = name;
+		}
+
+		Map<String, Object> toMap() {
+			Map<String, Object> values = new LinkedHashMap<String, Object>();
+			values.put("name", this.name);
+			values.put("millis", Long.valueOf(TimeUnit.NANOSECONDS.toMillis(this.nanos.get())));
+			values.put("visits", Long.valueOf(this.visits.get()));
+			return values;
+		}
+	}
+
+}
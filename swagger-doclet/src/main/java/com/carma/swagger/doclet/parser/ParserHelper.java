@@ -6,8 +6,9 @@ import com.google.common.base.Function;
 import com.sun.javadoc.*;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import static com.google.common.base.Objects.firstNonNull;
 import static com.google.common.collect.Lists.transform;
 import static java.util.Arrays.asList;
 
@@ -46,24 +47,11 @@ public class ParserHelper {
 	private static final String JAX_RS_PRODUCES = "javax.ws.rs.Produces";
 	private static final String JAX_RS_DEFAULT_VALUE = "javax.ws.rs.DefaultValue";
 
-	@SuppressWarnings("serial")
-	static final List<String> PRIMITIVES = new ArrayList<String>() {
+	static final Set<String> PRIMITIVES = new HashSet<String>(asList("byte", "boolean", "int", "integer", "long", "float", "double", "short",
+			"char", "string", "date", "number"));
 
-		{
-			add("byte");
-			add("boolean");
-			add("int");
-			add("integer");
-			add("long");
-			add("float");
-			add("double");
-			add("short");
-			add("char");
-			add("string");
-			add("date");
-			add("number");
-		}
-	};
+	// the classes loaded for the container checks, types that are not on the classpath map to Void
+	private static final ConcurrentMap<String, Class<?>> LOADED_CLASSES = new ConcurrentHashMap<String, Class<?>>();
 
 	/**
 	 * This looks up a class doc with the given type from the given collection of classes
@@ -72,18 +60,21 @@ public class ParserHelper {
 	 * @return The class doc or null if none was found
 	 */
 	public static ClassDoc lookUpClassDoc(Type type, Collection<ClassDoc> classes) {
-		for (ClassDoc subResourceClassDoc : classes) {
-			String typeName = type.qualifiedTypeName();
+		String typeName = type.qualifiedTypeName();
 
-			// look for Class<X> way of referencing sub resources
-			ParameterizedType pt = type.asParameterizedType();
-			if (pt != null && typeName.equals("java.lang.Class")) {
-				Type[] typeArgs = pt.typeArguments();
-				if (typeArgs != null && typeArgs.length == 1) {
-					typeName = typeArgs[0].qualifiedTypeName();
-				}
+		// look for Class<X> way of referencing sub resources
+		ParameterizedType pt = type.asParameterizedType();
+		if (pt != null && typeName.equals("java.lang.Class")) {
+			Type[] typeArgs = pt.typeArguments();
+			if (typeArgs != null && typeArgs.length == 1) {
+				typeName = typeArgs[0].qualifiedTypeName();
 			}
+		}
 
+		if (classes instanceof ClassDocIndex) {
+			return ((ClassDocIndex) classes).get(typeName);
+		}
+		for (ClassDoc subResourceClassDoc : classes) {
 			if (subResourceClassDoc.qualifiedTypeName().equals(typeName)) {
 				return subResourceClassDoc;
 			}
@@ -304,73 +295,10 @@ public class ParserHelper {
 	 * dateTime string, date-time
 	 * @param javaType The java type to get the swagger type and format of
 	 * @param options The doclet options
-	 * @return An array with the type as the first item and the format as the 2nd.
+	 * @return An array with the type as the first item and the format as the 2nd, this is shared and must not be modified.
 	 */
 	public static String[] typeOf(String javaType, DocletOptions options) {
-
-		if (javaType.toLowerCase().equals("byte") || javaType.equalsIgnoreCase("java.lang.Byte")) {
-			return new String[] { "string", "byte" };
-		} else if (javaType.toLowerCase().equals("int") || javaType.toLowerCase().equals("integer") || javaType.equalsIgnoreCase("java.lang.Integer")) {
-			return new String[] { "integer", "int32" };
-		} else if (javaType.toLowerCase().equals("short") || javaType.equalsIgnoreCase("java.lang.Short")) {
-			return new String[] { "integer", "int32" };
-		} else if (javaType.toLowerCase().equals("long") || javaType.equalsIgnoreCase("java.lang.Long")) {
-			return new String[] { "integer", "int64" };
-		} else if (javaType.toLowerCase().equals("float") || javaType.equalsIgnoreCase("java.lang.Float")) {
-			return new String[] { "number", "float" };
-		} else if (javaType.toLowerCase().equals("double") || javaType.equalsIgnoreCase("java.lang.Double")) {
-			return new String[] { "number", "double" };
-		} else if (javaType.toLowerCase().equals("string") || javaType.equalsIgnoreCase("java.lang.String")) {
-			return new String[] { "string", null };
-		} else if (javaType.toLowerCase().equals("char") || javaType.equalsIgnoreCase("java.lang.Character")) {
-			return new String[] { "string", null };
-		} else if (javaType.toLowerCase().equals("boolean") || javaType.equalsIgnoreCase("java.lang.Boolean")) {
-			return new String[] { "boolean", null };
-		} else if (javaType.toLowerCase().equals("date") || javaType.equalsIgnoreCase("java.util.Date")) {
-			return new String[] { "string", "date-time" };
-		} else if (isCollection(javaType)) {
-			return new String[] { "array", null };
-		} else if (isSet(javaType)) {
-			return new String[] { "array", null };
-		} else if (isArray(javaType)) {
-			return new String[] { "array", null };
-		} else if (javaType.equalsIgnoreCase("java.io.File")) {
-			// special handling of files, the datatype File is reserved for multipart
-			return new String[] { "JavaFile", null };
-		} else {
-
-			// see if its a special string type
-			for (String prefix : options.getStringTypePrefixes()) {
-				if (javaType.startsWith(prefix)) {
-					return new String[] { "string", null };
-				}
-			}
-
-			// support inner classes, for this we use case sensitivity
-			// e.g. com.my.Foo.Bar should map to Foo-Bar
-			int startPos = -1;
-			for (int i = 0; i < javaType.length(); i++) {
-				char c = javaType.charAt(i);
-				if (Character.isUpperCase(c)) {
-					startPos = i;
-					break;
-				}
-			}
-			if (startPos == -1) {
-				startPos = javaType.lastIndexOf(".") + 1;
-				if (startPos > javaType.length() - 1) {
-					startPos = -1;
-				}
-			}
-
-			if (startPos >= 0) {
-				String typeName = javaType.substring(startPos).replace(".", "-");
-				return new String[] { typeName, null };
-			} else {
-				return new String[] { javaType, null };
-			}
-		}
-
+		return options.getTypeFormatTable().typeOf(javaType, options.getStringTypePrefixes());
 	}
 
 	/**
@@ -475,17 +403,44 @@ public class ParserHelper {
 		return res;
 	}
 
+	/**
+	 * This clears the classes loaded for the container checks, this is done at the start and end of each run
+	 * of the parser so the classes of one run are not held on to
+	 */
+	static void clearLoadedClasses() {
+		LOADED_CLASSES.clear();
+	}
+
+	private static Class<?> loadClass(String javaType) {
+		Class<?> clazz = LOADED_CLASSES.get(javaType);
+		if (clazz == null) {
+			try {
+				clazz = Class.forName(javaType);
+			} catch (ClassNotFoundException ex) {
+				clazz = Void.class;
+			}
+			LOADED_CLASSES.putIfAbsent(javaType, clazz);
+		}
+		return clazz;
+	}
+
+	/**
+	 * This gets the kind of the given type, which is memoized per type name
+	 * @param type The type
+	 * @param options The doclet options
+	 * @return The kind of the type
+	 */
+	public static TypeKind kindOf(Type type, DocletOptions options) {
+		return options.getTypeFormatTable().kindOf(type, options.getStringTypePrefixes());
+	}
+
 	/**
 	 * This gets whether the given type is a Set
 	 * @param javaType The java type
 	 * @return True if this is a Set
 	 */
 	public static boolean isSet(String javaType) {
-		try {
-			return java.util.Set.class.isAssignableFrom(Class.forName(javaType));
-		} catch (ClassNotFoundException ex) {
-			return false;
-		}
+		return java.util.Set.class.isAssignableFrom(loadClass(javaType));
 	}
 
 	/**
@@ -512,11 +467,7 @@ public class ParserHelper {
 	 * @return True if this is a collection
 	 */
 	public static boolean isCollection(String javaType) {
-		try {
-			return java.util.Collection.class.isAssignableFrom(Class.forName(javaType));
-		} catch (ClassNotFoundException ex) {
-			return false;
-		}
+		return java.util.Collection.class.isAssignableFrom(loadClass(javaType));
 	}
 
 	/**
@@ -525,11 +476,7 @@ public class ParserHelper {
 	 * @return True if this is a map
 	 */
 	public static boolean isMap(String javaType) {
-		try {
-			return java.util.Map.class.isAssignableFrom(Class.forName(javaType));
-		} catch (ClassNotFoundException ex) {
-			return false;
-		}
+		return java.util.Map.class.isAssignableFrom(loadClass(javaType));
 	}
 
 	/**
@@ -539,16 +486,11 @@ public class ParserHelper {
 	 * @return True if the parameter is a File data type
 	 */
 	public static boolean isFileParameterDataType(Parameter parameter, DocletOptions options) {
-		if (hasAnnotation(parameter, options.getFileParameterAnnotations(), options)) {
+		if (hasAnnotation(parameter, options.getCompiledOptions().getFileParameterAnnotations(), options)) {
 			return true;
 		}
 		String qName = ParserHelper.getQualifiedTypeName(parameter.type());
-		for (String fileType : options.getFileParameterTypes()) {
-			if (qName.equals(fileType)) {
-				return true;
-			}
-		}
-		return false;
+		return options.getCompiledOptions().getFileParameterTypes().contains(qName);
 	}
 
 	/**
@@ -559,16 +501,11 @@ public class ParserHelper {
 	 * @return True if the parameter is a File data type
 	 */
 	private static boolean isFileParameterDataType(ProgramElementDoc paramMember, Type type, DocletOptions options) {
-		if (hasAnnotation(paramMember, options.getFileParameterAnnotations(), options)) {
+		if (hasAnnotation(paramMember, options.getCompiledOptions().getFileParameterAnnotations(), options)) {
 			return true;
 		}
 		String qName = ParserHelper.getQualifiedTypeName(type);
-		for (String fileType : options.getFileParameterTypes()) {
-			if (qName.equals(fileType)) {
-				return true;
-			}
-		}
-		return false;
+		return options.getCompiledOptions().getFileParameterTypes().contains(qName);
 	}
 
 	/**
@@ -595,27 +532,23 @@ public class ParserHelper {
 		String qName = getQualifiedTypeName(type);
 
 		// bean param and other composites
-		for (String compositeAnnotation : options.getCompositeParamAnnotations()) {
+		for (String compositeAnnotation : options.getCompiledOptions().getCompositeParamAnnotations()) {
 			if (p.isAnnotatedBy(compositeAnnotation)) {
 				return "composite";
 			}
 		}
-		for (String compositeType : options.getCompositeParamTypes()) {
-			if (qName.equals(compositeType)) {
-				return "composite";
-			}
+		if (options.getCompiledOptions().getCompositeParamTypes().contains(qName)) {
+			return "composite";
 		}
 
 		// look for form parameter types
-		for (String formAnnotation : options.getFormParameterAnnotations()) {
+		for (String formAnnotation : options.getCompiledOptions().getFormParameterAnnotations()) {
 			if (p.isAnnotatedBy(formAnnotation)) {
 				return "form";
 			}
 		}
-		for (String formType : options.getFormParameterTypes()) {
-			if (qName.equals(formType)) {
-				return "form";
-			}
+		if (options.getCompiledOptions().getFormParameterTypes().contains(qName)) {
+			return "form";
 		}
 
 		// look for File data types, for multipart these are always form parameter types
@@ -654,27 +587,23 @@ public class ParserHelper {
 		String qName = getQualifiedTypeName(parameter.type());
 
 		// bean param and other composites
-		for (String compositeAnnotation : options.getCompositeParamAnnotations()) {
+		for (String compositeAnnotation : options.getCompiledOptions().getCompositeParamAnnotations()) {
 			if (p.isAnnotatedBy(compositeAnnotation)) {
 				return "composite";
 			}
 		}
-		for (String compositeType : options.getCompositeParamTypes()) {
-			if (qName.equals(compositeType)) {
-				return "composite";
-			}
+		if (options.getCompiledOptions().getCompositeParamTypes().contains(qName)) {
+			return "composite";
 		}
 
 		// look for form parameter types
-		for (String formAnnotation : options.getFormParameterAnnotations()) {
+		for (String formAnnotation : options.getCompiledOptions().getFormParameterAnnotations()) {
 			if (p.isAnnotatedBy(formAnnotation)) {
 				return "form";
 			}
 		}
-		for (String formType : options.getFormParameterTypes()) {
-			if (qName.equals(formType)) {
-				return "form";
-			}
+		if (options.getCompiledOptions().getFormParameterTypes().contains(qName)) {
+			return "form";
 		}
 
 		// look for File data types, for multipart these are always form parameter types
@@ -729,12 +658,15 @@ public class ParserHelper {
 	 * @return The json views for the given method/overridden method or null if there were none
 	 */
 	public static ClassDoc[] getInheritableJsonViews(MethodDoc methodDoc, DocletOptions options) {
-		ClassDoc[] result = null;
-		while (result == null && methodDoc != null) {
-			result = getJsonViews(methodDoc, options);
-			methodDoc = methodDoc.overriddenMethod();
+		if (methodDoc != null) {
+			for (MethodDoc method : MethodLineage.of(methodDoc).getMethods()) {
+				ClassDoc[] result = getJsonViews(method, options);
+				if (result != null) {
+					return result;
+				}
+			}
 		}
-		return result;
+		return null;
 	}
 
 	/**
@@ -859,12 +791,15 @@ public class ParserHelper {
 	 */
 	public static List<String> listInheritableValues(com.sun.javadoc.MethodDoc methodDoc, String qualifiedAnnotationType, String annotationValueName,
 			DocletOptions options) {
-		List<String> result = null;
-		while (result == null && methodDoc != null) {
-			result = listValues(methodDoc, qualifiedAnnotationType, annotationValueName, options);
-			methodDoc = methodDoc.overriddenMethod();
+		if (methodDoc != null) {
+			for (MethodDoc method : MethodLineage.of(methodDoc).getMethods()) {
+				List<String> result = listValues(method, qualifiedAnnotationType, annotationValueName, options);
+				if (result != null) {
+					return result;
+				}
+			}
 		}
-		return result;
+		return null;
 	}
 
 	/**
@@ -950,12 +885,14 @@ public class ParserHelper {
 	 * @return True if the method or an overridden method has any of the given tags
 	 */
 	public static boolean hasInheritableTag(MethodDoc methodDoc, Collection<String> matchTags) {
-		boolean result = false;
-		while (!result && methodDoc != null) {
-			result = hasTag(methodDoc, matchTags);
-			methodDoc = methodDoc.overriddenMethod();
+		if (methodDoc != null && matchTags != null) {
+			for (TagIndex tags : MethodLineage.of(methodDoc).getTagIndexes()) {
+				if (tags.hasAny(matchTags)) {
+					return true;
+				}
+			}
 		}
-		return result;
+		return false;
 	}
 
 	/**
@@ -965,15 +902,7 @@ public class ParserHelper {
 	 * @return True if the item has any of the given tags
 	 */
 	public static boolean hasTag(com.sun.javadoc.ProgramElementDoc item, Collection<String> matchTags) {
-		if (matchTags != null) {
-			for (String matchTag : matchTags) {
-				Tag[] tags = item.tags(matchTag);
-				if (tags != null && tags.length > 0) {
-					return true;
-				}
-			}
-		}
-		return false;
+		return matchTags != null && TagIndex.of(item).hasAny(matchTags);
 	}
 
 	/**
@@ -1014,12 +943,68 @@ public class ParserHelper {
 		return res;
 	}
 
+	/**
+	 * This gets params of the given method that have either any of the matching javadoc tags or annotations
+	 * using the pre-read annotations of the params
+	 * @param method The method
+	 * @param params The pre-read params of the method, if null they will be read from the given method
+	 * @param javadocTags Csv javadoc tags to look at
+	 * @param paramAnnotations The pre-read annotations of the params as returned by {@link #getInheritableParameterAnnotations(MethodDoc, Set)}
+	 * @param annotations Annotations to look at
+	 * @param options The doclet options
+	 * @return A set of param names for the params that have either any of the matching javadoc tags or annotations
+	 */
+	public static Set<String> getMatchingParams(com.sun.javadoc.MethodDoc method, Set<String> params, Collection<String> javadocTags,
+			Map<String, Set<String>> paramAnnotations, Set<String> annotations, DocletOptions options) {
+
+		// find params based on javadoc tags
+		Set<String> res = new HashSet<String>(getCsvParams(method, params, javadocTags, options));
+
+		// add on params that have one of the param annotations
+		for (Map.Entry<String, Set<String>> entry : paramAnnotations.entrySet()) {
+			if (!Collections.disjoint(entry.getValue(), annotations)) {
+				res.add(entry.getKey());
+			}
+		}
+
+		return res;
+	}
+
+	/**
+	 * This gets the annotations of the parameters of the given method or an overridden method that are any
+	 * of the given annotations, this allows the parameters to be read once for several sets of annotations
+	 * @param methodDoc The method
+	 * @param annotations The annotations to look for
+	 * @return A map of param name to the given annotations it has, params without any of them are left out
+	 */
+	public static Map<String, Set<String>> getInheritableParameterAnnotations(com.sun.javadoc.MethodDoc methodDoc, Set<String> annotations) {
+		Map<String, Set<String>> result = new HashMap<String, Set<String>>();
+		if (methodDoc != null && !annotations.isEmpty()) {
+			for (MethodDoc method : MethodLineage.of(methodDoc).getMethods()) {
+				for (Parameter p : method.parameters()) {
+					for (AnnotationDesc annotation : p.annotations()) {
+						String qName = annotation.annotationType().qualifiedTypeName();
+						if (annotations.contains(qName)) {
+							Set<String> paramAnnotations = result.get(p.name());
+							if (paramAnnotations == null) {
+								paramAnnotations = new HashSet<String>();
+								result.put(p.name(), paramAnnotations);
+							}
+							paramAnnotations.add(qName);
+						}
+					}
+				}
+			}
+		}
+		return result;
+	}
+
 	private static Set<String> getInheritableParametersWithAnnotation(com.sun.javadoc.MethodDoc methodDoc, Collection<String> annotations) {
 		Set<String> result = new HashSet<String>();
-		while (methodDoc != null) {
-			Set<String> subResult = getParametersWithAnnotation(methodDoc, annotations);
-			result.addAll(subResult);
-			methodDoc = methodDoc.overriddenMethod();
+		if (methodDoc != null) {
+			for (MethodDoc method : MethodLineage.of(methodDoc).getMethods()) {
+				result.addAll(getParametersWithAnnotation(method, annotations));
+			}
 		}
 		return result;
 	}
@@ -1073,14 +1058,13 @@ public class ParserHelper {
 	 */
 	public static Parameter getParameterWithAnnotations(MethodDoc methodDoc, int paramIndex) {
 		final Parameter fallbackParameter = methodDoc.parameters()[paramIndex];
-		Parameter parameter;
-		boolean found;
-		do {
-			parameter = methodDoc.parameters()[paramIndex];
-			found = (parameter.annotations() != null && parameter.annotations().length > 0);
-			methodDoc = methodDoc.overriddenMethod();
-		} while (methodDoc != null && !found);
-		return (found) ? parameter : fallbackParameter;
+		for (MethodDoc method : MethodLineage.of(methodDoc).getMethods()) {
+			Parameter parameter = method.parameters()[paramIndex];
+			if (parameter.annotations() != null && parameter.annotations().length > 0) {
+				return parameter;
+			}
+		}
+		return fallbackParameter;
 	}
 
 	public static Type getParamType(DocletOptions options, Type type) {
@@ -1090,7 +1074,7 @@ public class ParserHelper {
 				Type[] typeArgs = pt.typeArguments();
 				if (typeArgs != null && typeArgs.length > 0) {
 					// if its a generic wrapper type then return the wrapped type
-					if (options.getGenericWrapperTypes().contains(type.qualifiedTypeName())) {
+					if (options.getCompiledOptions().getGenericWrapperTypes().contains(type.qualifiedTypeName())) {
 						return typeArgs[0];
 					}
 				}
@@ -1154,14 +1138,15 @@ public class ParserHelper {
 	public static Map<String, String> getParameterValuesWithAnnotation(com.sun.javadoc.MethodDoc methodDoc, Collection<String> annotations,
 			TypeFilter annotationTypes, DocletOptions options, String... valueKeys) {
 		Map<String, String> res = new HashMap<String, String>();
-		while (methodDoc != null) {
-			for (Parameter p : methodDoc.parameters()) {
-				String value = new AnnotationParser(p, options).getAnnotationValue(annotations, valueKeys);
-				if (value != null && (annotationTypes == null || annotationTypes.matches(p.type()))) {
-					res.put(p.name(), value);
+		if (methodDoc != null) {
+			for (MethodDoc method : MethodLineage.of(methodDoc).getMethods()) {
+				for (Parameter p : method.parameters()) {
+					String value = new AnnotationParser(p, options).getAnnotationValue(annotations, valueKeys);
+					if (value != null && (annotationTypes == null || annotationTypes.matches(p.type()))) {
+						res.put(p.name(), value);
+					}
 				}
 			}
-			methodDoc = methodDoc.overriddenMethod();
 		}
 		return res;
 	}
@@ -1337,12 +1322,10 @@ public class ParserHelper {
 	 * @return The resolved HttpMethod
 	 */
 	public static HttpMethod resolveMethodHttpMethod(MethodDoc methodDoc) {
-		HttpMethod result = null;
-		while (result == null && methodDoc != null) {
-			result = HttpMethod.fromMethod(methodDoc);
-			methodDoc = methodDoc.overriddenMethod();
+		if (methodDoc != null) {
+			return MethodLineage.of(methodDoc).getHttpMethod();
 		}
-		return result;
+		return null;
 	}
 
 	/**
@@ -1352,12 +1335,10 @@ public class ParserHelper {
 	 * @return The resolved path
 	 */
 	public static String resolveMethodPath(MethodDoc methodDoc, DocletOptions options) {
-		String result = "";
-		while (result.isEmpty() && methodDoc != null) {
-			result = firstNonNull(parsePath(methodDoc, options), "");
-			methodDoc = methodDoc.overriddenMethod();
+		if (methodDoc != null) {
+			return MethodLineage.of(methodDoc).getPath(options);
 		}
-		return result;
+		return "";
 	}
 
 	/**
@@ -1366,22 +1347,19 @@ public class ParserHelper {
 	 * @return The first sentence tag or null if there is none
 	 */
 	public static String getInheritableFirstSentenceTags(MethodDoc methodDoc) {
-		String result = null;
-		while (result == null && methodDoc != null) {
-
-			Tag[] fst = methodDoc.firstSentenceTags();
-			if (fst != null && fst.length > 0) {
-				StringBuilder sentences = new StringBuilder();
-				for (Tag tag : fst) {
-					sentences.append(tag.text());
+		if (methodDoc != null) {
+			for (MethodDoc method : MethodLineage.of(methodDoc).getMethods()) {
+				Tag[] fst = method.firstSentenceTags();
+				if (fst != null && fst.length > 0) {
+					StringBuilder sentences = new StringBuilder();
+					for (Tag tag : fst) {
+						sentences.append(tag.text());
+					}
+					return sentences.toString();
 				}
-				String firstSentences = sentences.toString();
-				result = firstSentences;
 			}
-
-			methodDoc = methodDoc.overriddenMethod();
 		}
-		return result;
+		return null;
 	}
 
 	/**
@@ -1390,17 +1368,15 @@ public class ParserHelper {
 	 * @return The first sentence tag or null if there is none
 	 */
 	public static String getInheritableCommentText(MethodDoc methodDoc) {
-		String result = null;
-		while (result == null && methodDoc != null) {
-
-			String commentText = methodDoc.commentText();
-			if (commentText != null && !commentText.isEmpty()) {
-				result = commentText;
+		if (methodDoc != null) {
+			for (MethodDoc method : MethodLineage.of(methodDoc).getMethods()) {
+				String commentText = method.commentText();
+				if (commentText != null && !commentText.isEmpty()) {
+					return commentText;
+				}
 			}
-
-			methodDoc = methodDoc.overriddenMethod();
 		}
-		return result;
+		return null;
 	}
 
 	/**
@@ -1411,12 +1387,15 @@ public class ParserHelper {
 	 * @return A list of tag values or null if none were found
 	 */
 	public static List<String> getInheritableTagValues(com.sun.javadoc.MethodDoc methodDoc, Collection<String> matchTags, DocletOptions options) {
-		List<String> result = null;
-		while (result == null && methodDoc != null) {
-			result = getTagValues(methodDoc, matchTags, options);
-			methodDoc = methodDoc.overriddenMethod();
+		if (methodDoc != null && matchTags != null) {
+			for (TagIndex tags : MethodLineage.of(methodDoc).getTagIndexes()) {
+				List<String> result = getTagValues(tags.getValues(matchTags), options);
+				if (result != null) {
+					return result;
+				}
+			}
 		}
-		return result;
+		return null;
 	}
 
 	/**
@@ -1427,24 +1406,21 @@ public class ParserHelper {
 	 * @return A list of tag values or null if none were found
 	 */
 	public static List<String> getTagValues(com.sun.javadoc.ProgramElementDoc item, Collection<String> matchTags, DocletOptions options) {
-		List<String> res = null;
-		if (matchTags != null) {
-			Tag[] tags = item.tags();
-			if (tags != null && tags.length > 0) {
-				for (Tag tag : tags) {
-					if (matchTags.contains(tag.name().substring(1))) {
-						if (res == null) {
-							res = new ArrayList<String>();
-						}
-						String customValue = tag.text().trim();
-						if (customValue.length() > 0) {
-							res.add(options.replaceVars(customValue));
-						}
-					}
-				}
-			}
+		if (matchTags == null) {
+			return null;
 		}
-		return res == null || res.isEmpty() ? null : res;
+		return getTagValues(TagIndex.of(item).getValues(matchTags), options);
+	}
+
+	private static List<String> getTagValues(List<String> values, DocletOptions options) {
+		if (values.isEmpty()) {
+			return null;
+		}
+		List<String> res = new ArrayList<String>(values.size());
+		for (String value : values) {
+			res.add(options.replaceVars(value));
+		}
+		return res;
 	}
 
 	/**
@@ -1456,12 +1432,15 @@ public class ParserHelper {
 	 *         was not present or had no value
 	 */
 	public static String getInheritableTagValue(MethodDoc methodDoc, Collection<String> matchTags, DocletOptions options) {
-		String result = null;
-		while (result == null && methodDoc != null) {
-			result = getTagValue(methodDoc, matchTags, options);
-			methodDoc = methodDoc.overriddenMethod();
+		if (methodDoc != null && matchTags != null) {
+			for (TagIndex tags : MethodLineage.of(methodDoc).getTagIndexes()) {
+				String result = options.replaceVars(tags.getValue(matchTags));
+				if (result != null) {
+					return result;
+				}
+			}
 		}
-		return result;
+		return null;
 	}
 
 	/**
@@ -1475,16 +1454,7 @@ public class ParserHelper {
 	public static String getTagValue(com.sun.javadoc.ProgramElementDoc item, Collection<String> matchTags, DocletOptions options) {
 		String customValue = null;
 		if (matchTags != null) {
-			for (String matchTag : matchTags) {
-				Tag[] tags = item.tags(matchTag);
-				if (tags != null && tags.length > 0) {
-					customValue = tags[0].text().trim();
-					if (customValue.length() == 0) {
-						customValue = null;
-					}
-					break;
-				}
-			}
+			customValue = TagIndex.of(item).getValue(matchTags);
 		}
 		return options.replaceVars(customValue);
 	}
@@ -1505,12 +1475,14 @@ public class ParserHelper {
 	 * @return True if the method or an overridden method has one of the given annotations
 	 */
 	public static boolean hasInheritableAnnotation(MethodDoc methodDoc, Collection<String> annotations, DocletOptions options) {
-		boolean result = false;
-		while (!result && methodDoc != null) {
-			result = hasAnnotation(methodDoc, annotations, options);
-			methodDoc = methodDoc.overriddenMethod();
+		if (methodDoc != null) {
+			for (MethodDoc method : MethodLineage.of(methodDoc).getMethods()) {
+				if (hasAnnotation(method, annotations, options)) {
+					return true;
+				}
+			}
 		}
-		return result;
+		return false;
 	}
 
 	/**
@@ -1654,6 +1626,9 @@ public class ParserHelper {
 			if (PRIMITIVE_TO_CLASS.containsKey(qualifiedClassName)) {
 				qualifiedClassName = PRIMITIVE_TO_CLASS.get(qualifiedClassName);
 			}
+			if (classes instanceof ClassDocIndex) {
+				return ((ClassDocIndex) classes).get(qualifiedClassName);
+			}
 			for (ClassDoc cls : classes) {
 				if (qualifiedClassName.equals(cls.qualifiedName())) {
 					return cls;
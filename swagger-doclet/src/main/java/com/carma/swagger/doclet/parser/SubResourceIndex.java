@@ -0,0 +1,111 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MethodDoc;
+
+/**
+ * The SubResourceIndex represents the sub resource classes of the api, these are the classes returned by the
+ * methods of the resource classes or their super classes that have a path but no http method. It is built in a
+ * single pass over the methods of the classes which memoizes their path and http method in their
+ * {@link MethodLineage} so the parsing of the methods does not resolve them again. The class the return type of
+ * each sub resource method resolves to is kept too.
+ * @version $Id$
+ */
+public final class SubResourceIndex {
+
+	private static final SubResourceIndex EMPTY = new SubResourceIndex(Collections.<ClassDoc> emptySet(), Collections.<MethodDoc, ClassDoc> emptyMap());
+
+	private final Set<ClassDoc> subResourceClasses;
+	private final Map<MethodDoc, ClassDoc> returnClasses;
+
+	private SubResourceIndex(Set<ClassDoc> subResourceClasses, Map<MethodDoc, ClassDoc> returnClasses) {
+		this.subResourceClasses = subResourceClasses;
+		this.returnClasses = returnClasses;
+	}
+
+	/**
+	 * This builds the index of the sub resources of the given classes
+	 * @param classes The doclet classes, these are the classes sub resources are looked up in too
+	 * @param options The doclet options
+	 * @return The index
+	 */
+	public static SubResourceIndex build(Collection<ClassDoc> classes, DocletOptions options) {
+		Set<ClassDoc> subResourceClasses = new LinkedHashSet<ClassDoc>();
+		Map<MethodDoc, ClassDoc> returnClasses = new HashMap<MethodDoc, ClassDoc>();
+		Set<ClassDoc> visited = new LinkedHashSet<ClassDoc>();
+		for (ClassDoc classDoc : classes) {
+			ClassDoc currentClassDoc = classDoc;
+			// super classes shared by many resources only need to be walked once
+			while (currentClassDoc != null && visited.add(currentClassDoc)) {
+
+				for (MethodDoc method : currentClassDoc.methods()) {
+					MethodLineage lineage = MethodLineage.of(method);
+					if (lineage.getOwnPath(options) != null && lineage.getOwnHttpMethod() == null) {
+						ClassDoc subResourceClassDoc = ParserHelper.lookUpClassDoc(method.returnType(), classes);
+						if (subResourceClassDoc != null) {
+							subResourceClasses.add(subResourceClassDoc);
+							returnClasses.put(method, subResourceClassDoc);
+						}
+					}
+				}
+
+				currentClassDoc = currentClassDoc.superclass();
+
+				// ignore parent object class
+				if (!ParserHelper.hasAncestor(currentClassDoc)) {
+					break;
+				}
+			}
+		}
+		return new SubResourceIndex(Collections.unmodifiableSet(subResourceClasses), returnClasses);
+	}
+
+	/**
+	 * This gets an index without any sub resources
+	 * @return The empty index
+	 */
+	public static SubResourceIndex empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * This gets whether the given class is a sub resource
+	 * @param classDoc The class
+	 * @return True if the class is returned by a sub resource method
+	 */
+	public boolean isSubResourceClass(ClassDoc classDoc) {
+		return this.subResourceClasses.contains(classDoc);
+	}
+
+	/**
+	 * This gets the sub resource classes
+	 * @return The sub resource classes
+	 */
+	public Set<ClassDoc> getSubResourceClasses() {
+		return this.subResourceClasses;
+	}
+
+	/**
+	 * This gets the class the return type of the given sub resource method resolves to
+	 * @param method The sub resource method
+	 * @param classes The classes to look the class up in
+	 * @return The class or null if it is not one of the given classes
+	 */
+	ClassDoc getReturnClass(MethodDoc method, Collection<ClassDoc> classes) {
+		ClassDoc returnClass = this.returnClasses.get(method);
+		if (returnClass == null) {
+			// the method inherits its path or is not one of the indexed classes
+			return ParserHelper.lookUpClassDoc(method.returnType(), classes);
+		}
+		return classes.contains(returnClass) ? returnClass : null;
+	}
+
+}
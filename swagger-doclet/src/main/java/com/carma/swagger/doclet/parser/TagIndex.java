@@ -0,0 +1,136 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.MapMaker;
+import com.sun.javadoc.ProgramElementDoc;
+import com.sun.javadoc.Tag;
+
+/**
+ * The TagIndex represents the javadoc tags of a single element indexed by their name so that the tag helpers
+ * of the {@link ParserHelper} don't have to scan the tags of an element for every tag name they look for.
+ * The indexes are memoized per element. They only hold the tag texts, not the javadoc items, so that the
+ * weakly held elements of earlier runs can be garbage collected.
+ * @version $Id$
+ */
+final class TagIndex {
+
+	private static final ConcurrentMap<ProgramElementDoc, TagIndex> INDEXES = new MapMaker().weakKeys().makeMap();
+
+	// the trimmed text of the first tag of each kind, the kind is what javadoc matches in Doc.tags(String)
+	private final Map<String, String> firstTextByKind;
+	// the names and trimmed texts of all the tags in the order they were declared
+	private final String[] names;
+	private final String[] texts;
+	private final Set<String> nameSet;
+
+	private TagIndex(Tag[] tags) {
+		if (tags == null || tags.length == 0) {
+			this.firstTextByKind = Collections.emptyMap();
+			this.names = new String[0];
+			this.texts = new String[0];
+			this.nameSet = Collections.emptySet();
+			return;
+		}
+		this.firstTextByKind = new HashMap<String, String>(tags.length * 2);
+		this.names = new String[tags.length];
+		this.texts = new String[tags.length];
+		this.nameSet = new HashSet<String>(tags.length * 2);
+		for (int i = 0; i < tags.length; i++) {
+			String text = tags[i].text().trim();
+			String kind = tags[i].kind().substring(1);
+			if (!this.firstTextByKind.containsKey(kind)) {
+				this.firstTextByKind.put(kind, text);
+			}
+			this.names[i] = tags[i].name().substring(1);
+			this.texts[i] = text;
+			this.nameSet.add(this.names[i]);
+		}
+	}
+
+	/**
+	 * This gets the tag index of the given item
+	 * @param item The javadoc item
+	 * @return The tag index
+	 */
+	static TagIndex of(ProgramElementDoc item) {
+		TagIndex index = INDEXES.get(item);
+		if (index == null) {
+			index = new TagIndex(item.tags());
+			TagIndex existing = INDEXES.putIfAbsent(item, index);
+			if (existing != null) {
+				index = existing;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * This gets the trimmed text of the first tag of the given name
+	 * @param tagName The name of the tag with or without the leading @
+	 * @return The text or null if there is no tag with the name
+	 */
+	String getFirstText(String tagName) {
+		return this.firstTextByKind.get(tagName.startsWith("@") ? tagName.substring(1) : tagName);
+	}
+
+	/**
+	 * This gets whether there is a tag of any of the given names
+	 * @param tagNames The names of the tags
+	 * @return True if there is a tag of any of the names
+	 */
+	boolean hasAny(Collection<String> tagNames) {
+		if (tagNames != null && !this.firstTextByKind.isEmpty()) {
+			for (String tagName : tagNames) {
+				if (getFirstText(tagName) != null) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * This gets the value of the first of the given tag names that there is a tag for
+	 * @param tagNames The names of the tags in order of preference
+	 * @return The value or null if there was no such tag or it had no text
+	 */
+	String getValue(Collection<String> tagNames) {
+		if (tagNames != null && !this.firstTextByKind.isEmpty()) {
+			for (String tagName : tagNames) {
+				String text = getFirstText(tagName);
+				if (text != null) {
+					return text.length() == 0 ? null : text;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * This gets the values of all the tags with any of the given names in the order they were declared
+	 * @param tagNames The names of the tags
+	 * @return The values, which is empty if there were none
+	 */
+	List<String> getValues(Collection<String> tagNames) {
+		if (tagNames == null || Collections.disjoint(this.nameSet, tagNames)) {
+			return Collections.emptyList();
+		}
+		List<String> values = new ArrayList<String>();
+		for (int i = 0; i < this.names.length; i++) {
+			if (tagNames.contains(this.names[i]) && this.texts[i].length() > 0) {
+				values.add(this.texts[i]);
+			}
+		}
+		return values;
+	}
+
+}
@@ -0,0 +1,191 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.Type;
+
+/**
+ * The TypeFormatTable represents the mapping of java type names to their swagger type and format
+ * as returned by {@link ParserHelper#typeOf(String, com.carma.swagger.doclet.DocletOptions)}.
+ * The primitives and their wrappers are looked up in a fixed table and the result for every other
+ * type name is memoized, so repeat lookups are a single hash probe. As the result of a type name can
+ * depend on the string type prefixes the memo is discarded when those change.
+ * The table also memoizes the {@link TypeKind} of each type so that the model parser classifies a type
+ * with a single lookup, this memo is cleared at the start of each run as it depends on the class docs.
+ * @version $Id$
+ */
+public class TypeFormatTable {
+
+	private static final String[] ARRAY = new String[] { "array", null };
+	private static final String[] STRING = new String[] { "string", null };
+	private static final String[] JAVA_FILE = new String[] { "JavaFile", null };
+
+	// keyed by the lower case type name as the names are matched ignoring case
+	private static final Map<String, String[]> PRIMITIVES = new HashMap<String, String[]>();
+	static {
+		addPrimitive(new String[] { "string", "byte" }, "byte", "java.lang.Byte");
+		addPrimitive(new String[] { "integer", "int32" }, "int", "integer", "java.lang.Integer");
+		addPrimitive(new String[] { "integer", "int32" }, "short", "java.lang.Short");
+		addPrimitive(new String[] { "integer", "int64" }, "long", "java.lang.Long");
+		addPrimitive(new String[] { "number", "float" }, "float", "java.lang.Float");
+		addPrimitive(new String[] { "number", "double" }, "double", "java.lang.Double");
+		addPrimitive(STRING, "string", "java.lang.String");
+		addPrimitive(STRING, "char", "java.lang.Character");
+		addPrimitive(new String[] { "boolean", null }, "boolean", "java.lang.Boolean");
+		addPrimitive(new String[] { "string", "date-time" }, "date", "java.util.Date");
+	}
+
+	private static void addPrimitive(String[] typeFormat, String... javaTypes) {
+		for (String javaType : javaTypes) {
+			PRIMITIVES.put(javaType.toLowerCase(), typeFormat);
+		}
+	}
+
+	private volatile Memo memo = new Memo(Collections.<String> emptyList());
+
+	/**
+	 * This gets the swagger type and format of the given java type. The returned array is shared
+	 * and must not be modified.
+	 * @param javaType The java type
+	 * @param stringTypePrefixes The prefixes of the types that are mapped to the string type
+	 * @return An array with the type as the first item and the format as the 2nd.
+	 */
+	public String[] typeOf(String javaType, List<String> stringTypePrefixes) {
+		return typeOf(javaType, memo(stringTypePrefixes));
+	}
+
+	/**
+	 * This gets the kind of the given type
+	 * @param type The type
+	 * @param stringTypePrefixes The prefixes of the types that are mapped to the string type
+	 * @return The kind of the type
+	 */
+	public TypeKind kindOf(Type type, List<String> stringTypePrefixes) {
+		Memo current = memo(stringTypePrefixes);
+		// type variables of the same name can have different bounds so are not memoized
+		if (type.asTypeVariable() != null) {
+			return classify(type, current);
+		}
+		String key = type.qualifiedTypeName() + type.dimension();
+		TypeKind kind = current.typeKinds.get(key);
+		if (kind == null) {
+			kind = classify(type, current);
+			current.typeKinds.putIfAbsent(key, kind);
+		}
+		return kind;
+	}
+
+	/**
+	 * This clears the memoized type kinds and formats
+	 */
+	public void clear() {
+		this.memo = new Memo(this.memo.stringTypePrefixes);
+	}
+
+	private Memo memo(List<String> stringTypePrefixes) {
+		Memo current = this.memo;
+		if (!current.stringTypePrefixes.equals(stringTypePrefixes)) {
+			current = new Memo(new ArrayList<String>(stringTypePrefixes));
+			this.memo = current;
+		}
+		return current;
+	}
+
+	private static String[] typeOf(String javaType, Memo current) {
+		String[] typeFormat = current.typeFormats.get(javaType);
+		if (typeFormat == null) {
+			typeFormat = lookUp(javaType, current.stringTypePrefixes);
+			current.typeFormats.putIfAbsent(javaType, typeFormat);
+		}
+		return typeFormat;
+	}
+
+	private static TypeKind classify(Type type, Memo current) {
+		String qName = type.qualifiedTypeName();
+		if (ParserHelper.PRIMITIVES.contains(typeOf(ParserHelper.getQualifiedTypeName(type), current)[0])) {
+			return TypeKind.PRIMITIVE;
+		} else if (qName.startsWith("javax.")) {
+			return TypeKind.JAVAX;
+		} else if (qName.equals("java.lang.Object") || qName.equals("java.lang.Class") || qName.equals("?")) {
+			return TypeKind.OBJECT;
+		} else if (ParserHelper.isSet(qName)) {
+			return TypeKind.SET;
+		} else if (ParserHelper.isCollection(qName)) {
+			return TypeKind.COLLECTION;
+		} else if (ParserHelper.isMap(qName)) {
+			return TypeKind.MAP;
+		} else if (ParserHelper.isArray(type)) {
+			return TypeKind.ARRAY;
+		}
+		ClassDoc classDoc = type.asClassDoc();
+		if (classDoc == null) {
+			return TypeKind.OBJECT;
+		}
+		return classDoc.isEnum() ? TypeKind.ENUM : TypeKind.MODEL;
+	}
+
+	private static String[] lookUp(String javaType, List<String> stringTypePrefixes) {
+		String[] typeFormat = PRIMITIVES.get(javaType.toLowerCase());
+		if (typeFormat != null) {
+			return typeFormat;
+		} else if (ParserHelper.isCollection(javaType) || ParserHelper.isSet(javaType) || ParserHelper.isArray(javaType)) {
+			return ARRAY;
+		} else if (javaType.equalsIgnoreCase("java.io.File")) {
+			// special handling of files, the datatype File is reserved for multipart
+			return JAVA_FILE;
+		}
+
+		// see if its a special string type
+		for (String prefix : stringTypePrefixes) {
+			if (javaType.startsWith(prefix)) {
+				return STRING;
+			}
+		}
+
+		// support inner classes, for this we use case sensitivity
+		// e.g. com.my.Foo.Bar should map to Foo-Bar
+		int startPos = -1;
+		for (int i = 0; i < javaType.length(); i++) {
+			char c = javaType.charAt(i);
+			if (Character.isUpperCase(c)) {
+				startPos = i;
+				break;
+			}
+		}
+		if (startPos == -1) {
+			startPos = javaType.lastIndexOf(".") + 1;
+			if (startPos > javaType.length() - 1) {
+				startPos = -1;
+			}
+		}
+
+		if (startPos >= 0) {
+			String typeName = javaType.substring(startPos).replace(".", "-");
+			return new String[] { typeName, null };
+		} else {
+			return new String[] { javaType, null };
+		}
+	}
+
+	/**
+	 * The Memo represents the memoized type formats and kinds for a set of string type prefixes
+	 */
+	private static final class Memo {
+
+		final List<String> stringTypePrefixes;
+		final ConcurrentMap<String, String[]> typeFormats = new ConcurrentHashMap<String, String[]>();
+		final ConcurrentMap<String, TypeKind> typeKinds = new ConcurrentHashMap<String, TypeKind>();
+
+		Memo(List<String> stringTypePrefixes) {
+			this.stringTypePrefixes = stringTypePrefixes;
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.carma.swagger.doclet.parser;
+
+/**
+ * The TypeKind represents the kind of a java type as far as the model parsing is concerned.
+ * Only types of the kind {@link #MODEL} are parsed into models.
+ * @version $Id$
+ */
+public enum TypeKind {
+
+	/**
+	 * This means the type maps to a primitive swagger type such as integer, string or date
+	 */
+	PRIMITIVE,
+	/**
+	 * This means the type is a collection that is not a set
+	 */
+	COLLECTION,
+	/**
+	 * This means the type is a set
+	 */
+	SET,
+	/**
+	 * This means the type is a map
+	 */
+	MAP,
+	/**
+	 * This means the type is an array
+	 */
+	ARRAY,
+	/**
+	 * This means the type is in the javax package
+	 */
+	JAVAX,
+	/**
+	 * This means the type is Object, Class, a wildcard or a type that has no class doc
+	 */
+	OBJECT,
+	/**
+	 * This means the type is a class that can be parsed into a model
+	 */
+	MODEL,
+	/**
+	 * This means the type is an enum
+	 */
+	ENUM;
+
+	/**
+	 * This gets whether this kind is a collection, including sets
+	 * @return True if this is a collection or a set
+	 */
+	public boolean isCollection() {
+		return this == COLLECTION || this == SET;
+	}
+
+}
@@ -5,8 +5,8 @@ import com.carma.swagger.doclet.parser.AnnotationParser;
 import com.carma.swagger.doclet.parser.ParserHelper;
 import com.sun.javadoc.*;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.carma.swagger.doclet.translator.Translator.OptionalName.ignored;
 import static com.carma.swagger.doclet.translator.Translator.OptionalName.presentOrMissing;
@@ -33,7 +33,7 @@ public class AnnotationAwareTranslator implements Translator {
 	 */
 	public AnnotationAwareTranslator(DocletOptions options) {
 		this.options = options;
-		this.typeNameCache = new HashMap<QualifiedType, OptionalName>();
+		this.typeNameCache = new ConcurrentHashMap<QualifiedType, OptionalName>();
 	}
 
 	/**
@@ -0,0 +1,203 @@
+package com.carma.swagger.doclet.translator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.FieldDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.Parameter;
+import com.sun.javadoc.Type;
+import com.sun.javadoc.TypeVariable;
+
+/**
+ * The CachingTranslator represents a translator that remembers the names returned by another translator,
+ * typically the whole {@link FirstNotNullTranslator} chain, so a name is only worked out once however many links
+ * the chain has. The type, field and method names are cached in concurrent maps so it can be used by parallel parsing.
+ * The caches are bounded, when one is full it is cleared.
+ * @version $Id$
+ */
+public class CachingTranslator implements Translator {
+
+	private static final int DEFAULT_MAX_ENTRIES = 20000;
+
+	private final Translator delegate;
+	private final int maxEntries;
+
+	private final ConcurrentMap<String, OptionalName> typeNames = new ConcurrentHashMap<String, OptionalName>();
+	private final ConcurrentMap<String, OptionalName> fieldNames = new ConcurrentHashMap<String, OptionalName>();
+	private final ConcurrentMap<String, OptionalName> methodNames = new ConcurrentHashMap<String, OptionalName>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * This creates a CachingTranslator with the default bound on the number of entries
+	 * @param delegate The translator whose names are cached
+	 */
+	public CachingTranslator(Translator delegate) {
+		this(delegate, DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * This creates a CachingTranslator
+	 * @param delegate The translator whose names are cached
+	 * @param maxEntries The max number of entries each of the type, field and method name caches can have
+	 */
+	public CachingTranslator(Translator delegate, int maxEntries) {
+		this.delegate = delegate;
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see com.carma.swagger.doclet.translator.Translator#typeName(com.sun.javadoc.Type, com.sun.javadoc.ClassDoc[])
+	 */
+	public OptionalName typeName(Type type, ClassDoc[] views) {
+		if (type == null) {
+			return this.delegate.typeName(type, views);
+		}
+		StringBuilder key = new StringBuilder("views:").append(typeKey(type));
+		if (views != null) {
+			for (ClassDoc view : views) {
+				key.append(',').append(view.qualifiedName());
+			}
+		}
+		String cacheKey = key.toString();
+		OptionalName name = this.typeNames.get(cacheKey);
+		if (name == null) {
+			name = cache(this.typeNames, cacheKey, this.delegate.typeName(type, views));
+		} else {
+			this.hits.incrementAndGet();
+		}
+		return name;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see com.carma.swagger.doclet.translator.Translator#typeName(com.sun.javadoc.Type)
+	 */
+	public OptionalName typeName(Type type) {
+		if (type == null) {
+			return this.delegate.typeName(type);
+		}
+		String cacheKey = "type:" + typeKey(type);
+		OptionalName name = this.typeNames.get(cacheKey);
+		if (name == null) {
+			name = cache(this.typeNames, cacheKey, this.delegate.typeName(type));
+		} else {
+			this.hits.incrementAndGet();
+		}
+		return name;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see com.carma.swagger.doclet.translator.Translator#parameterTypeName(boolean, com.sun.javadoc.Parameter, com.sun.javadoc.Type)
+	 */
+	public OptionalName parameterTypeName(boolean multipart, Parameter parameter, Type paramType) {
+		// multipart names depend on the annotations of the parameter itself rather than just its type
+		if (multipart) {
+			return this.delegate.parameterTypeName(multipart, parameter, paramType);
+		}
+		Type type = paramType == null ? parameter.type() : paramType;
+		String cacheKey = "param:" + typeKey(type);
+		OptionalName name = this.typeNames.get(cacheKey);
+		if (name == null) {
+			name = cache(this.typeNames, cacheKey, this.delegate.parameterTypeName(multipart, parameter, paramType));
+		} else {
+			this.hits.incrementAndGet();
+		}
+		return name;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see com.carma.swagger.doclet.translator.Translator#fieldName(com.sun.javadoc.FieldDoc)
+	 */
+	public OptionalName fieldName(FieldDoc field) {
+		String cacheKey = field.qualifiedName();
+		OptionalName name = this.fieldNames.get(cacheKey);
+		if (name == null) {
+			name = cache(this.fieldNames, cacheKey, this.delegate.fieldName(field));
+		} else {
+			this.hits.incrementAndGet();
+		}
+		return name;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see com.carma.swagger.doclet.translator.Translator#methodName(com.sun.javadoc.MethodDoc)
+	 */
+	public OptionalName methodName(MethodDoc method) {
+		String cacheKey = method.qualifiedName() + method.signature();
+		OptionalName name = this.methodNames.get(cacheKey);
+		if (name == null) {
+			name = cache(this.methodNames, cacheKey, this.delegate.methodName(method));
+		} else {
+			this.hits.incrementAndGet();
+		}
+		return name;
+	}
+
+	/**
+	 * This clears the cached names, the hit and miss counts are kept
+	 */
+	public void clear() {
+		this.typeNames.clear();
+		this.fieldNames.clear();
+		this.methodNames.clear();
+	}
+
+	/**
+	 * This gets the number of names that were found in the cache
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * This gets the number of names that had to be worked out by the delegate translator
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * This gets the translator whose names are cached
+	 * @return the delegate
+	 */
+	public Translator getDelegate() {
+		return this.delegate;
+	}
+
+	private OptionalName cache(ConcurrentMap<String, OptionalName> names, String key, OptionalName name) {
+		this.misses.incrementAndGet();
+		// null names can't be stored in a concurrent map, they are cheap to work out again as no link matched
+		if (name != null) {
+			if (names.size() >= this.maxEntries) {
+				names.clear();
+			}
+			names.put(key, name);
+		}
+		return name;
+	}
+
+	private static String typeKey(Type type) {
+		// the translators name types by their class and dimension, type variables of the same name
+		// can have different owners and so bounds
+		TypeVariable var = type.asTypeVariable();
+		if (var != null) {
+			return var.typeName() + "@" + var.owner() + type.dimension();
+		}
+		if (type.asWildcardType() != null) {
+			return type.toString();
+		}
+		return type.qualifiedTypeName() + type.dimension();
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.carma.swagger.doclet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * The CompiledOptionsTest represents a test case of the frozen snapshot of the lookup collections of the doclet options
+ * @version $Id$
+ */
+public class CompiledOptionsTest extends TestCase {
+
+	/**
+	 * This tests that the snapshot keeps the order of the options, is immutable and is not changed by later changes to the options
+	 */
+	public void testSnapshot() {
+		DocletOptions options = DocletOptions.parse(new String[][] { { "-requiredParamAnnotations", "com.example.Required" },
+				{ "-optionalParamAnnotations", "com.example.Optional" } });
+		CompiledOptions compiled = options.getCompiledOptions();
+		assertSame(compiled, options.getCompiledOptions());
+
+		assertEquals(new ArrayList<String>(options.getExcludeModelPrefixes()), new ArrayList<String>(compiled.getExcludeModelPrefixes()));
+		assertTrue(compiled.getExcludeParamAnnotations().contains("javax.ws.rs.core.Context"));
+		assertTrue(compiled.getParamRequirednessAnnotations().containsAll(Arrays.asList("com.example.Required", "com.example.Optional")));
+		assertTrue(compiled.getParamRequirednessAnnotations().containsAll(compiled.getRequiredParamAnnotations()));
+		assertTrue(compiled.getParamRequirednessAnnotations().containsAll(compiled.getOptionalParamAnnotations()));
+
+		try {
+			compiled.getGenericWrapperTypes().add("com.example.Wrapper");
+			fail("the compiled options should be immutable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		options.getGenericWrapperTypes().add("com.example.Wrapper");
+		assertFalse(compiled.getGenericWrapperTypes().contains("com.example.Wrapper"));
+		CompiledOptions recompiled = options.compile();
+		assertSame(recompiled, options.getCompiledOptions());
+		assertTrue(recompiled.getGenericWrapperTypes().contains("com.example.Wrapper"));
+	}
+
+}
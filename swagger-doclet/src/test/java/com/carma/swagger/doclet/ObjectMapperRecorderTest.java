@@ -0,0 +1,180 @@
+package com.carma.swagger.doclet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.ResourceListing;
+import com.carma.swagger.doclet.model.ResourceListingAPI;
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+/**
+ * The ObjectMapperRecorderTest represents a test case of writing swagger objects to files
+ * @version $Id$
+ */
+public class ObjectMapperRecorderTest extends TestCase {
+
+	private File outputDir;
+
+	/**
+	 * {@inheritDoc}
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		this.outputDir = Files.createTempDir();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		File[] children = this.outputDir.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				child.delete();
+			}
+		}
+		this.outputDir.delete();
+	}
+
+	/**
+	 * This tests that files are only rewritten when their content changes
+	 * @throws IOException
+	 */
+	public void testSkipsUnchangedFiles() throws IOException {
+		ObjectMapperRecorder recorder = new ObjectMapperRecorder(null, null, null, null);
+		File apiFile = new File(this.outputDir, "foo.json");
+		File listingFile = new File(this.outputDir, "service.json");
+
+		recorder.record(apiFile, new ApiDeclaration("1.2", "1", "http://localhost/api", "/foo", null, null, 0, "foo"));
+		recorder.record(listingFile, new ResourceListing("1.2", "1", "http://localhost/api", Collections.singletonList(new ResourceListingAPI(
+				"/foo.{format}", "foo")), null, null));
+		byte[] apiContent = Files.toByteArray(apiFile);
+
+		// set the modified times to the past so that any rewrite would show
+		long past = (System.currentTimeMillis() / 1000 - 3600) * 1000;
+		assertTrue(apiFile.setLastModified(past));
+		assertTrue(listingFile.setLastModified(past));
+
+		recorder.record(apiFile, new ApiDeclaration("1.2", "1", "http://localhost/api", "/foo", null, null, 0, "foo"));
+		recorder.record(listingFile, new ResourceListing("1.2", "1", "http://localhost/api", Collections.singletonList(new ResourceListingAPI(
+				"/foo.{format}", "foo")), null, null));
+		assertEquals(past, apiFile.lastModified());
+		assertEquals(past, listingFile.lastModified());
+
+		// a changed declaration is written, the description is not serialized so a serialized field is changed
+		recorder.record(apiFile, new ApiDeclaration("1.2", "2", "http://localhost/api", "/foo", null, null, 0, "foo"));
+		assertFalse(past == apiFile.lastModified());
+		byte[] changedContent = Files.toByteArray(apiFile);
+		assertFalse(Arrays.equals(apiContent, changedContent));
+		String changedJson = new String(changedContent, Charsets.UTF_8);
+		assertTrue(changedJson, changedJson.contains("\"apiVersion\" : \"2\""));
+		assertFalse(changedJson, changedJson.contains("\"apiVersion\" : \"1\""));
+		assertEquals(past, listingFile.lastModified());
+
+		// no temp files are left behind
+		assertEquals(2, this.outputDir.listFiles().length);
+	}
+
+	/**
+	 * This tests that files written on a thread pool are all written by the time the recorder is flushed
+	 * @throws IOException
+	 */
+	public void testParallelWrites() throws IOException {
+		ObjectMapperRecorder serialRecorder = new ObjectMapperRecorder(null, null, null, null);
+		ObjectMapperRecorder parallelRecorder = new ObjectMapperRecorder(null, null, null, null, 4);
+		for (int i = 0; i < 20; i++) {
+			parallelRecorder.record(new File(this.outputDir, "foo" + i + ".json"), declaration(i));
+		}
+		// the last content recorded for a file wins
+		parallelRecorder.record(new File(this.outputDir, "foo0.json"), declaration(19));
+		parallelRecorder.flush();
+		assertEquals(20, this.outputDir.listFiles().length);
+
+		File serialFile = new File(this.outputDir, "serial.json");
+		for (int i = 1; i < 20; i++) {
+			serialRecorder.record(serialFile, declaration(i));
+			assertTrue(Arrays.equals(Files.toByteArray(serialFile), Files.toByteArray(new File(this.outputDir, "foo" + i + ".json"))));
+		}
+		assertTrue(Arrays.equals(Files.toByteArray(serialFile), Files.toByteArray(new File(this.outputDir, "foo0.json"))));
+	}
+
+	/**
+	 * This tests that the parallelism set after the recorder was created is used for the writes that follow and that it is validated
+	 * @throws IOException
+	 */
+	public void testSetParallelism() throws IOException {
+		ObjectMapperRecorder recorder = new ObjectMapperRecorder(null, null, null, null);
+		recorder.setParallelism(4);
+		for (int i = 0; i < 20; i++) {
+			recorder.record(new File(this.outputDir, "foo" + i + ".json"), declaration(i));
+		}
+		recorder.flush();
+		assertEquals(20, this.outputDir.listFiles().length);
+
+		try {
+			recorder.setParallelism(0);
+			fail("Expected a parallelism of 0 to be rejected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			new DocletOptions().setParallelism(0);
+			fail("Expected a parallelism of 0 to be rejected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * This tests that a file that can't be replaced is left as it was and that the temp file of the failed write is deleted
+	 * @throws IOException
+	 */
+	public void testFailedWriteLeavesNoTempFile() throws IOException {
+		ObjectMapperRecorder recorder = new ObjectMapperRecorder(null, null, null, null);
+		// a non empty dir can't be replaced by the written file
+		File apiFile = new File(this.outputDir, "foo.json");
+		File child = new File(apiFile, "child.json");
+		Files.createParentDirs(child);
+		Files.write("{}", child, Charsets.UTF_8);
+		try {
+			recorder.record(apiFile, declaration(0));
+			fail("Expected the write over a non empty dir to fail");
+		} catch (IOException ex) {
+			// expected
+		} finally {
+			assertTrue(child.delete());
+		}
+		assertTrue(apiFile.isDirectory());
+		assertFalse(new File(this.outputDir, "foo.json.tmp").exists());
+	}
+
+	private static ApiDeclaration declaration(int i) {
+		return new ApiDeclaration("1.2", "1", "http://localhost/api", "/foo" + i, null, null, 0, "foo " + i);
+	}
+
+	/**
+	 * This tests that failed writes are surfaced when the recorder is flushed
+	 * @throws IOException
+	 */
+	public void testParallelWriteFailure() throws IOException {
+		ObjectMapperRecorder recorder = new ObjectMapperRecorder(null, null, null, null, 2);
+		recorder.record(new File(this.outputDir, "missing/foo.json"), new ApiDeclaration("1.2", "1", "http://localhost/api", "/foo", null, null, 0,
+				"foo"));
+		try {
+			recorder.flush();
+			fail("Expected the write to a missing dir to fail");
+		} catch (IOException ex) {
+			// expected
+		}
+	}
+
+}
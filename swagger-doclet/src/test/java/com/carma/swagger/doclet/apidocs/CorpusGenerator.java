@@ -0,0 +1,390 @@
+package com.carma.swagger.doclet.apidocs;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+/**
+ * The CorpusGenerator represents a generator of a synthetic jaxrs api as java source so that the doclet
+ * can be run against apis far larger than the fixtures e.g. for benchmarks and scaling tests. The generated
+ * source can be loaded with the {@link RootDocLoader} using the package of the generator.
+ * <p>
+ * It generates the given number of resource classes and model classes. Models are chained to the given depth
+ * via fields that reference the next model directly and as a list. Resources list their models as a generic page,
+ * every hierarchy interval model is an abstract base with jackson sub types, models use json views for some of their
+ * fields and every sub resource interval resource has a sub resource locator. The generation is deterministic so
+ * the same settings always give the same source.
+ * </p>
+ * @version $Id$
+ */
+public class CorpusGenerator {
+
+	private final String packageName;
+	private int resourceCount = 10;
+	private int modelCount = 20;
+	private int modelDepth = 3;
+	private int hierarchyInterval = 5;
+	private int subTypeCount = 2;
+	private int subResourceInterval = 3;
+
+	/**
+	 * This creates a CorpusGenerator
+	 * @param packageName The root package of the generated source, resources and models are generated in sub packages of it
+	 */
+	public CorpusGenerator(String packageName) {
+		this.packageName = packageName;
+	}
+
+	/**
+	 * This generates the java source of the api in the given source dir
+	 * @param sourceDir The source dir to generate the source in, the package dirs are created under it
+	 * @return The files that were generated
+	 * @throws IOException if a file could not be written
+	 */
+	public List<File> generate(File sourceDir) throws IOException {
+		if (this.modelCount < 1) {
+			throw new IllegalArgumentException("At least one model is needed");
+		}
+		List<File> files = new ArrayList<File>();
+
+		files.add(write(sourceDir, modelPackage(), "Views", views()));
+		files.add(write(sourceDir, modelPackage(), "Page", page()));
+		for (int i = 0; i < this.modelCount; i++) {
+			files.add(write(sourceDir, modelPackage(), modelName(i), model(i)));
+			if (isHierarchy(i)) {
+				for (int k = 0; k < this.subTypeCount; k++) {
+					files.add(write(sourceDir, modelPackage(), subTypeName(i, k), subType(i, k)));
+				}
+			}
+		}
+
+		for (int r = 0; r < this.resourceCount; r++) {
+			files.add(write(sourceDir, resourcePackage(), resourceName(r), resource(r)));
+			if (hasSubResource(r)) {
+				files.add(write(sourceDir, resourcePackage(), subResourceName(r), subResource(r)));
+			}
+		}
+
+		return files;
+	}
+
+	private File write(File sourceDir, String packageName, String className, String source) throws IOException {
+		File dir = new File(sourceDir, packageName.replace('.', File.separatorChar));
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Failed to create the source dir: " + dir.getAbsolutePath());
+		}
+		File file = new File(dir, className + ".java");
+		Files.write(source, file, Charsets.UTF_8);
+		return file;
+	}
+
+	String modelPackage() {
+		return this.packageName + ".model";
+	}
+
+	String resourcePackage() {
+		return this.packageName + ".resource";
+	}
+
+	static String modelName(int i) {
+		return "Model" + i;
+	}
+
+	static String subTypeName(int i, int k) {
+		return "Model" + i + "Sub" + k;
+	}
+
+	static String resourceName(int r) {
+		return "Resource" + r;
+	}
+
+	static String subResourceName(int r) {
+		return "Resource" + r + "Items";
+	}
+
+	boolean isHierarchy(int i) {
+		return this.hierarchyInterval > 0 && this.subTypeCount > 0 && i % this.hierarchyInterval == 0;
+	}
+
+	boolean hasSubResource(int r) {
+		return this.subResourceInterval > 0 && r % this.subResourceInterval == 0;
+	}
+
+	/**
+	 * This gets the index of the model that the given model references or -1 if it is the last of its chain
+	 */
+	int childOf(int i) {
+		int child = i + 1;
+		if (this.modelDepth < 2 || child % this.modelDepth == 0 || child >= this.modelCount) {
+			return -1;
+		}
+		return child;
+	}
+
+	/**
+	 * This gets the index of the nth model used by the given resource
+	 */
+	int modelOf(int r, int n) {
+		return (r * 3 + n) % this.modelCount;
+	}
+
+	private String views() {
+		StringBuilder src = header(modelPackage());
+		src.append("/**\n * The json views of the models\n */\n");
+		src.append("public class Views {\n\n");
+		src.append("\tpublic static class Summary {\n\t}\n\n");
+		src.append("\tpublic static class Detail extends Summary {\n\t}\n\n");
+		src.append("}\n");
+		return src.toString();
+	}
+
+	private String page() {
+		StringBuilder src = header(modelPackage());
+		src.append("import java.util.List;\n\n");
+		src.append("/**\n * A page of items\n * @param <T> The type of the items\n */\n");
+		src.append("public class Page<T> {\n\n");
+		property(src, null, "List<T>", "items", "The items of the page");
+		property(src, null, "long", "total", "The total number of items");
+		src.append("}\n");
+		return src.toString();
+	}
+
+	private String model(int i) {
+		StringBuilder src = header(modelPackage());
+		src.append("import java.util.Date;\nimport java.util.List;\nimport java.util.Map;\n\n");
+		src.append("import com.fasterxml.jackson.annotation.JsonSubTypes;\n");
+		src.append("import com.fasterxml.jackson.annotation.JsonTypeInfo;\n");
+		src.append("import com.fasterxml.jackson.annotation.JsonView;\n\n");
+		src.append("/**\n * The ").append(modelName(i)).append(" represents generated model ").append(i).append("\n */\n");
+		if (isHierarchy(i)) {
+			src.append("@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = \"type\")\n");
+			src.append("@JsonSubTypes({ ");
+			for (int k = 0; k < this.subTypeCount; k++) {
+				if (k > 0) {
+					src.append(", ");
+				}
+				src.append("@JsonSubTypes.Type(value = ").append(subTypeName(i, k)).append(".class, name = \"sub").append(k).append("\")");
+			}
+			src.append(" })\n");
+			src.append("public abstract class ").append(modelName(i)).append(" {\n\n");
+		} else {
+			src.append("public class ").append(modelName(i)).append(" {\n\n");
+		}
+		property(src, "@JsonView(Views.Summary.class)", "long", "id", "The id of the model");
+		property(src, "@JsonView(Views.Summary.class)", "String", "name", "The name of the model");
+		property(src, "@JsonView(Views.Detail.class)", "Date", "created", "When the model was created");
+		property(src, "@JsonView(Views.Detail.class)", "Map<String, String>", "attributes", "The attributes of the model");
+		int child = childOf(i);
+		if (child >= 0) {
+			property(src, "@JsonView(Views.Detail.class)", modelName(child), "child", "The child model");
+			property(src, "@JsonView(Views.Detail.class)", "List<" + modelName(child) + ">", "children", "The child models");
+		}
+		src.append("}\n");
+		return src.toString();
+	}
+
+	private String subType(int i, int k) {
+		StringBuilder src = header(modelPackage());
+		src.append("/**\n * The ").append(subTypeName(i, k)).append(" represents sub type ").append(k).append(" of ").append(modelName(i))
+				.append("\n */\n");
+		src.append("public class ").append(subTypeName(i, k)).append(" extends ").append(modelName(i)).append(" {\n\n");
+		property(src, null, "String", "sub" + k + "Value", "The value specific to this sub type");
+		src.append("}\n");
+		return src.toString();
+	}
+
+	private String resource(int r) {
+		String listModel = modelName(modelOf(r, 0));
+		String bodyModel = modelName(modelOf(r, 1));
+		StringBuilder src = resourceHeader();
+		src.append("/**\n * The ").append(resourceName(r)).append(" represents generated resource ").append(r).append("\n */\n");
+		src.append("@Path(\"/resource").append(r).append("\")\n");
+		src.append("@Produces(MediaType.APPLICATION_JSON)\n");
+		src.append("public class ").append(resourceName(r)).append(" {\n\n");
+
+		src.append("\t/**\n\t * This gets a page of the items\n\t * @param offset The offset of the page\n\t * @param limit The size of the page\n");
+		src.append("\t * @return The page of items\n\t */\n");
+		src.append("\t@GET\n\t@JsonView(Views.Summary.class)\n");
+		src.append("\tpublic Page<").append(listModel).append("> list(@QueryParam(\"offset\") @DefaultValue(\"0\") int offset, ");
+		src.append("@QueryParam(\"limit\") @DefaultValue(\"20\") int limit) {\n\t\treturn null;\n\t}\n\n");
+
+		src.append("\t/**\n\t * This gets an item\n\t * @param id The id of the item\n\t * @return The item\n");
+		src.append("\t * @responseMessage 404 The item was not found\n\t */\n");
+		src.append("\t@GET\n\t@Path(\"/{id}\")\n\t@JsonView(Views.Detail.class)\n");
+		src.append("\tpublic ").append(listModel).append(" get(@PathParam(\"id\") long id) {\n\t\treturn null;\n\t}\n\n");
+
+		src.append("\t/**\n\t * This creates an item\n\t * @param item The item to create\n\t * @return The created item\n\t */\n");
+		src.append("\t@POST\n\t@Consumes(MediaType.APPLICATION_JSON)\n");
+		src.append("\tpublic ").append(bodyModel).append(" create(").append(bodyModel).append(" item) {\n\t\treturn item;\n\t}\n\n");
+
+		src.append("\t/**\n\t * This updates an item\n\t * @param id The id of the item\n\t * @param item The new item\n");
+		src.append("\t * @return The updated item\n\t */\n");
+		src.append("\t@PUT\n\t@Path(\"/{id}\")\n\t@Consumes(MediaType.APPLICATION_JSON)\n");
+		src.append("\tpublic ").append(bodyModel).append(" update(@PathParam(\"id\") long id, ").append(bodyModel)
+				.append(" item) {\n\t\treturn item;\n\t}\n\n");
+
+		src.append("\t/**\n\t * This deletes an item\n\t * @param id The id of the item\n\t */\n");
+		src.append("\t@DELETE\n\t@Path(\"/{id}\")\n");
+		src.append("\tpublic void delete(@PathParam(\"id\") long id) {\n\t}\n\n");
+
+		if (hasSubResource(r)) {
+			src.append("\t/**\n\t * This gets the sub resource of the items of an item\n\t * @param id The id of the item\n");
+			src.append("\t * @return The sub resource\n\t */\n");
+			src.append("\t@Path(\"/{id}/items\")\n");
+			src.append("\tpublic ").append(subResourceName(r)).append(" items(@PathParam(\"id\") long id) {\n\t\treturn new ")
+					.append(subResourceName(r)).append("();\n\t}\n\n");
+		}
+
+		src.append("}\n");
+		return src.toString();
+	}
+
+	private String subResource(int r) {
+		String itemModel = modelName(modelOf(r, 2));
+		StringBuilder src = resourceHeader();
+		src.append("/**\n * The ").append(subResourceName(r)).append(" represents the sub resource of generated resource ").append(r)
+				.append("\n */\n");
+		src.append("@Produces(MediaType.APPLICATION_JSON)\n");
+		src.append("public class ").append(subResourceName(r)).append(" {\n\n");
+
+		src.append("\t/**\n\t * This gets all the items\n\t * @return The items\n\t */\n");
+		src.append("\t@GET\n\t@JsonView(Views.Summary.class)\n");
+		src.append("\tpublic List<").append(itemModel).append("> list() {\n\t\treturn null;\n\t}\n\n");
+
+		src.append("\t/**\n\t * This gets an item\n\t * @param itemId The id of the item\n\t * @return The item\n\t */\n");
+		src.append("\t@GET\n\t@Path(\"/{itemId}\")\n");
+		src.append("\tpublic ").append(itemModel).append(" get(@PathParam(\"itemId\") long itemId) {\n\t\treturn null;\n\t}\n\n");
+
+		src.append("}\n");
+		return src.toString();
+	}
+
+	private StringBuilder resourceHeader() {
+		StringBuilder src = header(resourcePackage());
+		src.append("import java.util.List;\n\n");
+		src.append("import javax.ws.rs.Consumes;\nimport javax.ws.rs.DELETE;\nimport javax.ws.rs.DefaultValue;\nimport javax.ws.rs.GET;\n");
+		src.append("import javax.ws.rs.POST;\nimport javax.ws.rs.PUT;\nimport javax.ws.rs.Path;\nimport javax.ws.rs.PathParam;\n");
+		src.append("import javax.ws.rs.Produces;\nimport javax.ws.rs.QueryParam;\nimport javax.ws.rs.core.MediaType;\n\n");
+		src.append("import com.fasterxml.jackson.annotation.JsonView;\n\n");
+		src.append("import ").append(modelPackage()).append(".*;\n\n");
+		return src;
+	}
+
+	private static StringBuilder header(String packageName) {
+		StringBuilder src = new StringBuilder();
+		src.append("package ").append(packageName).append(";\n\n");
+		return src;
+	}
+
+	private static void property(StringBuilder src, String annotation, String type, String name, String description) {
+		String accessorSuffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		src.append("\tprivate ").append(type).append(' ').append(name).append(";\n\n");
+		src.append("\t/**\n\t * This gets the ").append(name).append("\n\t * @return ").append(description).append("\n\t */\n");
+		if (annotation != null) {
+			src.append('\t').append(annotation).append('\n');
+		}
+		src.append("\tpublic ").append(type).append(" get").append(accessorSuffix).append("() {\n\t\treturn this.").append(name)
+				.append(";\n\t}\n\n");
+		src.append("\t/**\n\t * This sets the ").append(name).append("\n\t * @param ").append(name).append(' ').append(description)
+				.append("\n\t */\n");
+		src.append("\tpublic void set").append(accessorSuffix).append('(').append(type).append(' ').append(name).append(") {\n\t\tthis.")
+				.append(name).append(" = ").append(name).append(";\n\t}\n\n");
+	}
+
+	/**
+	 * This gets the root package of the generated source
+	 * @return the root package
+	 */
+	public String getPackageName() {
+		return this.packageName;
+	}
+
+	/**
+	 * This sets the number of resource classes to generate, this excludes sub resource classes
+	 * @param resourceCount the number of resources
+	 * @return this
+	 */
+	public CorpusGenerator setResourceCount(int resourceCount) {
+		this.resourceCount = resourceCount;
+		return this;
+	}
+
+	/**
+	 * This sets the number of model classes to generate, this excludes the sub types of hierarchies
+	 * @param modelCount the number of models
+	 * @return this
+	 */
+	public CorpusGenerator setModelCount(int modelCount) {
+		this.modelCount = modelCount;
+		return this;
+	}
+
+	/**
+	 * This sets the depth of the chains of models that reference each other
+	 * @param modelDepth the depth of the model chains, 1 for models that do not reference other models
+	 * @return this
+	 */
+	public CorpusGenerator setModelDepth(int modelDepth) {
+		this.modelDepth = modelDepth;
+		return this;
+	}
+
+	/**
+	 * This sets how often a model is the base of a json sub types hierarchy
+	 * @param hierarchyInterval every nth model is a hierarchy, 0 for none
+	 * @return this
+	 */
+	public CorpusGenerator setHierarchyInterval(int hierarchyInterval) {
+		this.hierarchyInterval = hierarchyInterval;
+		return this;
+	}
+
+	/**
+	 * This sets the number of sub types of each json sub types hierarchy
+	 * @param subTypeCount the number of sub types
+	 * @return this
+	 */
+	public CorpusGenerator setSubTypeCount(int subTypeCount) {
+		this.subTypeCount = subTypeCount;
+		return this;
+	}
+
+	/**
+	 * This sets how often a resource has a sub resource locator
+	 * @param subResourceInterval every nth resource has a sub resource, 0 for none
+	 * @return this
+	 */
+	public CorpusGenerator setSubResourceInterval(int subResourceInterval) {
+		this.subResourceInterval = subResourceInterval;
+		return this;
+	}
+
+	/**
+	 * This generates a corpus from the command line
+	 * @param args The output source dir, the package, the number of resources, the number of models and the model depth
+	 * @throws IOException if a file could not be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: CorpusGenerator <sourceDir> [package] [resourceCount] [modelCount] [modelDepth]");
+			System.exit(1);
+		}
+		CorpusGenerator generator = new CorpusGenerator(args.length > 1 ? args[1] : "corpus");
+		if (args.length > 2) {
+			generator.setResourceCount(Integer.parseInt(args[2]));
+		}
+		if (args.length > 3) {
+			generator.setModelCount(Integer.parseInt(args[3]));
+		}
+		if (args.length > 4) {
+			generator.setModelDepth(Integer.parseInt(args[4]));
+		}
+		List<File> files = generator.generate(new File(args[0]));
+		System.out.println("Generated " + files.size() + " source files in " + args[0]);
+	}
+
+}
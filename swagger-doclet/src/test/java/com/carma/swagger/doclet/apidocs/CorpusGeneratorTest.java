@@ -0,0 +1,196 @@
+package com.carma.swagger.doclet.apidocs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.Recorder;
+import com.carma.swagger.doclet.model.Api;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.Model;
+import com.carma.swagger.doclet.model.ResourceListing;
+import com.carma.swagger.doclet.parser.JaxRsAnnotationParser;
+import com.carma.swagger.doclet.parser.ParseMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The CorpusGeneratorTest represents a test of running the doclet over a generated api
+ * @version $Id$
+ */
+@SuppressWarnings("javadoc")
+public class CorpusGeneratorTest {
+
+	@Rule
+	public TemporaryFolder sourceDir = new TemporaryFolder();
+
+	private Recorder recorderMock;
+	private DocletOptions options;
+
+	@Before
+	public void setup() {
+		this.recorderMock = mock(Recorder.class);
+		this.options = new DocletOptions().setRecorder(this.recorderMock).setIncludeSwaggerUi(false);
+	}
+
+	@Test
+	public void testGeneratedCorpus() throws IOException {
+
+		CorpusGenerator generator = new CorpusGenerator("corpus").setResourceCount(12).setModelCount(30).setModelDepth(3).setHierarchyInterval(5)
+				.setSubTypeCount(2).setSubResourceInterval(4);
+		// 12 resources + 3 sub resources + 30 models + 6 hierarchies * 2 sub types + views + page
+		assertEquals(59, generator.generate(this.sourceDir.getRoot()).size());
+
+		final RootDoc rootDoc = RootDocLoader.fromPath(this.sourceDir.getRoot().getPath(), generator.getPackageName());
+		new JaxRsAnnotationParser(this.options, rootDoc).run();
+
+		ArgumentCaptor<ApiDeclaration> apis = ArgumentCaptor.forClass(ApiDeclaration.class);
+		verify(this.recorderMock, times(12)).record(any(File.class), apis.capture());
+
+		Map<String, ApiDeclaration> declarations = new HashMap<String, ApiDeclaration>();
+		for (ApiDeclaration declaration : apis.getAllValues()) {
+			declarations.put(declaration.getResourcePath(), declaration);
+		}
+
+		// resource 0 has a sub resource and uses the models 0, 1 and 2
+		ApiDeclaration resource0 = declarations.get("/resource0");
+		assertNotNull(resource0);
+		Set<String> paths = new HashSet<String>();
+		for (Api api : resource0.getApis()) {
+			paths.add(api.getPath());
+		}
+		assertTrue(paths.contains("/resource0"));
+		assertTrue(paths.contains("/resource0/{id}"));
+		assertTrue(paths.contains("/resource0/{id}/items"));
+		assertTrue(paths.contains("/resource0/{id}/items/{itemId}"));
+
+		// model 0 is a hierarchy and references model 1 which references model 2
+		Map<String, Model> models = resource0.getModels();
+		assertTrue(models.containsKey("Model0"));
+		assertTrue(models.containsKey("Model0Sub0"));
+		assertTrue(models.containsKey("Model0Sub1"));
+		assertTrue(models.containsKey("Model1"));
+		assertTrue(models.containsKey("Model2"));
+		assertEquals("type", models.get("Model0").getDiscriminator());
+
+		// resource 1 has no sub resource
+		ApiDeclaration resource1 = declarations.get("/resource1");
+		assertNotNull(resource1);
+		assertEquals(2, resource1.getApis().size());
+	}
+
+	@Test
+	public void testParallelOutput() throws IOException {
+
+		// the corpus has generic pages, sub types, sub resources and json views for the workers to parse
+		CorpusGenerator generator = new CorpusGenerator("parallel").setResourceCount(16).setModelCount(40).setModelDepth(3).setHierarchyInterval(5)
+				.setSubTypeCount(2).setSubResourceInterval(4);
+		generator.generate(this.sourceDir.getRoot());
+		RootDoc rootDoc = RootDocLoader.fromPath(this.sourceDir.getRoot().getPath(), generator.getPackageName());
+
+		List<ApiDeclaration> serialApis = new ArrayList<ApiDeclaration>();
+		List<ApiDeclaration> parallelApis = new ArrayList<ApiDeclaration>();
+		run(rootDoc, serialApis, 1, null);
+		run(rootDoc, parallelApis, 4, null);
+
+		// the declarations are recorded in the same order with the same content and serialize to the same json
+		assertEquals(16, serialApis.size());
+		assertEquals(serialApis, parallelApis);
+		ObjectMapper mapper = new ObjectMapper();
+		for (int i = 0; i < serialApis.size(); i++) {
+			assertEquals(mapper.writeValueAsString(serialApis.get(i)), mapper.writeValueAsString(parallelApis.get(i)));
+		}
+	}
+
+	@Test
+	public void testScaling() throws IOException {
+
+		// the generated source grows linearly with the size of the api, views and page are the only fixed classes
+		File smallDir = this.sourceDir.newFolder("small");
+		File largeDir = this.sourceDir.newFolder("large");
+		CorpusGenerator small = scaledGenerator("small", 1);
+		CorpusGenerator large = scaledGenerator("large", 4);
+		int smallFiles = small.generate(smallDir).size();
+		int largeFiles = large.generate(largeDir).size();
+		assertEquals(40, smallFiles);
+		assertEquals(4 * (smallFiles - 2), largeFiles - 2);
+
+		// so do the declarations and operations the doclet writes for it
+		RootDoc smallDoc = RootDocLoader.fromPath(smallDir.getPath(), small.getPackageName());
+		RootDoc largeDoc = RootDocLoader.fromPath(largeDir.getPath(), large.getPackageName());
+		List<ApiDeclaration> smallApis = new ArrayList<ApiDeclaration>();
+		List<ApiDeclaration> largeApis = new ArrayList<ApiDeclaration>();
+		ParseMetrics smallMetrics = run(smallDoc, smallApis, 1, this.sourceDir.newFile("small-metrics.json")).getMetrics();
+		ParseMetrics largeMetrics = run(largeDoc, largeApis, 1, this.sourceDir.newFile("large-metrics.json")).getMetrics();
+		assertEquals(8, smallApis.size());
+		assertEquals(4 * smallApis.size(), largeApis.size());
+		assertEquals(44, operationCount(smallApis));
+		assertEquals(4 * operationCount(smallApis), operationCount(largeApis));
+
+		// and so does the work done to parse it, an api 4 times the size should do about 4 times the work, 16 times would be quadratic.
+		// the work is counted rather than timed so the test does not depend on the load of the machine, CorpusBenchmark measures the time
+		assertScaled("modelsParsed", smallMetrics, largeMetrics);
+		assertScaled("modelCacheMisses", smallMetrics, largeMetrics);
+		assertScaled("translatorCacheMisses", smallMetrics, largeMetrics);
+	}
+
+	private static void assertScaled(String counter, ParseMetrics small, ParseMetrics large) {
+		long smallCount = small.getCount(counter);
+		long largeCount = large.getCount(counter);
+		assertTrue(counter + " was not counted", smallCount > 0);
+		assertTrue(counter + " was " + largeCount + " for a 4x larger api vs " + smallCount, largeCount >= 3 * smallCount && largeCount <= 5 * smallCount);
+	}
+
+	private static CorpusGenerator scaledGenerator(String packageName, int scale) {
+		return new CorpusGenerator(packageName).setResourceCount(8 * scale).setModelCount(20 * scale).setModelDepth(3).setHierarchyInterval(5)
+				.setSubTypeCount(2).setSubResourceInterval(4);
+	}
+
+	private static DocletOptions run(RootDoc rootDoc, final List<ApiDeclaration> apis, int parallelism, File metricsFile) {
+		Recorder recorder = new Recorder() {
+
+			public void record(File file, ResourceListing listing) {
+				// noop
+			}
+
+			public void record(File file, ApiDeclaration declaration) {
+				apis.add(declaration);
+			}
+		};
+		DocletOptions options = new DocletOptions().setRecorder(recorder).setIncludeSwaggerUi(false).setParallelism(parallelism)
+				.setMetricsFile(metricsFile);
+		assertTrue(new JaxRsAnnotationParser(options, rootDoc).run());
+		return options;
+	}
+
+	private static int operationCount(List<ApiDeclaration> declarations) {
+		int count = 0;
+		for (ApiDeclaration declaration : declarations) {
+			for (Api api : declaration.getApis()) {
+				count += api.getOperations().size();
+			}
+		}
+		return count;
+	}
+
+}
@@ -87,6 +87,24 @@ public class CrossClassResourceListingTest {
 
 	}
 
+	@Test
+	public void testParallelPriorityOrder() throws IOException {
+
+		this.options.getResourceDescriptionTags().add("resourceDescription");
+		this.options.getResourcePriorityTags().add("resourcePriority");
+		this.options.getResourcePriorityTags().add("priority");
+		this.options.setSortResourcesByPath(false);
+		this.options.setSortResourcesByPriority(true);
+		this.options.setParallelism(4);
+
+		final RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.crossclassresourcelisting");
+		new JaxRsAnnotationParser(this.options, rootDoc).run();
+
+		final ResourceListing expectedListing = loadFixture("/fixtures/crossclassresourcelisting/service2.json", ResourceListing.class);
+		verify(this.recorderMock).record(any(File.class), eq(expectedListing));
+
+	}
+
 	@Test
 	public void testPathOrder() throws IOException {
 
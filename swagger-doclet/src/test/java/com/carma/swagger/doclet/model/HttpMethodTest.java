@@ -0,0 +1,126 @@
+package com.carma.swagger.doclet.model;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The HttpMethodTest represents a test case of resolving the http methods of annotations and methods
+ * @version $Id$
+ */
+public class HttpMethodTest extends TestCase {
+
+	/**
+	 * {@inheritDoc}
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override
+	protected void tearDown() {
+		// the set annotations would otherwise be seen by the other tests
+		HttpMethod.resetAnnotations();
+	}
+
+	/**
+	 * This tests the http methods of the jaxrs annotations, PATCH annotations of any package and set annotations
+	 */
+	public void testFromAnnotation() {
+		assertEquals(HttpMethod.GET, HttpMethod.fromAnnotation("javax.ws.rs.GET"));
+		assertEquals(HttpMethod.OPTIONS, HttpMethod.fromAnnotation("javax.ws.rs.OPTIONS"));
+		assertEquals(HttpMethod.PATCH, HttpMethod.fromAnnotation("com.example.PATCH"));
+		assertNull(HttpMethod.fromAnnotation("javax.ws.rs.Path"));
+		assertNull(HttpMethod.fromAnnotation("com.example.Fetch"));
+
+		Map<String, HttpMethod> annotations = new LinkedHashMap<String, HttpMethod>();
+		annotations.put("com.example.Fetch", HttpMethod.GET);
+		annotations.put(".Remove", HttpMethod.DELETE);
+		HttpMethod.useAnnotations(annotations);
+		assertEquals(HttpMethod.GET, HttpMethod.fromAnnotation("com.example.Fetch"));
+		assertEquals(HttpMethod.DELETE, HttpMethod.fromAnnotation("com.example.RemoveItem"));
+		assertEquals(HttpMethod.POST, HttpMethod.fromAnnotation("javax.ws.rs.POST"));
+		assertEquals(HttpMethod.PATCH, HttpMethod.fromAnnotation("com.example.PATCH"));
+
+		// the annotations replace those set before
+		HttpMethod.useAnnotations(Collections.singletonMap("com.example.Fetch", HttpMethod.HEAD));
+		assertEquals(HttpMethod.HEAD, HttpMethod.fromAnnotation("com.example.Fetch"));
+		assertNull(HttpMethod.fromAnnotation("com.example.RemoveItem"));
+
+		HttpMethod.resetAnnotations();
+		assertNull(HttpMethod.fromAnnotation("com.example.Fetch"));
+		assertNull(HttpMethod.fromAnnotation("com.example.RemoveItem"));
+		assertEquals(HttpMethod.PATCH, HttpMethod.fromAnnotation("com.example.PATCH"));
+	}
+
+	/**
+	 * This tests that the annotations of the -httpMethodAnnotations option are parsed into the options
+	 */
+	public void testHttpMethodAnnotationsOption() {
+		DocletOptions options = DocletOptions.parse(new String[][] { { "-httpMethodAnnotations", "com.example.Fetch:GET, .Remove:delete" } });
+		Map<String, HttpMethod> expected = new LinkedHashMap<String, HttpMethod>();
+		expected.put("com.example.Fetch", HttpMethod.GET);
+		expected.put(".Remove", HttpMethod.DELETE);
+		assertEquals(expected, options.getHttpMethodAnnotations());
+
+		try {
+			DocletOptions.parse(new String[][] { { "-httpMethodAnnotations", "com.example.Fetch" } });
+			fail("Expected the annotation without a http method to be rejected");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * This tests that a lookup that races with the annotations being set can't memoize a result of the old annotations
+	 * into the new ones
+	 * @throws Exception
+	 */
+	public void testConcurrentUseAnnotations() throws Exception {
+		final Map<String, HttpMethod> fetch = Collections.singletonMap("com.example.Fetch", HttpMethod.GET);
+		final AtomicBoolean done = new AtomicBoolean();
+		Thread setter = new Thread() {
+
+			@Override
+			public void run() {
+				while (!done.get()) {
+					HttpMethod.useAnnotations(fetch);
+					HttpMethod.resetAnnotations();
+				}
+			}
+		};
+		setter.start();
+		try {
+			for (int i = 0; i < 10000; i++) {
+				HttpMethod.fromAnnotation("com.example.Fetch");
+			}
+		} finally {
+			done.set(true);
+			setter.join();
+		}
+		HttpMethod.useAnnotations(fetch);
+		assertEquals(HttpMethod.GET, HttpMethod.fromAnnotation("com.example.Fetch"));
+		HttpMethod.resetAnnotations();
+		assertNull(HttpMethod.fromAnnotation("com.example.Fetch"));
+	}
+
+	/**
+	 * This tests the http methods of the methods of a resource
+	 * @throws IOException
+	 */
+	public void testFromMethod() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.httpmethods");
+		ClassDoc resource = rootDoc.classNamed("fixtures.httpmethods.HttpMethodsResource");
+		for (MethodDoc method : resource.methods()) {
+			assertEquals(HttpMethod.valueOf(method.name().toUpperCase()), HttpMethod.fromMethod(method));
+		}
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The AnnotationParserTest represents a test case of reading annotation values via the indexed annotations
+ * @version $Id$
+ */
+public class AnnotationParserTest extends TestCase {
+
+	/**
+	 * This tests the lookups of class and method annotations and that the index of each element is reused
+	 * @throws IOException
+	 */
+	public void testLookups() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.jackson");
+		ClassDoc payload = rootDoc.classNamed("fixtures.jackson.PayloadModel");
+		DocletOptions options = new DocletOptions();
+
+		AnnotationParser classParser = new AnnotationParser(payload, options);
+		assertTrue(classParser.isAnnotatedBy("com.fasterxml.jackson.annotation.JsonRootName"));
+		assertTrue(classParser.isAnnotatedByPrefix("com.fasterxml.jackson"));
+		assertFalse(classParser.isAnnotatedBy("com.fasterxml.jackson.annotation.JsonIgnore"));
+		assertFalse(classParser.isAnnotatedByPrefix("javax.xml"));
+		assertEquals("payload", classParser.getAnnotationValue("com.fasterxml.jackson.annotation.JsonRootName", "value"));
+		assertEquals("payload", classParser.getAnnotationValue("com.fasterxml.jackson.annotation.JsonRootName", "missing", "value"));
+		assertNull(classParser.getAnnotationValue("com.fasterxml.jackson.annotation.JsonRootName", "missing"));
+		assertNull(classParser.getAnnotationValue("com.fasterxml.jackson.annotation.JsonProperty", "value"));
+
+		MethodDoc oddlyNamed = null;
+		for (MethodDoc method : payload.methods()) {
+			if (method.name().equals("oddlyNamedField")) {
+				oddlyNamed = method;
+			}
+		}
+		AnnotationParser methodParser = new AnnotationParser(oddlyNamed, options);
+		assertEquals("odd-name", methodParser.getAnnotationValue("com.fasterxml.jackson.annotation.JsonProperty", "value"));
+
+		assertSame(options.getAnnotationCache().get(payload, options), options.getAnnotationCache().get(payload, options));
+		assertNotSame(options.getAnnotationCache().get(payload, options), options.getAnnotationCache().get(oddlyNamed, options));
+	}
+
+}
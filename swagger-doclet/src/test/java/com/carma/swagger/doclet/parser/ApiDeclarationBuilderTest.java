@@ -0,0 +1,85 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.model.Api;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.ApiParameter;
+import com.carma.swagger.doclet.model.ApiResponseMessage;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.carma.swagger.doclet.model.Method;
+import com.carma.swagger.doclet.model.Model;
+
+/**
+ * The ApiDeclarationBuilderTest represents a test case of building up an api declaration from parsed methods
+ * @version $Id$
+ */
+public class ApiDeclarationBuilderTest extends TestCase {
+
+	/**
+	 * This tests that apis are looked up by path and that duplicate operations are skipped
+	 */
+	public void testDedupe() {
+		ApiDeclarationBuilder builder = new ApiDeclarationBuilder("1.2", "1", "/api", "/items");
+		Api items = builder.getOrAddApi("/items", "the items");
+		assertSame(items, builder.getOrAddApi("/items", null));
+		assertSame(items, builder.getApi("/items"));
+		assertNull(builder.getApi("/items/{id}"));
+
+		assertTrue(builder.addOperation(items, method(HttpMethod.GET, "list", 0)));
+		assertFalse(builder.addOperation(items, method(HttpMethod.GET, "list", 0)));
+		// the same nickname with a different http method or number of params is a different operation
+		assertTrue(builder.addOperation(items, method(HttpMethod.POST, "list", 0)));
+		assertTrue(builder.addOperation(items, method(HttpMethod.GET, "list", 1)));
+		assertFalse(builder.addOperation(items, method(HttpMethod.GET, "list", 1)));
+
+		// the same operation on another api is added
+		Api item = builder.getOrAddApi("/items/{id}", null);
+		assertTrue(builder.addOperation(item, method(HttpMethod.GET, "list", 0)));
+		assertEquals(3, items.getOperations().size());
+
+		// the params of an operation can grow after it was added
+		items.getOperations().iterator().next().getParameters().add(param("id"));
+		assertTrue(builder.addOperation(items, method(HttpMethod.GET, "list", 0)));
+		assertFalse(builder.addOperation(items, method(HttpMethod.GET, "list", 1)));
+		assertEquals(4, items.getOperations().size());
+	}
+
+	/**
+	 * This tests building the declaration and starting from an existing declaration
+	 */
+	public void testBuild() {
+		ApiDeclarationBuilder builder = new ApiDeclarationBuilder("1.2", "1", "/api", "/items");
+		builder.setPriority(2);
+		builder.addOperation(builder.getOrAddApi("/items", null), method(HttpMethod.GET, "list", 0));
+		builder.putModels(Collections.singletonMap("Item", new Model()));
+
+		ApiDeclaration declaration = builder.build();
+		assertEquals("/items", declaration.getResourcePath());
+		assertEquals(2, declaration.getPriority());
+		assertEquals(1, declaration.getApis().size());
+		assertTrue(declaration.getModels().containsKey("Item"));
+
+		ApiDeclarationBuilder copy = new ApiDeclarationBuilder(declaration);
+		assertFalse(copy.addOperation(copy.getApi("/items"), method(HttpMethod.GET, "list", 0)));
+		assertEquals(declaration, copy.build());
+	}
+
+	private static Method method(HttpMethod httpMethod, String name, int paramCount) {
+		List<ApiParameter> params = new ArrayList<ApiParameter>();
+		for (int i = 0; i < paramCount; i++) {
+			params.add(param("p" + i));
+		}
+		return new Method(httpMethod, name, "/items", params, Collections.<ApiResponseMessage> emptyList(), null, null, null, null, null, null, null, null,
+				null, false);
+	}
+
+	private static ApiParameter param(String name) {
+		return new ApiParameter("path", name, Boolean.TRUE, null, "string", null, null, null, null, null, null, null, null, null, null);
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.carma.swagger.doclet.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.model.Api;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.ApiParameter;
+import com.carma.swagger.doclet.model.ApiResponseMessage;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.carma.swagger.doclet.model.Method;
+import com.carma.swagger.doclet.model.Model;
+import com.carma.swagger.doclet.model.Operation;
+
+/**
+ * The ApiDeclarationMergerTest represents a test case of merging api declarations of the same resource path
+ * @version $Id$
+ */
+public class ApiDeclarationMergerTest extends TestCase {
+
+	private final ApiDeclarationMerger merger = new ApiDeclarationMerger("1.2", "1", "/api");
+
+	/**
+	 * This tests that operations are merged into the api with the same path and that only new http methods are added
+	 */
+	public void testMerge() {
+		ApiDeclaration first = declaration("/items", null, api("/items", HttpMethod.GET), api("/items/{id}", HttpMethod.GET));
+		ApiDeclaration second = declaration("/items", "the items", api("/items/{id}", HttpMethod.GET, HttpMethod.DELETE), api("/items/count", HttpMethod.GET));
+		second.setPriority(3);
+		second.setModels(Collections.singletonMap("Item", new Model()));
+
+		Collection<ApiDeclaration> merged = this.merger.merge(Arrays.asList(first, second));
+		assertEquals(1, merged.size());
+		ApiDeclaration declaration = merged.iterator().next();
+		assertEquals("2", declaration.getApiVersion());
+		assertEquals("1.2", declaration.getSwaggerVersion());
+		assertEquals("the items", declaration.getDescription());
+		assertEquals(3, declaration.getPriority());
+		assertTrue(declaration.getModels().containsKey("Item"));
+
+		List<Api> apis = declaration.getApis();
+		assertEquals(3, apis.size());
+		assertEquals(1, apis.get(0).getOperations().size());
+		assertEquals("/items/{id}", apis.get(1).getPath());
+		assertEquals(2, apis.get(1).getOperations().size());
+		assertEquals("/items/count", apis.get(2).getPath());
+
+		// the declarations being merged are left as they were
+		assertEquals(1, first.getApis().get(1).getOperations().size());
+	}
+
+	/**
+	 * This tests that combining the partial results of shards of the declarations gives the same result as merging
+	 * them in order whichever way the partials are grouped
+	 */
+	public void testCombine() {
+		List<ApiDeclaration> declarations = new ArrayList<ApiDeclaration>();
+		for (int i = 0; i < 12; i++) {
+			HttpMethod method = HttpMethod.values()[i % HttpMethod.values().length];
+			ApiDeclaration declaration = declaration("/resource" + (i % 3), i > 3 ? "description" + i : null, api("/path" + (i % 4), method),
+					api("/other", method));
+			declaration.setPriority(i > 5 ? i : Integer.MAX_VALUE);
+			declaration.setModels(Collections.singletonMap("Model" + (i % 5), new Model()));
+			declarations.add(declaration);
+		}
+		Set<ApiDeclaration> expected = new HashSet<ApiDeclaration>(this.merger.merge(declarations));
+
+		// (a + b) + c
+		ApiDeclarationMerger.Partial left = partial(declarations, 0, 5).combine(partial(declarations, 5, 9)).combine(partial(declarations, 9, 12));
+		assertEquals(expected, new HashSet<ApiDeclaration>(this.merger.merge(left)));
+
+		// a + (b + c)
+		ApiDeclarationMerger.Partial right = partial(declarations, 0, 5).combine(partial(declarations, 5, 9).combine(partial(declarations, 9, 12)));
+		assertEquals(expected, new HashSet<ApiDeclaration>(this.merger.merge(right)));
+
+		// an empty partial changes nothing
+		assertEquals(expected, new HashSet<ApiDeclaration>(this.merger.merge(new ApiDeclarationMerger.Partial().combine(partial(declarations, 0, 12)))));
+		assertEquals(expected, new HashSet<ApiDeclaration>(this.merger.merge(partial(declarations, 0, 12).combine(new ApiDeclarationMerger.Partial()))));
+
+		// the declarations being merged are left as they were
+		assertEquals(1, declarations.get(0).getApis().get(1).getOperations().size());
+	}
+
+	private static ApiDeclarationMerger.Partial partial(List<ApiDeclaration> declarations, int from, int to) {
+		return new ApiDeclarationMerger.Partial().addAll(declarations.subList(from, to));
+	}
+
+	private static ApiDeclaration declaration(String resourcePath, String description, Api... apis) {
+		return new ApiDeclaration(null, "2", null, resourcePath, new ArrayList<Api>(Arrays.asList(apis)), null, Integer.MAX_VALUE, description);
+	}
+
+	private static Api api(String path, HttpMethod... methods) {
+		List<Operation> operations = new ArrayList<Operation>();
+		for (HttpMethod method : methods) {
+			operations.add(new Operation(new Method(method, method.name().toLowerCase(), path, new ArrayList<ApiParameter>(), Collections
+					.<ApiResponseMessage> emptyList(), null, null, null, null, null, null, null, null, null, false)));
+		}
+		return new Api(path, null, operations);
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.model.Model;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.Type;
+
+/**
+ * The ApiModelCacheTest represents a test case of the keys of the model cache separating the parses of the same type
+ * @version $Id$
+ */
+public class ApiModelCacheTest extends TestCase {
+
+	/**
+	 * This tests that the same type parsed under two json views gets different models and that parsing it again under
+	 * either view is a cache hit
+	 * @throws IOException
+	 */
+	public void testViews() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.jsonview");
+		ClassDoc person = rootDoc.classNamed("fixtures.jsonview.Person");
+		ClassDoc[] simple = new ClassDoc[] { rootDoc.classNamed("fixtures.jsonview.Person.SimplePersonView") };
+		ClassDoc[] detailed = new ClassDoc[] { rootDoc.classNamed("fixtures.jsonview.Person.DetailedPersonView") };
+		DocletOptions options = new DocletOptions();
+
+		assertFalse(key(person, null, simple, true).equals(key(person, null, detailed, true)));
+		assertFalse(key(person, null, simple, true).equals(key(person, null, null, true)));
+
+		Model simpleModel = model(new ApiModelParser(options, options.getTranslator(), person, simple).parse(), "Person");
+		Model detailedModel = model(new ApiModelParser(options, options.getTranslator(), person, detailed).parse(), "Person");
+		assertTrue(simpleModel.getProperties().containsKey("name"));
+		assertFalse(simpleModel.getProperties().containsKey("address"));
+		assertTrue(detailedModel.getProperties().containsKey("address"));
+		assertFalse(simpleModel.getProperties().keySet().equals(detailedModel.getProperties().keySet()));
+
+		options.getModelCache().clear();
+		Set<Model> parsed = new ApiModelParser(options, options.getTranslator(), person, simple).parse();
+		assertEquals(parsed, options.getModelCache().get(key(person, null, simple, true)));
+		assertNull(options.getModelCache().get(key(person, null, detailed, true)));
+	}
+
+	/**
+	 * This tests that the same generic type parsed with different types for its type variables gets different models
+	 * @throws IOException
+	 */
+	public void testTypeVariables() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.genericresponse");
+		ClassDoc parameterized = rootDoc.classNamed("fixtures.genericresponse.Parameterized");
+		ClassDoc item = rootDoc.classNamed("fixtures.genericresponse.Item");
+		ClassDoc string = rootDoc.classNamed("java.lang.String");
+		DocletOptions options = new DocletOptions();
+
+		Map<String, Type> itemVars = new HashMap<String, Type>();
+		itemVars.put("T", item);
+		itemVars.put("R", string);
+		Map<String, Type> stringVars = new HashMap<String, Type>();
+		stringVars.put("T", string);
+		stringVars.put("R", string);
+		assertFalse(key(parameterized, itemVars, null, true).equals(key(parameterized, stringVars, null, true)));
+		assertFalse(key(parameterized, itemVars, null, true).equals(key(parameterized, null, null, true)));
+		// the order the vars were resolved in does not matter
+		Map<String, Type> reordered = new HashMap<String, Type>();
+		reordered.put("R", string);
+		reordered.put("T", item);
+		assertEquals(key(parameterized, itemVars, null, true), key(parameterized, reordered, null, true));
+
+		Set<Model> itemModels = new ApiModelParser(options, options.getTranslator(), parameterized).addVarsToTypes(itemVars).parse();
+		Set<Model> stringModels = new ApiModelParser(options, options.getTranslator(), parameterized).addVarsToTypes(stringVars).parse();
+		assertEquals("Item", model(itemModels, "Parameterized").getProperties().get("typed").getType());
+		assertEquals("string", model(stringModels, "Parameterized").getProperties().get("typed").getType());
+		assertNotNull(model(itemModels, "Item"));
+		assertNull(find(stringModels, "Item"));
+	}
+
+	/**
+	 * This tests that the same type parsed with and without inheriting the fields of its super types gets different models
+	 * @throws IOException
+	 */
+	public void testInheritFields() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.modelinheritance");
+		ClassDoc child = rootDoc.classNamed("fixtures.modelinheritance.ChildResponse");
+		DocletOptions options = new DocletOptions();
+
+		assertFalse(key(child, null, null, true).equals(key(child, null, null, false)));
+
+		Model inherited = model(new ApiModelParser(options, options.getTranslator(), child, true).parse(), "ChildResponse");
+		Model own = model(new ApiModelParser(options, options.getTranslator(), child, false).parse(), "ChildResponse");
+		assertTrue(inherited.getProperties().containsKey("parentField1"));
+		assertFalse(own.getProperties().containsKey("parentField1"));
+		assertTrue(own.getProperties().containsKey("field1"));
+	}
+
+	private static String key(Type type, Map<String, Type> varsToTypes, ClassDoc[] viewClasses, boolean inheritFields) {
+		return ApiModelCache.key(type, varsToTypes == null ? Collections.<String, Type> emptyMap() : varsToTypes, viewClasses, inheritFields, false, false);
+	}
+
+	private static Model model(Set<Model> models, String id) {
+		Model model = find(models, id);
+		assertNotNull("No model " + id + " in " + models, model);
+		return model;
+	}
+
+	private static Model find(Set<Model> models, String id) {
+		for (Model model : models) {
+			if (model.getId().equals(id)) {
+				return model;
+			}
+		}
+		return null;
+	}
+
+}
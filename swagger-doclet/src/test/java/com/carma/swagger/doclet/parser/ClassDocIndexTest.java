@@ -0,0 +1,55 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The ClassDocIndexTest represents a test case of looking up classes via the class doc index and its views
+ * @version $Id$
+ */
+public class ClassDocIndexTest extends TestCase {
+
+	/**
+	 * This tests looking up classes and the views that exclude and include classes
+	 * @throws IOException
+	 */
+	public void testLookups() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.subresource");
+		List<ClassDoc> classes = Arrays.asList(rootDoc.classes());
+		ClassDoc mainResource = rootDoc.classNamed("fixtures.subresource.MainResource");
+		ClassDoc subResource = rootDoc.classNamed("fixtures.subresource.SubResource");
+		ClassDoc string = rootDoc.classNamed(String.class.getName());
+
+		ClassDocIndex index = new ClassDocIndex(classes);
+		assertEquals(classes.size(), index.size());
+		assertEquals(classes, new ArrayList<ClassDoc>(index));
+		assertSame(mainResource, index.get("fixtures.subresource.MainResource"));
+		assertSame(mainResource, ParserHelper.findModel(index, "fixtures.subresource.MainResource"));
+		assertSame(subResource, ParserHelper.lookUpClassDoc(subResource, index));
+		assertNull(index.get("fixtures.subresource.Missing"));
+		assertSame(index, ClassDocIndex.of(index));
+
+		ClassDocIndex excluding = index.excluding(mainResource);
+		assertNull(excluding.get("fixtures.subresource.MainResource"));
+		assertFalse(excluding.contains(mainResource));
+		assertTrue(excluding.contains(subResource));
+		assertEquals(classes.size() - 1, excluding.size());
+		assertEquals(classes.size() - 1, new ArrayList<ClassDoc>(excluding).size());
+		// the original is unchanged
+		assertTrue(index.contains(mainResource));
+
+		ClassDocIndex including = excluding.including(Arrays.asList(string, subResource));
+		assertEquals(classes.size(), including.size());
+		assertSame(string, ParserHelper.findModel(including, String.class.getName()));
+		assertNull(including.get("fixtures.subresource.MainResource"));
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.model.Api;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.ApiParameter;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.carma.swagger.doclet.model.Operation;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The CrossClassApiParserTest represents a test case of parsing the resource methods of a resource class
+ * @version $Id$
+ */
+public class CrossClassApiParserTest extends TestCase {
+
+	@Override
+	protected void tearDown() {
+		MethodLineage.clear();
+	}
+
+	/**
+	 * This tests that a sub resource class parsed outside the context of its parent method is skipped along with its
+	 * superclasses rather than being parsed or looping, while its methods are parsed via the parent resource
+	 * @throws IOException
+	 */
+	public void testSubResourceClassWithoutParent() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.subresource");
+		DocletOptions options = new DocletOptions();
+		ClassDocIndex classes = new ClassDocIndex(Arrays.asList(rootDoc.classes()));
+		SubResourceIndex subResources = SubResourceIndex.build(classes, options);
+
+		ClassDoc sub = rootDoc.classNamed("fixtures.subresource.SubResource");
+		assertTrue(parser(options, sub, classes, subResources).parseResourceMethods().isEmpty());
+
+		ClassDoc main = rootDoc.classNamed("fixtures.subresource.MainResource");
+		List<CrossClassApiParser.ResourceMethod> resourceMethods = parser(options, main, classes, subResources).parseResourceMethods();
+		boolean hasSubResourceMethod = false;
+		for (CrossClassApiParser.ResourceMethod resourceMethod : resourceMethods) {
+			hasSubResourceMethod |= resourceMethod.method.getPath().endsWith("/sub/1");
+		}
+		assertTrue(hasSubResourceMethod);
+	}
+
+	/**
+	 * This tests that the models and path params of a resource interface, which has no constructors to read class
+	 * level path params from, are still added to its api declaration
+	 * @throws IOException
+	 */
+	public void testInterfaceResource() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.issue17b");
+		DocletOptions options = new DocletOptions();
+		ClassDocIndex classes = new ClassDocIndex(Arrays.asList(rootDoc.classes()));
+		ClassDoc userService = rootDoc.classNamed("fixtures.issue17b.UserService");
+		assertTrue(userService.isInterface());
+		assertEquals(0, userService.constructors().length);
+
+		Map<String, ApiDeclaration> declarations = new LinkedHashMap<String, ApiDeclaration>();
+		parser(options, userService, classes, SubResourceIndex.build(classes, options)).parse(declarations);
+		ApiDeclaration declaration = declarations.get("/users");
+		assertNotNull(declaration);
+		assertTrue(declaration.getModels().containsKey("User"));
+		for (Api api : declaration.getApis()) {
+			if (api.getPath().equals("/users/{username}")) {
+				for (Operation operation : api.getOperations()) {
+					assertEquals("username", operation.getParameters().get(0).getName());
+				}
+			}
+		}
+	}
+
+	/**
+	 * This tests the class level path params added to the operations of two resource classes of the same resource path
+	 * with different class level path params, including equal params and params of the same name. Each class adds its
+	 * params to all the operations of the declaration so far, skipping equal params, and its root path params skipping
+	 * those of the same name, in the same order as when the params were added to the operations one by one.
+	 * @throws IOException
+	 */
+	public void testSharedResourcePathParams() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.sharedpathparams");
+		DocletOptions options = new DocletOptions();
+		ClassDocIndex classes = new ClassDocIndex(Arrays.asList(rootDoc.classes()));
+		SubResourceIndex subResources = SubResourceIndex.build(classes, options);
+
+		Map<String, ApiDeclaration> declarations = new LinkedHashMap<String, ApiDeclaration>();
+		parser(options, rootDoc.classNamed("fixtures.sharedpathparams.ItemResource"), classes, subResources).parse(declarations);
+		ApiDeclaration declaration = declarations.get("/items");
+		parser(options, rootDoc.classNamed("fixtures.sharedpathparams.ItemPartResource"), classes, subResources).parse(declarations);
+		assertEquals(1, declarations.size());
+		// the declaration of the first class is updated in place by the second
+		assertSame(declaration, declarations.get("/items"));
+
+		// the operations of the first class get the field param of their class and then the constructor and field params of the second
+		List<ApiParameter> params = operation(declaration, "/items/{itemId}", HttpMethod.GET).getParameters();
+		assertEquals(Arrays.asList("itemId", "itemId", "partId"), names(params));
+		assertEquals("the item id", params.get(0).getDescription());
+		assertEquals("the id of the item", params.get(1).getDescription());
+		assertEquals(params, operation(declaration, "/items/{itemId}/name", HttpMethod.GET).getParameters());
+
+		// the operations of the second class only get its own params, the equal field params once and the root path params not at all
+		for (HttpMethod httpMethod : new HttpMethod[] { HttpMethod.GET, HttpMethod.DELETE }) {
+			params = operation(declaration, "/items/{itemId}/parts/{partId}", httpMethod).getParameters();
+			assertEquals(Arrays.asList("itemId", "partId"), names(params));
+			assertEquals("the id of the item", params.get(0).getDescription());
+		}
+	}
+
+	private static Operation operation(ApiDeclaration declaration, String path, HttpMethod httpMethod) {
+		for (Api api : declaration.getApis()) {
+			if (api.getPath().equals(path)) {
+				for (Operation operation : api.getOperations()) {
+					if (operation.getMethod() == httpMethod) {
+						return operation;
+					}
+				}
+			}
+		}
+		fail("no operation " + httpMethod + " " + path);
+		return null;
+	}
+
+	private static List<String> names(List<ApiParameter> params) {
+		List<String> names = new ArrayList<String>();
+		for (ApiParameter param : params) {
+			names.add(param.getName());
+		}
+		return names;
+	}
+
+	private static CrossClassApiParser parser(DocletOptions options, ClassDoc classDoc, ClassDocIndex classes, SubResourceIndex subResources) {
+		return new CrossClassApiParser(options, classDoc, classes, subResources, Collections.<ClassDoc> emptyList(), "1.2", "1", "/api");
+	}
+
+}
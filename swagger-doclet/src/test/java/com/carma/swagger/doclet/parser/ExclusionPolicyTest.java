@@ -0,0 +1,76 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.FieldDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.Parameter;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The ExclusionPolicyTest represents a test case of the compiled exclusion rules of the doclet options
+ * @version $Id$
+ */
+public class ExclusionPolicyTest extends TestCase {
+
+	/**
+	 * This tests matching FQNs against the prefix trie
+	 */
+	public void testPrefixTrie() {
+		ExclusionPolicy.PrefixTrie trie = new ExclusionPolicy.PrefixTrie(Arrays.asList("java.io.", "java.util.UUID", "org.joda.time.DateTime"));
+		assertTrue(trie.matches("java.io.File"));
+		assertTrue(trie.matches("java.util.UUID"));
+		assertTrue(trie.matches("org.joda.time.DateTimeZone"));
+		assertFalse(trie.matches("java.util.List"));
+		assertFalse(trie.matches("java.io"));
+		assertFalse(trie.matches(""));
+
+		assertFalse(new ExclusionPolicy.PrefixTrie(null).matches("java.io.File"));
+		assertTrue(new ExclusionPolicy.PrefixTrie(Collections.singletonList("")).matches("java.io.File"));
+	}
+
+	/**
+	 * This tests the verdicts for deprecated classes, fields and params and that the rules follow the options once recompiled
+	 * @throws IOException
+	 */
+	public void testVerdicts() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.deprecation");
+		ClassDoc data = rootDoc.classNamed("fixtures.deprecation.Data");
+		ClassDoc resource = rootDoc.classNamed("fixtures.deprecation.DeprecationResource");
+		DocletOptions options = new DocletOptions();
+		ExclusionPolicy policy = options.getExclusionPolicy();
+
+		for (FieldDoc field : data.fields(false)) {
+			boolean deprecated = field.name().equals("fieldTag") || field.name().equals("fieldAnnotation");
+			assertEquals(field.name(), deprecated, policy.isExcludedField(field, options));
+		}
+		for (MethodDoc method : resource.methods()) {
+			if (method.name().equals("getData")) {
+				Parameter[] params = method.parameters();
+				assertFalse(policy.isExcludedParam(params[0], options));
+				assertTrue(policy.isExcludedParam(params[1], options));
+				assertTrue(policy.isExcludedParam(params[2], options));
+			}
+		}
+		assertFalse(policy.isExcludedModel(data, options));
+		assertFalse(policy.isExcludedResource(resource, options));
+
+		// the verdicts are memoized until the policy is cleared and use the options as they were when last compiled
+		options.setExcludeResourcePrefixes(Collections.singletonList("fixtures.deprecation."));
+		policy.clear();
+		assertFalse(policy.isExcludedResource(resource, options));
+		options.compile();
+		assertFalse(policy.isExcludedResource(resource, options));
+		policy.clear();
+		assertTrue(policy.isExcludedResource(resource, options));
+		assertFalse(policy.isExcludedModel(data, options));
+	}
+
+}
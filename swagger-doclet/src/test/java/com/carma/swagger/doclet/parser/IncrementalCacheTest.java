@@ -0,0 +1,195 @@
+package com.carma.swagger.doclet.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.Recorder;
+import com.carma.swagger.doclet.apidocs.CorpusGenerator;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.ResourceListing;
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The IncrementalCacheTest represents a test case of running the doclet with the incremental cache
+ * @version $Id$
+ */
+public class IncrementalCacheTest {
+
+	/**
+	 * The dir the generated api and the cache are written to
+	 */
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private File sourceDir;
+	private File cacheDir;
+	private CorpusGenerator generator;
+
+	/**
+	 * This generates the api
+	 * @throws IOException
+	 */
+	@Before
+	public void setUp() throws IOException {
+		this.sourceDir = this.tempDir.newFolder("source");
+		this.cacheDir = this.tempDir.newFolder("cache");
+		this.generator = new CorpusGenerator("incremental").setResourceCount(6).setModelCount(18).setModelDepth(3);
+		this.generator.generate(this.sourceDir);
+	}
+
+	/**
+	 * This tests that runs with the cache give the same api declarations as runs without it,
+	 * both when nothing changed and when a model used by one of the resources changed
+	 * @throws IOException
+	 */
+	@Test
+	public void testSameAsFullRun() throws IOException {
+		List<ApiDeclaration> full = runDoclet(null);
+		assertEquals(full, runDoclet(this.cacheDir));
+		// an entry per class the doclet parsed
+		assertEquals(load().classes().length, this.cacheDir.listFiles().length);
+		assertEquals(full, runDoclet(this.cacheDir));
+
+		// the unchanged rerun reuses the cached classes, also with different output options, but not with a different parsing option
+		IncrementalCache cache = readCache(new DocletOptions());
+		assertTrue(cache.getHits() > 0);
+		assertEquals(0, cache.getMisses());
+		cache = readCache(new DocletOptions().setIncludeSwaggerUi(false).setLinkSwaggerUi(true).setParallelism(4)
+				.setMetricsFile(new File(this.cacheDir, "metrics.json")));
+		assertTrue(cache.getHits() > 0);
+		cache = readCache(new DocletOptions().setModelFieldsRequiredByDefault(true));
+		assertEquals(0, cache.getHits());
+		assertTrue(cache.getMisses() > 0);
+
+		// resource 0 uses model 1 while resource 1 uses the models 3 to 5
+		addGetter("Model1", "getAddedField");
+		List<ApiDeclaration> changedFull = runDoclet(null);
+		assertFalse(full.equals(changedFull));
+		assertEquals(changedFull, runDoclet(this.cacheDir));
+	}
+
+	/**
+	 * This tests that only the fingerprints of the resources that use a changed model change
+	 * @throws IOException
+	 */
+	@Test
+	public void testFingerprints() throws IOException {
+		RootDoc rootDoc = load();
+		IncrementalCache cache = newCache(rootDoc, new DocletOptions());
+		String resource0 = cache.fingerprint(resource(rootDoc, 0));
+		String resource1 = cache.fingerprint(resource(rootDoc, 1));
+		assertFalse(resource0.equals(resource1));
+
+		// the fingerprints are stable across loads of the same source
+		rootDoc = load();
+		cache = newCache(rootDoc, new DocletOptions());
+		assertEquals(resource0, cache.fingerprint(resource(rootDoc, 0)));
+		assertEquals(resource1, cache.fingerprint(resource(rootDoc, 1)));
+
+		// model 2 is the last of the chain of models that resource 0 uses
+		addGetter("Model2", "getAddedField");
+		rootDoc = load();
+		cache = newCache(rootDoc, new DocletOptions());
+		assertFalse(resource0.equals(cache.fingerprint(resource(rootDoc, 0))));
+		assertEquals(resource1, cache.fingerprint(resource(rootDoc, 1)));
+
+		// options change all fingerprints
+		cache = newCache(rootDoc, new DocletOptions().setModelFieldsRequiredByDefault(true));
+		assertFalse(resource1.equals(cache.fingerprint(resource(rootDoc, 1))));
+	}
+
+	/**
+	 * This tests that the build identity that is part of the fingerprints changes when the jar or the class files
+	 * of the doclet change
+	 * @throws IOException
+	 */
+	@Test
+	public void testBuildIdentity() throws IOException {
+		File jar = new File(this.cacheDir, "doclet.jar");
+		Files.write("jar", jar, Charsets.UTF_8);
+		String jarIdentity = IncrementalCache.buildIdentity(jar);
+		assertEquals(jarIdentity, IncrementalCache.buildIdentity(jar));
+		Files.write("rebuilt jar", jar, Charsets.UTF_8);
+		assertFalse(jarIdentity.equals(IncrementalCache.buildIdentity(jar)));
+
+		File classesDir = new File(this.cacheDir, "classes");
+		File classFile = new File(classesDir, "com/example/Parser.class");
+		Files.createParentDirs(classFile);
+		Files.write("class", classFile, Charsets.UTF_8);
+		String dirIdentity = IncrementalCache.buildIdentity(classesDir);
+		assertEquals(dirIdentity, IncrementalCache.buildIdentity(classesDir));
+		Files.write("changed class", classFile, Charsets.UTF_8);
+		assertFalse(dirIdentity.equals(IncrementalCache.buildIdentity(classesDir)));
+		String changedIdentity = IncrementalCache.buildIdentity(classesDir);
+		Files.write("class", new File(classesDir, "com/example/Added.class"), Charsets.UTF_8);
+		assertFalse(changedIdentity.equals(IncrementalCache.buildIdentity(classesDir)));
+
+		assertFalse(IncrementalCache.buildIdentity(null).equals(dirIdentity));
+	}
+
+	private RootDoc load() throws IOException {
+		return RootDocLoader.fromPath(this.sourceDir.getPath(), this.generator.getPackageName());
+	}
+
+	private IncrementalCache newCache(RootDoc rootDoc, DocletOptions options) {
+		List<ClassDoc> classes = new ArrayList<ClassDoc>();
+		Collections.addAll(classes, rootDoc.classes());
+		return new IncrementalCache(this.cacheDir, options, classes, Collections.<ClassDoc> emptyList());
+	}
+
+	private IncrementalCache readCache(DocletOptions options) throws IOException {
+		RootDoc rootDoc = load();
+		IncrementalCache cache = newCache(rootDoc, options);
+		for (ClassDoc classDoc : rootDoc.classes()) {
+			cache.get(classDoc);
+		}
+		return cache;
+	}
+
+	private static ClassDoc resource(RootDoc rootDoc, int r) {
+		return rootDoc.classNamed("incremental.resource.Resource" + r);
+	}
+
+	private void addGetter(String modelName, String getterName) throws IOException {
+		File modelFile = new File(this.sourceDir, "incremental/model/" + modelName + ".java");
+		String source = Files.toString(modelFile, Charsets.UTF_8);
+		source = source.replace("public class " + modelName + " {", "public class " + modelName + " {\n\n\tpublic String " + getterName
+				+ "() {\n\t\treturn null;\n\t}\n");
+		Files.write(source, modelFile, Charsets.UTF_8);
+	}
+
+	private List<ApiDeclaration> runDoclet(File incrementalCacheDir) throws IOException {
+		final List<ApiDeclaration> declarations = new ArrayList<ApiDeclaration>();
+		Recorder recorder = new Recorder() {
+
+			public void record(File file, ResourceListing listing) {
+				// noop
+			}
+
+			public void record(File file, ApiDeclaration declaration) {
+				declarations.add(declaration);
+			}
+		};
+		DocletOptions options = new DocletOptions().setRecorder(recorder).setIncludeSwaggerUi(false).setIncrementalCacheDir(incrementalCacheDir);
+		assertTrue(new JaxRsAnnotationParser(options, load()).run());
+		return declarations;
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The MethodLineageTest represents a test case of resolving the tags, http methods and paths of methods through the methods they override
+ * @version $Id$
+ */
+public class MethodLineageTest extends TestCase {
+
+	private MethodDoc baseGetItem;
+	private MethodDoc childGetItem;
+	private MethodDoc baseCreateItem;
+	private MethodDoc childCreateItem;
+
+	/**
+	 * {@inheritDoc}
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override
+	protected void setUp() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.methodlineage");
+		ClassDoc base = rootDoc.classNamed("fixtures.methodlineage.BaseResource");
+		ClassDoc child = rootDoc.classNamed("fixtures.methodlineage.ChildResource");
+		this.baseGetItem = method(base, "getItem");
+		this.childGetItem = method(child, "getItem");
+		this.baseCreateItem = method(base, "createItem");
+		this.childCreateItem = method(child, "createItem");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override
+	protected void tearDown() {
+		MethodLineage.clear();
+	}
+
+	/**
+	 * This tests the methods of a lineage and that the lineage of the overridden method is shared
+	 */
+	public void testMethods() {
+		MethodLineage lineage = MethodLineage.of(this.childGetItem);
+		assertEquals(Arrays.asList(this.childGetItem, this.baseGetItem), lineage.getMethods());
+		assertSame(lineage, MethodLineage.of(this.childGetItem));
+		assertEquals(Collections.singletonList(this.baseGetItem), MethodLineage.of(this.baseGetItem).getMethods());
+		assertEquals(2, lineage.getTagIndexes().size());
+	}
+
+	/**
+	 * This tests that tags, http methods and paths the overriding method doesn't have are inherited from the overridden method
+	 */
+	public void testInherited() {
+		DocletOptions options = new DocletOptions();
+		MethodLineage lineage = MethodLineage.of(this.childGetItem);
+		assertNull(lineage.getOwnHttpMethod());
+		assertEquals(HttpMethod.GET, lineage.getHttpMethod());
+		assertNull(lineage.getOwnPath(options));
+		assertEquals("/{id}", lineage.getPath(options));
+		assertEquals("Get an item", ParserHelper.getInheritableTagValue(this.childGetItem, Collections.singletonList("summary"), options));
+		assertEquals(HttpMethod.GET, ParserHelper.resolveMethodHttpMethod(this.childGetItem));
+		assertEquals("/{id}", ParserHelper.resolveMethodPath(this.childGetItem, options));
+
+		// the method's own http method and tags take precedence while its path is inherited
+		lineage = MethodLineage.of(this.childCreateItem);
+		assertEquals(HttpMethod.PUT, lineage.getOwnHttpMethod());
+		assertEquals(HttpMethod.PUT, lineage.getHttpMethod());
+		assertNull(lineage.getOwnPath(options));
+		assertEquals("/items", lineage.getPath(options));
+		assertEquals("Replace an item", ParserHelper.getInheritableTagValue(this.childCreateItem, Collections.singletonList("summary"), options));
+		assertEquals(HttpMethod.POST, MethodLineage.of(this.baseCreateItem).getHttpMethod());
+	}
+
+	/**
+	 * This tests that clearing the memo between runs gives new lineages
+	 */
+	public void testClear() {
+		DocletOptions options = new DocletOptions();
+		MethodLineage lineage = MethodLineage.of(this.childGetItem);
+		MethodLineage baseLineage = MethodLineage.of(this.baseGetItem);
+		assertEquals("/{id}", lineage.getPath(options));
+
+		MethodLineage.clear();
+		MethodLineage cleared = MethodLineage.of(this.childGetItem);
+		assertNotSame(lineage, cleared);
+		assertNotSame(baseLineage, MethodLineage.of(this.baseGetItem));
+		assertEquals(lineage.getMethods(), cleared.getMethods());
+		assertEquals(HttpMethod.GET, cleared.getHttpMethod());
+		assertEquals("/{id}", cleared.getPath(new DocletOptions()));
+	}
+
+	private static MethodDoc method(ClassDoc classDoc, String name) {
+		for (MethodDoc method : classDoc.methods()) {
+			if (method.name().equals(name)) {
+				return method;
+			}
+		}
+		throw new IllegalArgumentException("No method " + name + " in " + classDoc);
+	}
+
+}
@@ -0,0 +1,134 @@
+package com.carma.swagger.doclet.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.Recorder;
+import com.carma.swagger.doclet.apidocs.CorpusGenerator;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.ResourceListing;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The ParseMetricsTest represents a test case of recording the timings and counters of a run of the doclet
+ * @version $Id$
+ */
+public class ParseMetricsTest {
+
+	/**
+	 * The dir the generated api and the metrics are written to
+	 */
+	@Rule
+	public TemporaryFolder sourceDir = new TemporaryFolder();
+
+	/**
+	 * This tests that phases are totalled, that a phase that recurses is timed once and that disabled metrics record nothing
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testPhasesAndCounters() {
+		ParseMetrics metrics = new ParseMetrics();
+		metrics.start("parse").stop();
+		metrics.increment("models");
+		assertTrue(((Map<String, Object>) metrics.toMap().get("phases")).isEmpty());
+		assertEquals(0, metrics.getCount("models"));
+
+		metrics.reset(true);
+		ParseMetrics.Timer outer = metrics.start("parse");
+		metrics.start("parse").stop();
+		metrics.start("write").stop();
+		outer.stop();
+		metrics.start("parse").stop();
+		metrics.increment("models");
+		metrics.add("models", 2);
+
+		Map<String, Object> phases = (Map<String, Object>) metrics.toMap().get("phases");
+		assertEquals(2L, ((Map<String, Object>) phases.get("parse")).get("count"));
+		assertEquals(1L, ((Map<String, Object>) phases.get("write")).get("count"));
+		assertEquals(3, metrics.getCount("models"));
+
+		// the metrics of the previous run are cleared
+		metrics.reset(true);
+		assertTrue(((Map<String, Object>) metrics.toMap().get("phases")).isEmpty());
+		assertEquals(0, metrics.getCount("models"));
+	}
+
+	/**
+	 * This tests the ordering of the slowest and most visited items
+	 */
+	@Test
+	public void testSlowestItems() {
+		ParseMetrics metrics = new ParseMetrics();
+		metrics.reset(true);
+		metrics.recordItem(ParseMetrics.MODELS, "Small", 1000000L);
+		metrics.recordItem(ParseMetrics.MODELS, "Small", 1000000L);
+		metrics.recordItem(ParseMetrics.MODELS, "Small", 1000000L);
+		metrics.recordItem(ParseMetrics.MODELS, "Wrapper<Huge>", 50000000L);
+		metrics.recordItem(ParseMetrics.MODELS, "Medium", 5000000L);
+
+		List<Map<String, Object>> slowest = metrics.getSlowest(ParseMetrics.MODELS, 2);
+		assertEquals(2, slowest.size());
+		assertEquals("Wrapper<Huge>", slowest.get(0).get("name"));
+		assertEquals(50L, slowest.get(0).get("millis"));
+		assertEquals("Medium", slowest.get(1).get("name"));
+
+		List<Map<String, Object>> mostVisited = metrics.getMostVisited(ParseMetrics.MODELS, 10);
+		assertEquals(3, mostVisited.size());
+		assertEquals("Small", mostVisited.get(0).get("name"));
+		assertEquals(3L, mostVisited.get(0).get("visits"));
+		assertEquals("Wrapper<Huge>", mostVisited.get(1).get("name"));
+
+		assertTrue(metrics.getSlowest(ParseMetrics.RESOURCE_CLASSES, 10).isEmpty());
+	}
+
+	/**
+	 * This tests the metrics file written by a run of the doclet
+	 * @throws IOException
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testMetricsFile() throws IOException {
+		File metricsFile = new File(this.sourceDir.getRoot(), "metrics/metrics.json");
+		CorpusGenerator generator = new CorpusGenerator("metrics").setResourceCount(3).setModelCount(6).setModelDepth(2);
+		generator.generate(this.sourceDir.getRoot());
+		Recorder recorder = new Recorder() {
+
+			public void record(File file, ResourceListing listing) {
+				// noop
+			}
+
+			public void record(File file, ApiDeclaration declaration) {
+				// noop
+			}
+		};
+		DocletOptions options = new DocletOptions().setRecorder(recorder).setIncludeSwaggerUi(false).setMetricsFile(metricsFile);
+		assertTrue(new JaxRsAnnotationParser(options, RootDocLoader.fromPath(this.sourceDir.getRoot().getPath(), generator.getPackageName())).run());
+
+		Map<String, Object> metrics = new ObjectMapper().readValue(metricsFile, Map.class);
+		Map<String, Object> phases = (Map<String, Object>) metrics.get("phases");
+		for (String phase : new String[] { "filterClasses", "findSubResources", "parseResourceClasses", "parseModels", "merge", "sort", "writeApis" }) {
+			assertTrue(phase, phases.containsKey(phase));
+		}
+		Map<String, Object> counters = (Map<String, Object>) metrics.get("counters");
+		assertTrue(((Number) counters.get("modelsParsed")).intValue() > 0);
+		assertTrue(counters.containsKey("recordCalls"));
+
+		Map<String, Object> slowest = (Map<String, Object>) metrics.get("slowest");
+		assertFalse(((List<Object>) slowest.get(ParseMetrics.RESOURCE_CLASSES)).isEmpty());
+		assertFalse(((List<Object>) slowest.get(ParseMetrics.MODELS)).isEmpty());
+		assertTrue(((Map<String, Object>) metrics.get("mostVisited")).containsKey(ParseMetrics.MODELS));
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.model.HttpMethod;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The SubResourceIndexTest represents a test case of finding the sub resource classes and memoizing the paths and http methods of the methods
+ * @version $Id$
+ */
+public class SubResourceIndexTest extends TestCase {
+
+	/**
+	 * This tests the sub resource classes found, including those referenced via Class&lt;X&gt; return types
+	 * @throws IOException
+	 */
+	public void testSubResources() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.subresource");
+		DocletOptions options = new DocletOptions();
+		ClassDocIndex classes = new ClassDocIndex(Arrays.asList(rootDoc.classes()));
+		try {
+			SubResourceIndex index = SubResourceIndex.build(classes, options);
+
+			ClassDoc main = rootDoc.classNamed("fixtures.subresource.MainResource");
+			ClassDoc sub = rootDoc.classNamed("fixtures.subresource.SubResource");
+			ClassDoc subB = rootDoc.classNamed("fixtures.subresource.SubResourceB");
+			ClassDoc subL2 = rootDoc.classNamed("fixtures.subresource.SubResourceL2");
+			assertEquals(new LinkedHashSet<ClassDoc>(Arrays.asList(sub, subB, subL2)), index.getSubResourceClasses());
+			assertFalse(index.isSubResourceClass(main));
+			assertTrue(index.isSubResourceClass(subL2));
+
+			MethodDoc getSubResource = method(main, "getSubResource");
+			assertSame(sub, index.getReturnClass(getSubResource, classes));
+			assertNull(index.getReturnClass(getSubResource, classes.excluding(sub)));
+
+			// the paths and http methods of the methods are memoized in their lineage
+			assertEquals("/{id}/sub", MethodLineage.of(getSubResource).getOwnPath(options));
+			assertNull(ParserHelper.resolveMethodHttpMethod(getSubResource));
+			MethodDoc y = method(sub, "y");
+			assertNull(MethodLineage.of(y).getOwnPath(options));
+			assertEquals("", ParserHelper.resolveMethodPath(y, options));
+			assertEquals(HttpMethod.POST, ParserHelper.resolveMethodHttpMethod(y));
+
+			assertFalse(SubResourceIndex.empty().isSubResourceClass(sub));
+		} finally {
+			MethodLineage.clear();
+		}
+	}
+
+	private static MethodDoc method(ClassDoc classDoc, String name) {
+		for (MethodDoc method : classDoc.methods()) {
+			if (method.name().equals(name)) {
+				return method;
+			}
+		}
+		throw new IllegalArgumentException(name);
+	}
+
+}
@@ -0,0 +1,174 @@
+package com.carma.swagger.doclet.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.Recorder;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.model.ApiDeclaration;
+import com.carma.swagger.doclet.model.ResourceListing;
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.io.Files;
+
+/**
+ * The SwaggerUiCopyTest represents a test case of extracting and copying the swagger ui into the output dir
+ * @version $Id$
+ */
+public class SwaggerUiCopyTest {
+
+	/**
+	 * The dir the output, the ui dir and the metrics are written to
+	 */
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private File outputDir;
+
+	/**
+	 * This sets the output dir
+	 */
+	@Before
+	public void setUp() {
+		this.outputDir = new File(this.tempDir.getRoot(), "output");
+	}
+
+	/**
+	 * This tests that an unchanged ui is not extracted again and that a file changed since the extraction or a
+	 * manifest without sizes and checksums causes the ui to be extracted again
+	 * @throws IOException
+	 */
+	@Test
+	public void testZipExtraction() throws IOException {
+		File manifest = new File(this.outputDir, ".swagger-ui-manifest");
+		File css = new File(this.outputDir, "css/reset.css");
+
+		assertTrue(run().getMetrics().getCount("swaggerUiFilesWritten") > 0);
+		assertTrue(css.isFile());
+		for (String line : Files.readLines(manifest, Charsets.UTF_8).subList(1, 3)) {
+			assertEquals(line, 3, line.split("\t").length);
+		}
+		String original = Files.toString(css, Charsets.UTF_8);
+
+		// unchanged so the extraction is skipped
+		assertEquals(0, run().getMetrics().getCount("swaggerUiFilesWritten"));
+
+		// a file with a different size is written again
+		Files.write("body {}", css, Charsets.UTF_8);
+		assertEquals(1, run().getMetrics().getCount("swaggerUiFilesWritten"));
+		assertEquals(original, Files.toString(css, Charsets.UTF_8));
+
+		// a file with the same size but different content is written again
+		char[] chars = original.toCharArray();
+		chars[0] = chars[0] == 'x' ? 'y' : 'x';
+		Files.write(new String(chars), css, Charsets.UTF_8);
+		assertEquals(original.length(), css.length());
+		assertEquals(1, run().getMetrics().getCount("swaggerUiFilesWritten"));
+		assertEquals(original, Files.toString(css, Charsets.UTF_8));
+
+		// a stale manifest that only lists the names of the files is replaced, the files themselves are unchanged
+		List<String> lines = Files.readLines(manifest, Charsets.UTF_8);
+		List<String> names = new ArrayList<String>();
+		names.add(lines.get(0));
+		for (String line : lines.subList(1, lines.size())) {
+			names.add(line.split("\t")[0]);
+		}
+		Files.write(Joiner.on('\n').join(names) + "\n", manifest, Charsets.UTF_8);
+		assertEquals(1, run().getMetrics().getCount("swaggerUiFilesWritten"));
+		assertEquals(lines, Files.readLines(manifest, Charsets.UTF_8));
+	}
+
+	/**
+	 * This tests that the files of a ui dir are copied by default so changing the output does not change the source
+	 * @throws IOException
+	 */
+	@Test
+	public void testDirCopy() throws IOException {
+		File source = createUiDir();
+		File target = new File(this.outputDir, "css/screen.css");
+
+		assertEquals(2, run("-swaggerUiPath", source.getParentFile().getParent()).getMetrics().getCount("swaggerUiFilesWritten"));
+		assertFalse(isSameFile(source, target));
+		assertEquals("body {}", Files.toString(target, Charsets.UTF_8));
+
+		// unchanged files are skipped
+		assertEquals(0, run("-swaggerUiPath", source.getParentFile().getParent()).getMetrics().getCount("swaggerUiFilesWritten"));
+
+		Files.write("changed", target, Charsets.UTF_8);
+		assertEquals("body {}", Files.toString(source, Charsets.UTF_8));
+		assertEquals(1, run("-swaggerUiPath", source.getParentFile().getParent()).getMetrics().getCount("swaggerUiFilesWritten"));
+		assertEquals("body {}", Files.toString(target, Charsets.UTF_8));
+	}
+
+	/**
+	 * This tests that the files of a ui dir are hard linked when enabled and copied again when it is disabled
+	 * @throws IOException
+	 */
+	@Test
+	public void testDirLink() throws IOException {
+		File source = createUiDir();
+		File target = new File(this.outputDir, "css/screen.css");
+		String uiPath = source.getParentFile().getParent();
+
+		assertEquals(2, run("-swaggerUiPath", uiPath, "-linkSwaggerUi").getMetrics().getCount("swaggerUiFilesWritten"));
+		assertTrue(isSameFile(source, target));
+		assertEquals(0, run("-swaggerUiPath", uiPath, "-linkSwaggerUi").getMetrics().getCount("swaggerUiFilesWritten"));
+
+		// the links of the previous run are replaced with copies
+		assertEquals(2, run("-swaggerUiPath", uiPath).getMetrics().getCount("swaggerUiFilesWritten"));
+		assertFalse(isSameFile(source, target));
+		assertEquals("body {}", Files.toString(target, Charsets.UTF_8));
+	}
+
+	private File createUiDir() throws IOException {
+		File uiDir = new File(this.tempDir.getRoot(), "ui");
+		File css = new File(uiDir, "css/screen.css");
+		Files.createParentDirs(css);
+		Files.write("body {}", css, Charsets.UTF_8);
+		Files.write("<html></html>", new File(uiDir, "index.html"), Charsets.UTF_8);
+		return css;
+	}
+
+	private static boolean isSameFile(File file1, File file2) throws IOException {
+		return java.nio.file.Files.isSameFile(file1.toPath(), file2.toPath());
+	}
+
+	private DocletOptions run(String... uiOptions) throws IOException {
+		List<String[]> args = new ArrayList<String[]>();
+		args.add(new String[] { "-d", this.outputDir.getPath() });
+		args.add(new String[] { "-metricsFile", new File(this.tempDir.getRoot(), "metrics.json").getPath() });
+		for (int i = 0; i < uiOptions.length; i++) {
+			if (uiOptions[i].equals("-swaggerUiPath")) {
+				args.add(new String[] { uiOptions[i], uiOptions[++i] });
+			} else {
+				args.add(new String[] { uiOptions[i] });
+			}
+		}
+		Recorder recorder = new Recorder() {
+
+			public void record(File file, ResourceListing listing) {
+				// noop
+			}
+
+			public void record(File file, ApiDeclaration declaration) {
+				// noop
+			}
+		};
+		DocletOptions options = DocletOptions.parse(args.toArray(new String[args.size()][])).setRecorder(recorder);
+		assertTrue(new JaxRsAnnotationParser(options, RootDocLoader.fromPath("src/test/resources", "fixtures.httpmethods")).run());
+		return options;
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The TagIndexTest represents a test case of the tag helpers reading the indexed tags of methods and their overridden methods
+ * @version $Id$
+ */
+public class TagIndexTest extends TestCase {
+
+	/**
+	 * This tests the tag helpers on a method and on a method that inherits the tags of the method it overrides
+	 * @throws IOException
+	 */
+	public void testTagHelpers() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.genericsuperclass");
+		MethodDoc basic = rootDoc.classNamed("fixtures.genericsuperclass.BasicService").methods()[0];
+		MethodDoc users = rootDoc.classNamed("fixtures.genericsuperclass.UsersService").methods()[0];
+		DocletOptions options = new DocletOptions();
+
+		assertTrue(ParserHelper.hasTag(basic, Arrays.asList("missing", "successCode")));
+		assertFalse(ParserHelper.hasTag(users, Arrays.asList("successCode")));
+		assertTrue(ParserHelper.hasInheritableTag(users, Arrays.asList("successCode")));
+		assertFalse(ParserHelper.hasInheritableTag(users, Arrays.asList("missing")));
+
+		assertEquals("200|The API call completed successfully.", ParserHelper.getTagValue(basic, Arrays.asList("missing", "successCode"), options));
+		assertEquals("p1 15", ParserHelper.getTagValue(basic, Arrays.asList("paramsMaxValue", "paramsMinValue"), options));
+		assertNull(ParserHelper.getTagValue(users, Arrays.asList("successCode"), options));
+		assertEquals("req", ParserHelper.getInheritableTagValue(users, Arrays.asList("requiredParams"), options));
+
+		// values are in the order the tags were declared rather than the order of the tag names
+		assertEquals(Arrays.asList("p1 15", "p1 10"), ParserHelper.getTagValues(basic, Arrays.asList("defaultValues", "paramsMaxValue"), options));
+		assertNull(ParserHelper.getTagValues(users, Arrays.asList("defaultValues"), options));
+		assertEquals(Arrays.asList("p1 15"), ParserHelper.getInheritableTagValues(users, Arrays.asList("paramsMaxValue"), options));
+		assertNull(ParserHelper.getInheritableTagValues(users, Arrays.asList("missing"), options));
+
+		assertSame(TagIndex.of(basic), TagIndex.of(basic));
+		assertEquals(Arrays.asList(users, basic), MethodLineage.of(users).getMethods());
+		assertEquals(Arrays.asList(TagIndex.of(users), TagIndex.of(basic)), MethodLineage.of(users).getTagIndexes());
+		assertSame(MethodLineage.of(users), MethodLineage.of(users));
+		MethodLineage.clear();
+	}
+
+}
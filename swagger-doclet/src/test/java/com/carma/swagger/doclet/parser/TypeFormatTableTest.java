@@ -0,0 +1,90 @@
+package com.carma.swagger.doclet.parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.RootDoc;
+import com.sun.javadoc.Type;
+
+/**
+ * The TypeFormatTableTest represents a test case of looking up the swagger types, formats and kinds of java types
+ * @version $Id$
+ */
+public class TypeFormatTableTest extends TestCase {
+
+	/**
+	 * This tests the lookups of primitives, containers, files, string types and model types
+	 */
+	public void testTypeOf() {
+		DocletOptions options = new DocletOptions();
+		assertTypeFormat("integer", "int32", "int", options);
+		assertTypeFormat("integer", "int32", "Integer", options);
+		assertTypeFormat("integer", "int64", "java.lang.Long", options);
+		assertTypeFormat("string", "byte", "JAVA.LANG.BYTE", options);
+		assertTypeFormat("string", "date-time", "java.util.Date", options);
+		assertTypeFormat("array", null, "java.util.List", options);
+		assertTypeFormat("array", null, "java.util.HashSet", options);
+		assertTypeFormat("array", null, "com.foo.Bar[]", options);
+		assertTypeFormat("JavaFile", null, "java.io.File", options);
+		assertTypeFormat("string", null, "org.joda.time.DateTime", options);
+		assertTypeFormat("Bar-Baz", null, "com.foo.Bar.Baz", options);
+		assertTypeFormat("bar", null, "com.foo.bar", options);
+
+		// the memo is discarded when the string type prefixes change
+		assertTypeFormat("Bar-Baz", null, "com.foo.Bar.Baz", options);
+		options.getStringTypePrefixes().add("com.foo.");
+		assertTypeFormat("string", null, "com.foo.Bar.Baz", options);
+
+		TypeFormatTable table = new TypeFormatTable();
+		assertSame(table.typeOf("com.foo.Bar", Arrays.asList("org.")), table.typeOf("com.foo.Bar", Arrays.asList("org.")));
+	}
+
+	/**
+	 * This tests the kinds of model, container, javax, primitive and enum types
+	 * @throws IOException
+	 */
+	public void testKindOf() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.maps");
+		ClassDoc resource = rootDoc.classNamed("fixtures.maps.MapsResource");
+		DocletOptions options = new DocletOptions();
+
+		assertEquals(TypeKind.MODEL, ParserHelper.kindOf(returnType(resource, "getA"), options));
+		assertEquals(TypeKind.JAVAX, ParserHelper.kindOf(returnType(resource, "getG"), options));
+		Type map = returnType(resource, "getE");
+		assertEquals(TypeKind.MAP, ParserHelper.kindOf(map, options));
+		Type[] mapTypes = map.asParameterizedType().typeArguments();
+		assertEquals(TypeKind.PRIMITIVE, ParserHelper.kindOf(mapTypes[0], options));
+		assertEquals(TypeKind.SET, ParserHelper.kindOf(mapTypes[1], options));
+		assertTrue(TypeKind.SET.isCollection());
+
+		// the kind of a type name is memoized until the table is cleared
+		options.getTypeFormatTable().clear();
+		rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.valueconstraints");
+		ClassDoc data = rootDoc.classNamed("fixtures.valueconstraints.Data");
+		assertEquals(TypeKind.ENUM, ParserHelper.kindOf(returnType(data, "getValue"), options));
+		assertEquals(TypeKind.PRIMITIVE, ParserHelper.kindOf(returnType(data, "getMinFieldTag"), options));
+		assertEquals(TypeKind.MODEL, ParserHelper.kindOf(data, options));
+	}
+
+	private static Type returnType(ClassDoc classDoc, String methodName) {
+		for (MethodDoc method : classDoc.methods()) {
+			if (method.name().equals(methodName)) {
+				return method.returnType();
+			}
+		}
+		throw new IllegalArgumentException(methodName);
+	}
+
+	private static void assertTypeFormat(String type, String format, String javaType, DocletOptions options) {
+		String[] typeFormat = ParserHelper.typeOf(javaType, options);
+		assertEquals(type, typeFormat[0]);
+		assertEquals(format, typeFormat[1]);
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.carma.swagger.doclet.translator;
+
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import com.carma.swagger.doclet.DocletOptions;
+import com.carma.swagger.doclet.apidocs.RootDocLoader;
+import com.carma.swagger.doclet.translator.Translator.OptionalName;
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.MethodDoc;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * The CachingTranslatorTest represents a test case of caching the names of the translator chain
+ * @version $Id$
+ */
+public class CachingTranslatorTest extends TestCase {
+
+	/**
+	 * This tests that the cached names are the same as those of the chain and that repeat lookups are hits
+	 * @throws IOException
+	 */
+	public void testSameNamesAsChain() throws IOException {
+		RootDoc rootDoc = RootDocLoader.fromPath("src/test/resources", "fixtures.jackson");
+		ClassDoc payload = rootDoc.classNamed("fixtures.jackson.PayloadModel");
+		ClassDoc response = rootDoc.classNamed("fixtures.jackson.ResponseModel");
+
+		DocletOptions options = new DocletOptions();
+		CachingTranslator translator = (CachingTranslator) options.getTranslator();
+		Translator chain = translator.getDelegate();
+
+		assertEquals(chain.typeName(payload), translator.typeName(payload));
+		assertEquals(chain.typeName(response), translator.typeName(response));
+		assertEquals(chain.typeName(payload, new ClassDoc[] { response }), translator.typeName(payload, new ClassDoc[] { response }));
+		for (MethodDoc method : payload.methods()) {
+			assertEquals(chain.methodName(method), translator.methodName(method));
+		}
+		assertEquals(0, translator.getHits());
+		long misses = translator.getMisses();
+
+		assertEquals(OptionalName.presentOrMissing("payload"), translator.typeName(payload));
+		assertEquals(OptionalName.presentOrMissing("payload-ResponseModel"), translator.typeName(payload, new ClassDoc[] { response }));
+		for (MethodDoc method : payload.methods()) {
+			assertEquals(chain.methodName(method), translator.methodName(method));
+		}
+		assertEquals(2 + payload.methods().length, translator.getHits());
+		assertEquals(misses, translator.getMisses());
+
+		// a full cache is cleared rather than growing
+		CachingTranslator bounded = new CachingTranslator(chain, 1);
+		bounded.typeName(payload);
+		bounded.typeName(response);
+		bounded.typeName(payload);
+		assertEquals(0, bounded.getHits());
+		assertEquals(3, bounded.getMisses());
+	}
+
+}
@@ -0,0 +1,36 @@
+package fixtures.methodlineage;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+/**
+ * The BaseResource represents a resource whose methods are overridden by a sub class
+ */
+@SuppressWarnings("javadoc")
+public abstract class BaseResource {
+
+	/**
+	 * This gets an item
+	 * @param id The id of the item
+	 * @return The item
+	 * @summary Get an item
+	 */
+	@GET
+	@Path("/{id}")
+	public abstract String getItem(@PathParam("id") String id);
+
+	/**
+	 * This creates an item
+	 * @param item The item
+	 * @return The created item
+	 * @summary Create an item
+	 */
+	@POST
+	@Path("/items")
+	public String createItem(String item) {
+		return item;
+	}
+
+}
@@ -0,0 +1,30 @@
+package fixtures.methodlineage;
+
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+
+/**
+ * The ChildResource represents a resource that inherits the http methods, paths and tags of the methods it overrides
+ */
+@SuppressWarnings("javadoc")
+@Path("/lineage")
+public class ChildResource extends BaseResource {
+
+	@Override
+	public String getItem(String id) {
+		return null;
+	}
+
+	/**
+	 * This replaces an item
+	 * @param item The item
+	 * @return The replaced item
+	 * @summary Replace an item
+	 */
+	@Override
+	@PUT
+	public String createItem(String item) {
+		return item;
+	}
+
+}
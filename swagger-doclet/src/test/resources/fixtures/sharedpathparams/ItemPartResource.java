@@ -0,0 +1,39 @@
+package fixtures.sharedpathparams;
+
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+/**
+ * The ItemPartResource represents a resource of the same resource path as the ItemResource with different
+ * class level path params from a constructor and from two fields of the same path param
+ * @resourcePath items
+ */
+@SuppressWarnings("javadoc")
+@Path("/items/{itemId}/parts/{partId}")
+public class ItemPartResource {
+
+	@PathParam("partId")
+	private String partId;
+
+	@PathParam("partId")
+	private String part;
+
+	/**
+	 * This creates a ItemPartResource
+	 * @param itemId the id of the item
+	 */
+	public ItemPartResource(@PathParam("itemId") String itemId) {
+	}
+
+	@GET
+	public String getPart() {
+		return null;
+	}
+
+	@DELETE
+	public void deletePart() {
+	}
+
+}
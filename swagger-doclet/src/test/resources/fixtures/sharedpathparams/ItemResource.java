@@ -0,0 +1,32 @@
+package fixtures.sharedpathparams;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+/**
+ * The ItemResource represents a resource with a class level path param from a field
+ * @resourcePath items
+ */
+@SuppressWarnings("javadoc")
+@Path("/items/{itemId}")
+public class ItemResource {
+
+	/**
+	 * the item id
+	 */
+	@PathParam("itemId")
+	private String itemId;
+
+	@GET
+	public String getItem() {
+		return null;
+	}
+
+	@GET
+	@Path("/name")
+	public String getName() {
+		return null;
+	}
+
+}